@@ -0,0 +1,73 @@
+/*
+ * Class: BenchmarkBoards
+ *
+ * Purpose: The BenchmarkBoards class loads the boards that the benchmarks are run against, whether they come from the data folder or are synthetic.
+ *
+ * Responsibilities: The BenchmarkBoards class is responsible for turning a benchmark layout parameter into config files, generating synthetic layouts on demand, and collecting the cells a player can start a turn from.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+
+public class BenchmarkBoards {
+	// Layout parameters of the form "synthetic-<size>" name a generated size x size board
+	public static final String SYNTHETIC_PREFIX = "synthetic-";
+
+	private BenchmarkBoards() {
+		super();
+	}
+
+	public static String[] configFiles(String layout) throws IOException {
+		if (layout.startsWith(SYNTHETIC_PREFIX)) {
+			int size = Integer.parseInt(layout.substring(SYNTHETIC_PREFIX.length()));
+			File directory = Files.createTempDirectory("clue-bench").toFile();
+			directory.deleteOnExit();
+			String[] files = LayoutGenerator.writeConfigFiles(size, size, directory);
+			new File(files[0]).deleteOnExit();
+			new File(files[1]).deleteOnExit();
+			return files;
+		}
+
+		// The 306 layouts come with their own setup file
+		String setup = layout.contains("306") ? "data/ClueSetup306.txt" : "data/ClueSetup.txt";
+		return new String[] {layout, setup};
+	}
+
+	public static Board load(String layout) throws IOException {
+		String[] files = configFiles(layout);
+		Board board = new Board();
+		board.setConfigFiles(files[0], files[1]);
+		board.initialize();
+		return board;
+	}
+
+	// Players only ever start a turn on a walkway or in a room center
+	public static List<BoardCell> startCells(Board board) {
+		List<BoardCell> startCells = new ArrayList<>();
+		for (int row = 0; row < board.getNumRows(); row++) {
+			for (int col = 0; col < board.getNumColumns(); col++) {
+				BoardCell cell = board.getCell(row, col);
+				if (cell.isWalkway() || cell.isRoomCenter()) {
+					startCells.add(cell);
+				}
+			}
+		}
+		return startCells;
+	}
+}
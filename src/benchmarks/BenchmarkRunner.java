@@ -0,0 +1,46 @@
+/*
+ * Class: BenchmarkRunner
+ *
+ * Purpose: The BenchmarkRunner class runs all of the movement benchmarks and reports every number we compare optimizations by.
+ *
+ * Responsibilities: The BenchmarkRunner class is responsible for running the benchmarks once for throughput in ops/s and once for average time in ns/op, both times with the GC profiler so that allocated bytes/op (gc.alloc.rate.norm) is reported for every scenario. Any arguments are passed on as a benchmark name filter.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class BenchmarkRunner {
+	public static void main(String[] args) throws RunnerException {
+		String include = args.length > 0 ? String.join("|", args) : "benchmarks\\..*";
+
+		ChainedOptionsBuilder throughput = new OptionsBuilder()
+			.include(include)
+			.mode(Mode.Throughput)
+			.timeUnit(TimeUnit.SECONDS)
+			.addProfiler(GCProfiler.class);
+		new Runner(throughput.build()).run();
+
+		ChainedOptionsBuilder averageTime = new OptionsBuilder()
+			.include(include)
+			.mode(Mode.AverageTime)
+			.timeUnit(TimeUnit.NANOSECONDS)
+			.addProfiler(GCProfiler.class);
+		new Runner(averageTime.build()).run();
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Class: BoardInitBenchmark
+ *
+ * Purpose: The BoardInitBenchmark class measures how long it takes to set up a board, both the whole of Board.initialize, with and without a snapshot, and the adjacency list construction on its own.
+ *
+ * Responsibilities: The BoardInitBenchmark class is responsible for timing Board.initialize from the config files and from a BoardSnapshot, and Board.calcAdjLists, on the real layouts and on larger synthetic ones.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import clueGame.Board;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardInitBenchmark {
+	@Param({"data/ClueLayout.csv", "data/ClueLayout306.csv", "synthetic-100", "synthetic-400"})
+	public String layout;
+
+	private String[] configFiles;
+
+	private File snapshotFile;
+
+	private Board board;
+
+	@Setup
+	public void setUp() throws IOException {
+		configFiles = BenchmarkBoards.configFiles(layout);
+		board = new Board();
+		board.setConfigFiles(configFiles[0], configFiles[1]);
+		board.initialize();
+
+		snapshotFile = File.createTempFile("board", ".snapshot");
+		snapshotFile.delete();
+		board.setSnapshotFile(snapshotFile.getPath());
+		board.initialize();
+	}
+
+	@TearDown
+	public void tearDown() {
+		snapshotFile.delete();
+	}
+
+	@Benchmark
+	public Board initialize() {
+		Board freshBoard = new Board();
+		freshBoard.setConfigFiles(configFiles[0], configFiles[1]);
+		freshBoard.initialize();
+		return freshBoard;
+	}
+
+	// What every game after the first pays when boards are made from the same files over and over
+	@Benchmark
+	public Board initializeFromSnapshot() {
+		Board freshBoard = new Board();
+		freshBoard.setConfigFiles(configFiles[0], configFiles[1]);
+		freshBoard.setSnapshotFile(snapshotFile.getPath());
+		freshBoard.initialize();
+		return freshBoard;
+	}
+
+	// Rebuilding on an already loaded board, since the layout does not need to be parsed again
+	@Benchmark
+	public Board calcAdjLists() {
+		board.calcAdjLists();
+		return board;
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ * Class: GameBenchmark
+ *
+ * Purpose: The GameBenchmark class measures how long GameEngine.playGame takes to play a whole game between computer players, so that changes to the engine and to the computer players' reasoning can be compared against a baseline.
+ *
+ * Responsibilities: The GameBenchmark class is responsible for timing full headless games on the real layouts, dealing a fresh game and seeding the die differently each time so that the measurement covers many different games rather than one replayed over and over.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import clueGame.Board;
+import clueGame.GameEngine;
+import clueGame.GameStatus;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+	// Only the real layouts come with players and cards to deal
+	@Param({"data/ClueLayout.csv", "data/ClueLayout306.csv"})
+	public String layout;
+
+	private Board board;
+
+	private long nextSeed;
+
+	@Setup
+	public void setUp() throws IOException {
+		String[] configFiles = BenchmarkBoards.configFiles(layout);
+		board = new Board();
+		board.setConfigFiles(configFiles[0], configFiles[1]);
+		board.setHasHumanPlayer(false);
+		board.initialize();
+		board.dealCards();
+	}
+
+	// One whole game from a fresh deal, with the cache and target algorithm the board starts with
+	@Benchmark
+	public GameStatus playGame() {
+		board.resetGame();
+		return new GameEngine(board, nextSeed++).playGame();
+	}
+}
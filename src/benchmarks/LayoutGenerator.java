@@ -0,0 +1,131 @@
+/*
+ * Class: LayoutGenerator
+ *
+ * Purpose: The LayoutGenerator class writes synthetic layout and setup config files that are much larger than the real game board, so that movement code can be measured on big boards.
+ *
+ * Responsibilities: The LayoutGenerator class is responsible for laying out a grid of walkway corridors around blocks of unused cells, placing the nine rooms of ClueSetup.txt with their labels, centers, doorways, and secret passages, and writing a matching setup config whose players start on walkways.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+public class LayoutGenerator {
+	// Corridors run along every BLOCK_SIZE-th row and column, with unused blocks in between
+	private static final int BLOCK_SIZE = 4;
+
+	private static final int
+		ROOM_HEIGHT = 3,
+		ROOM_WIDTH = 7,
+		MIN_SIZE = 8 * BLOCK_SIZE;
+
+	private static final char[] ROOM_INITIALS = {'C', 'K', 'B', 'R', 'L', 'S', 'D', 'O', 'H'};
+	private static final String[] ROOM_NAMES = {
+		"Curb Room", "Kitchen", "Ballroom", "Rec Room", "Library", "Sauna", "Dart Room", "Office", "Honey Room"
+	};
+	private static final String[] PERSON_NAMES = {
+		"Hans Wolfeschlegelstein", "Rick Roelle", "Juan", "Jiu Shiyi", "May O'Neill", "Ivan Ivanov"
+	};
+	private static final String[] PERSON_COLORS = {"Gold", "Blue", "Green", "Pink", "Teal", "Red"};
+	private static final String[] WEAPON_NAMES = {
+		"Lead Pipe", "Steel Pipe", "Copper Pipe", "PVC Pipe", "Sodium Pipe", "Pipe Wrench"
+	};
+
+	private LayoutGenerator() {
+		super();
+	}
+
+	public static String[][] generateLayout(int numRows, int numCols) {
+		if (numRows < MIN_SIZE || numCols < MIN_SIZE) {
+			throw new IllegalArgumentException("Synthetic layouts must be at least " + MIN_SIZE + " cells on a side.");
+		}
+
+		String[][] layout = new String[numRows][numCols];
+		for (int row = 0; row < numRows; row++) {
+			for (int col = 0; col < numCols; col++) {
+				boolean isCorridor = row % BLOCK_SIZE == 0 || col % BLOCK_SIZE == 0;
+				layout[row][col] = isCorridor ? "W" : "X";
+			}
+		}
+
+		// Rooms are spread over a 3x3 grid of regions, each one's doorway opening onto a corridor row below it
+		for (int roomIdx = 0; roomIdx < ROOM_INITIALS.length; roomIdx++) {
+			char initial = ROOM_INITIALS[roomIdx];
+			int topRow = alignToCorridor(roomIdx / 3 * numRows / 3) + 1;
+			int leftCol = alignToCorridor(roomIdx % 3 * numCols / 3) + 1;
+
+			for (int row = topRow; row < topRow + ROOM_HEIGHT; row++) {
+				for (int col = leftCol; col < leftCol + ROOM_WIDTH; col++) {
+					layout[row][col] = String.valueOf(initial);
+				}
+			}
+
+			int centerCol = leftCol + ROOM_WIDTH / 2;
+			layout[topRow][leftCol] = initial + "#";
+			layout[topRow + 1][centerCol] = initial + "*";
+			layout[topRow + ROOM_HEIGHT][centerCol] = "W^";
+
+			// Pair up the rooms with secret passages, the same way the corner rooms are on the real board
+			if (roomIdx % 2 == 0 && roomIdx + 1 < ROOM_INITIALS.length) {
+				layout[topRow + ROOM_HEIGHT - 1][leftCol] = initial + String.valueOf(ROOM_INITIALS[roomIdx + 1]);
+			} else if (roomIdx % 2 == 1) {
+				layout[topRow + ROOM_HEIGHT - 1][leftCol] = initial + String.valueOf(ROOM_INITIALS[roomIdx - 1]);
+			}
+		}
+
+		return layout;
+	}
+
+	private static int alignToCorridor(int index) {
+		return index - index % BLOCK_SIZE;
+	}
+
+	public static void writeLayoutConfig(String[][] layout, File layoutFile) throws IOException {
+		try (PrintWriter writer = new PrintWriter(layoutFile)) {
+			for (String[] row : layout) {
+				writer.println(String.join(",", row));
+			}
+		}
+	}
+
+	public static void writeSetupConfig(File setupFile) throws IOException {
+		try (PrintWriter writer = new PrintWriter(setupFile)) {
+			writer.println("// Rooms and room cards");
+			for (int roomIdx = 0; roomIdx < ROOM_INITIALS.length; roomIdx++) {
+				writer.println("Room, " + ROOM_NAMES[roomIdx] + ", " + ROOM_INITIALS[roomIdx]);
+			}
+			writer.println("// Other spaces on board");
+			writer.println("Space, Unused, X");
+			writer.println("Space, Walkway, W");
+			writer.println("// People cards");
+			for (int personIdx = 0; personIdx < PERSON_NAMES.length; personIdx++) {
+				// The top row is always a corridor
+				writer.println("Person, " + PERSON_NAMES[personIdx] + ", " + PERSON_COLORS[personIdx]
+					+ ", 0, " + personIdx * BLOCK_SIZE);
+			}
+			writer.println("// Weapon cards");
+			for (String weaponName : WEAPON_NAMES) {
+				writer.println("Weapon, " + weaponName);
+			}
+		}
+	}
+
+	// Writes a numRows by numCols layout and its setup into directory, returning {layout path, setup path}
+	public static String[] writeConfigFiles(int numRows, int numCols, File directory) throws IOException {
+		File layoutFile = new File(directory, "SyntheticLayout" + numRows + "x" + numCols + ".csv");
+		File setupFile = new File(directory, "SyntheticSetup.txt");
+		writeLayoutConfig(generateLayout(numRows, numCols), layoutFile);
+		writeSetupConfig(setupFile);
+		return new String[] {layoutFile.getPath(), setupFile.getPath()};
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Class: TargetsBenchmark
+ *
+ * Purpose: The TargetsBenchmark class measures how long Board.calcTargets takes, so that changes to movement can be compared against a baseline.
+ *
+ * Responsibilities: The TargetsBenchmark class is responsible for timing target calculation from every cell a turn can start on, for every roll of one or two dice and with each target algorithm, the recursive search included as the baseline the others are compared against, on the real layouts and on larger synthetic ones.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.TargetAlgorithm;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TargetsBenchmark {
+	@Param({"data/ClueLayout.csv", "data/ClueLayout306.csv", "synthetic-100", "synthetic-400"})
+	public String layout;
+
+	@Param({"1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12"})
+	public int roll;
+
+	@Param({"RECURSIVE", "BITBOARD", "CORRIDOR", "PATCHED"})
+	public TargetAlgorithm algorithm;
+
+	private Board board;
+
+	private BoardCell[] startCells;
+
+	private int nextStartIdx;
+
+	@Setup
+	public void setUp() throws IOException {
+		board = BenchmarkBoards.load(layout);
+		// With the cache on, every query after warmup on the small layouts would be a lookup, and every one on the
+		// large layouts a miss that also evicts, so neither would time the search
+		board.setTargetCacheCapacity(0);
+		board.setTargetAlgorithm(algorithm);
+		List<BoardCell> startCellList = BenchmarkBoards.startCells(board);
+		startCells = startCellList.toArray(new BoardCell[0]);
+	}
+
+	// One target query, cycling through the start cells so that every one of them is covered
+	@Benchmark
+	public void calcTargets(Blackhole blackhole) {
+		BoardCell startCell = startCells[nextStartIdx];
+		nextStartIdx = (nextStartIdx + 1) % startCells.length;
+		board.calcTargets(startCell, roll);
+		blackhole.consume(board.getTargets());
+	}
+
+	// Target queries from every start cell on the board
+	@Benchmark
+	public void calcTargetsAllStartCells(Blackhole blackhole) {
+		for (BoardCell startCell : startCells) {
+			board.calcTargets(startCell, roll);
+			blackhole.consume(board.getTargets());
+		}
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Class: BackgroundImageCache
+ *
+ * Purpose: The BackgroundImageCache class loads the board's background image and keeps it scaled to the sizes the BoardPanel has been drawn at, so that resizing the window never waits on decoding or high quality scaling.
+ *
+ * Responsibilities: The BackgroundImageCache class is responsible for decoding the image file and scaling it to a requested size on a background thread, for keeping the few most recently used scaled copies, and for telling its listener on the event thread whenever a new image is ready. Until the high quality copy for a size is ready, callers draw the decoded image with fast scaling instead. While a window is being dragged to a new size only the latest size asked for is scaled, so sizes that were passed through are never worked on. Closing the cache stops its thread.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package clueGame;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.imageio.ImageIO;
+import javax.swing.SwingUtilities;
+
+public class BackgroundImageCache {
+	// A window is rarely shown at more sizes than this for long
+	public static final int MAX_CACHED_SIZES = 4;
+
+	private final Runnable imageReadyListener;
+
+	// One thread that never keeps the game from exiting, since a half scaled background is not worth waiting for
+	private final ExecutorService executor;
+
+	private volatile BufferedImage sourceImage;
+	private volatile Dimension latestRequestedSize;
+
+	// Only used on the event thread, in access order so the eldest size is the least recently drawn one
+	private final LinkedHashMap<Dimension, BufferedImage> scaledImages;
+	private final Set<Dimension> pendingSizes;
+
+	public BackgroundImageCache(File imageFile, Runnable imageReadyListener) {
+		super();
+		this.imageReadyListener = imageReadyListener;
+		this.scaledImages = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Dimension, BufferedImage> eldest) {
+				return size() > MAX_CACHED_SIZES;
+			}
+		};
+		this.pendingSizes = new HashSet<>();
+		this.executor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "Background image scaler");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		executor.execute(() -> {
+			try {
+				sourceImage = ImageIO.read(imageFile);
+				if (sourceImage != null) {
+					SwingUtilities.invokeLater(imageReadyListener);
+				}
+			} catch (IOException exception) {
+				System.err.println("Error loading background image: " + exception.getMessage());
+			}
+		});
+	}
+
+	// The decoded image at its own size, or null until it has been decoded or if it could not be
+	public BufferedImage getSourceImage() {
+		return sourceImage;
+	}
+
+	// The high quality image for this size, or null if it is not ready yet, in which case it is scaled in the background
+	public BufferedImage getScaledImage(int width, int height) {
+		Dimension size = new Dimension(width, height);
+		BufferedImage scaledImage = scaledImages.get(size);
+		if (scaledImage != null || sourceImage == null) {
+			return scaledImage;
+		}
+
+		latestRequestedSize = size;
+		if (!executor.isShutdown() && pendingSizes.add(size)) {
+			executor.execute(() -> {
+				// A size the window has already been dragged past is not worth scaling to
+				BufferedImage result = size.equals(latestRequestedSize) ? scale(sourceImage, width, height) : null;
+				SwingUtilities.invokeLater(() -> {
+					pendingSizes.remove(size);
+					if (result != null) {
+						scaledImages.put(size, result);
+						imageReadyListener.run();
+					}
+				});
+			});
+		}
+		return null;
+	}
+
+	// Stops the background thread, dropping any scaling still queued, for when the panel drawing the image goes away
+	public void close() {
+		executor.shutdownNow();
+	}
+
+	// Halves the image with bilinear filtering until it is at most twice the target size, then does one bicubic step
+	private static BufferedImage scale(BufferedImage image, int width, int height) {
+		BufferedImage current = image;
+		while (current.getWidth() / 2 >= width && current.getHeight() / 2 >= height) {
+			current = drawScaled(current, current.getWidth() / 2, current.getHeight() / 2, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+		}
+		return drawScaled(current, width, height, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+	}
+
+	private static BufferedImage drawScaled(BufferedImage image, int width, int height, Object interpolation) {
+		int imageType = image.getTransparency() == BufferedImage.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+		BufferedImage scaledImage = new BufferedImage(width, height, imageType);
+		Graphics2D graphics = scaledImage.createGraphics();
+		graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+		graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+		graphics.drawImage(image, 0, 0, width, height, null);
+		graphics.dispose();
+		return scaledImage;
+	}
+}
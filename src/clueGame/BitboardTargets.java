@@ -0,0 +1,476 @@
+/*
+ * Class: BitboardTargets
+ *
+ * Purpose: The BitboardTargets class calculates the same targets as Board.calcTargets does, but keeps every set of cells it works with as a bitboard instead of a HashSet of BoardCells.
+ *
+ * Responsibilities: The BitboardTargets class is responsible for storing the walkway, room center, doorway, and occupied cells of a board as bitboards and for finding every target of a roll with them. The path search itself still has to visit paths one at a time, since a target is only valid if a path to it never crosses itself. What makes it fast is a bound on where a search can still end up: expanding frontiers of non-backtracking moves with word-wide shifts and masks gives every cell a search could possibly reach. The search stops as soon as it has found every cell in that bound, and it skips any branch whose bound has already been found.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package clueGame;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+public class BitboardTargets {
+	// The search recurses once per move, so longer rolls are left to TargetSearch rather than risk the call stack
+	public static final int MAX_PATH_LENGTH = 2048;
+
+	// Bounding a branch costs about as much as searching a short one, so only long branches are bounded, and
+	// only once so few cells are missing that the bound has a real chance of holding none of them
+	private static final int
+		PRUNE_MIN_REMAINING = 3,
+		PRUNE_MAX_MISSING = 8;
+
+	private static final int
+		UP = 0,
+		DOWN = 1,
+		LEFT = 2,
+		RIGHT = 3,
+		// Cells entered from a room center may leave in any direction
+		ANY = 4,
+		NUM_DIRECTIONS = 5;
+
+	private final Board board;
+
+	private final int numRows;
+	private final int numCols;
+	private final int numCells;
+
+	private final BoardGrid grid;
+	private final int[] cellRows;
+	private final int[] cellCols;
+
+	private final long[] walkways;
+	private final long[] roomCenters;
+	private final long[] notFirstCol;
+	private final long[] notLastCol;
+
+	// Room center index for each doorway, -1 for every other cell
+	private final int[] doorwayCenters;
+
+	// The grid's own adjacency arrays
+	private final int[] adjOffsets;
+	private final int[] adjNeighbors;
+	private final int maxDegree;
+
+	// Doorways into the room centered on cell i, laid out the same way
+	private final int[] doorwayOffsets;
+	private final int[] doorways;
+
+	private final long[] visited;
+	private final long[] targets;
+	private final long[] free;
+	private final long[] reach;
+	private final long[] shifted;
+	private long[][] frontier;
+	private long[][] nextFrontier;
+
+	// Neighbors of the cell being searched with i moves left, in the order they are searched
+	private int[][] searchOrders;
+
+	private final int[] candidateCenters;
+	private int numCandidateCenters;
+
+	private int boundFromWord;
+	private int boundToWord;
+
+	// Cells within the bound of the whole search that have not been found yet, with each one's position in the list
+	private final int[] missingCells;
+	private final int[] missingPositions;
+	private int numMissing;
+
+	private boolean searchComplete;
+
+	public BitboardTargets(Board board) {
+		super();
+		this.board = board;
+		grid = board.getGrid();
+		numRows = grid.getNumRows();
+		numCols = grid.getNumColumns();
+		numCells = grid.getNumCells();
+
+		cellRows = new int[numCells];
+		cellCols = new int[numCells];
+		walkways = Bitboards.create(numCells);
+		roomCenters = Bitboards.create(numCells);
+		notFirstCol = Bitboards.create(numCells);
+		notLastCol = Bitboards.create(numCells);
+		doorwayCenters = new int[numCells];
+		adjOffsets = grid.getAdjOffsets();
+		adjNeighbors = grid.getAdjNeighbors();
+
+		int maxDegree = 0;
+		int numRooms = 0;
+		for (int index = 0; index < numCells; index++) {
+			cellRows[index] = index / numCols;
+			cellCols[index] = index % numCols;
+			Bitboards.set(walkways, index, grid.hasFlag(index, BoardGrid.WALKWAY));
+			Bitboards.set(roomCenters, index, grid.hasFlag(index, BoardGrid.ROOM_CENTER));
+			Bitboards.set(notFirstCol, index, cellCols[index] != 0);
+			Bitboards.set(notLastCol, index, cellCols[index] != numCols - 1);
+			doorwayCenters[index] = -1;
+			maxDegree = Math.max(maxDegree, grid.getNumAdj(index));
+			if (grid.hasFlag(index, BoardGrid.ROOM_CENTER)) {
+				numRooms++;
+			}
+		}
+		this.maxDegree = maxDegree;
+
+		doorwayOffsets = new int[numCells + 1];
+		int numDoorways = 0;
+		for (int index = 0; index < numCells; index++) {
+			if (!Bitboards.get(walkways, index)) {
+				continue;
+			}
+			for (int adjPos = adjOffsets[index]; adjPos < adjOffsets[index + 1]; adjPos++) {
+				int adjIndex = adjNeighbors[adjPos];
+				if (Bitboards.get(roomCenters, adjIndex)) {
+					doorwayCenters[index] = adjIndex;
+					doorwayOffsets[adjIndex + 1]++;
+					numDoorways++;
+				}
+			}
+		}
+
+		doorways = new int[numDoorways];
+		for (int index = 0; index < numCells; index++) {
+			doorwayOffsets[index + 1] += doorwayOffsets[index];
+		}
+		int[] nextDoorwayPos = Arrays.copyOf(doorwayOffsets, numCells);
+		for (int index = 0; index < numCells; index++) {
+			if (doorwayCenters[index] >= 0) {
+				doorways[nextDoorwayPos[doorwayCenters[index]]++] = index;
+			}
+		}
+
+		int numWords = Bitboards.numWords(numCells);
+		visited = new long[numWords];
+		targets = new long[numWords];
+		free = new long[numWords];
+		reach = new long[numWords];
+		shifted = new long[numWords];
+		frontier = new long[NUM_DIRECTIONS][numWords];
+		nextFrontier = new long[NUM_DIRECTIONS][numWords];
+		candidateCenters = new int[numRooms];
+		searchOrders = new int[0][];
+		missingCells = new int[numCells];
+		missingPositions = new int[numCells];
+		Arrays.fill(missingPositions, -1);
+	}
+
+	// Same targets as Board's recursive search for pathLength >= 1, before the dragged and no-move rules
+	public Set<BoardCell> calcTargets(BoardCell startCell, int pathLength) {
+		long[] occupied = board.getOccupiedCells();
+		int startIdx = startCell.getId();
+
+		// Everything the search could reach from the start, so that it knows when it has found it all
+		Bitboards.set(visited, startIdx);
+		computeBound(startIdx, pathLength, occupied);
+		for (int wordIdx = boundFromWord; wordIdx < boundToWord; wordIdx++) {
+			for (long word = reach[wordIdx]; word != 0; word &= word - 1) {
+				addMissing((wordIdx << 6) + Long.numberOfTrailingZeros(word));
+			}
+		}
+		for (int centerPos = 0; centerPos < numCandidateCenters; centerPos++) {
+			addMissing(candidateCenters[centerPos]);
+		}
+		clearBound();
+
+		if (searchOrders.length <= pathLength) {
+			searchOrders = Arrays.copyOf(searchOrders, pathLength + 1);
+		}
+		for (int depth = 0; depth <= pathLength; depth++) {
+			if (searchOrders[depth] == null) {
+				searchOrders[depth] = new int[maxDegree];
+			}
+		}
+
+		searchComplete = numMissing == 0;
+		if (!searchComplete) {
+			findAllTargets(startIdx, pathLength, occupied);
+		}
+		Bitboards.clear(visited, startIdx);
+		while (numMissing > 0) {
+			missingPositions[missingCells[--numMissing]] = -1;
+		}
+
+		Set<BoardCell> targetCells = new HashSet<>();
+		for (int index = Bitboards.nextSetBit(targets, 0); index >= 0; index = Bitboards.nextSetBit(targets, index + 1)) {
+			targetCells.add(grid.getCell(index));
+			Bitboards.clear(targets, index);
+		}
+		return targetCells;
+	}
+
+	// Mirrors Board.findAllTargets, with cell startIdx already marked visited
+	private void findAllTargets(int startIdx, int pathLength, long[] occupied) {
+		int fromPos = adjOffsets[startIdx];
+		int toPos = adjOffsets[startIdx + 1];
+		int[] order = searchOrders[pathLength];
+		for (int adjPos = fromPos; adjPos < toPos; adjPos++) {
+			order[adjPos - fromPos] = adjNeighbors[adjPos];
+		}
+		if (pathLength > 1) {
+			orderTowardMissing(order, toPos - fromPos, pathLength - 1);
+		}
+
+		for (int orderPos = 0; orderPos < toPos - fromPos && !searchComplete; orderPos++) {
+			int adjIdx = order[orderPos];
+			if (Bitboards.get(visited, adjIdx)) {
+				continue;
+			}
+
+			if (!Bitboards.get(occupied, adjIdx)) {
+				if (pathLength == 1 || Bitboards.get(roomCenters, adjIdx)) {
+					addTarget(adjIdx);
+				} else {
+					// Adjacency lists only hold walkways and room centers, so this is always a walkway
+					Bitboards.set(visited, adjIdx);
+					if (!isBranchFound(adjIdx, pathLength - 1, occupied)) {
+						findAllTargets(adjIdx, pathLength - 1, occupied);
+					}
+					Bitboards.clear(visited, adjIdx);
+				}
+			} else if (Bitboards.get(roomCenters, adjIdx)) {
+				addTarget(adjIdx);
+			}
+		}
+	}
+
+	// Which cells are targets does not depend on the order neighbors are searched in, only how soon the last
+	// one is found does. Heading for a missing cell while using up the spare moves first finds it fastest.
+	private void orderTowardMissing(int[] order, int numNeighbors, int remaining) {
+		if (numMissing == 0) {
+			return;
+		}
+		int goalIdx = missingCells[0];
+		int goalRow = cellRows[goalIdx];
+		int goalCol = cellCols[goalIdx];
+		for (int orderPos = 1; orderPos < numNeighbors; orderPos++) {
+			int adjIdx = order[orderPos];
+			int slack = slack(adjIdx, goalRow, goalCol, remaining);
+			int insertPos = orderPos;
+			while (insertPos > 0 && slack(order[insertPos - 1], goalRow, goalCol, remaining) > slack) {
+				order[insertPos] = order[insertPos - 1];
+				insertPos--;
+			}
+			order[insertPos] = adjIdx;
+		}
+	}
+
+	private int slack(int index, int goalRow, int goalCol, int remaining) {
+		int slack = remaining - Math.abs(cellRows[index] - goalRow) - Math.abs(cellCols[index] - goalCol);
+		// Neighbors the goal is out of reach from go last
+		return slack < 0 ? Integer.MAX_VALUE : slack;
+	}
+
+	private void addMissing(int index) {
+		missingPositions[index] = numMissing;
+		missingCells[numMissing++] = index;
+	}
+
+	private void swapMissing(int firstPos, int secondPos) {
+		int firstIdx = missingCells[firstPos];
+		int secondIdx = missingCells[secondPos];
+		missingCells[firstPos] = secondIdx;
+		missingCells[secondPos] = firstIdx;
+		missingPositions[secondIdx] = firstPos;
+		missingPositions[firstIdx] = secondPos;
+	}
+
+	private void addTarget(int index) {
+		Bitboards.set(targets, index);
+		int missingPos = missingPositions[index];
+		if (missingPos >= 0) {
+			// Every target lies within the bound, so the search is over once nothing in it is missing
+			int lastCell = missingCells[--numMissing];
+			missingCells[missingPos] = lastCell;
+			missingPositions[lastCell] = missingPos;
+			missingPositions[index] = -1;
+			searchComplete = numMissing == 0;
+		}
+	}
+
+	// True if every cell a search from cellIdx could reach has already been found
+	private boolean isBranchFound(int cellIdx, int remaining, long[] occupied) {
+		if (!Bitboards.get(walkways, cellIdx)) {
+			return false;
+		}
+
+		// Each move changes row + col by one, which rules out most missing cells for next to nothing
+		int row = cellRows[cellIdx];
+		int col = cellCols[cellIdx];
+		boolean isAnyMissingInRange = false;
+		for (int missingPos = 0; missingPos < numMissing && !isAnyMissingInRange; missingPos++) {
+			int missingIdx = missingCells[missingPos];
+			if (Bitboards.get(roomCenters, missingIdx)) {
+				for (int doorwayPos = doorwayOffsets[missingIdx]; doorwayPos < doorwayOffsets[missingIdx + 1]; doorwayPos++) {
+					isAnyMissingInRange |= distance(row, col, doorways[doorwayPos]) < remaining;
+				}
+			} else {
+				int distance = distance(row, col, missingIdx);
+				isAnyMissingInRange = distance <= remaining && (remaining - distance) % 2 == 0;
+			}
+			if (isAnyMissingInRange) {
+				// Nearby branches tend to be in range of the same cell, so check it first from now on
+				swapMissing(missingPos, 0);
+			}
+		}
+		if (!isAnyMissingInRange) {
+			return true;
+		}
+		if (remaining < PRUNE_MIN_REMAINING || numMissing > PRUNE_MAX_MISSING) {
+			return false;
+		}
+
+		computeBound(cellIdx, remaining, occupied);
+		boolean isFound = true;
+		for (int wordIdx = boundFromWord; wordIdx < boundToWord && isFound; wordIdx++) {
+			isFound = (reach[wordIdx] & ~targets[wordIdx]) == 0;
+		}
+		for (int centerPos = 0; centerPos < numCandidateCenters && isFound; centerPos++) {
+			isFound = Bitboards.get(targets, candidateCenters[centerPos]);
+		}
+		clearBound();
+		return isFound;
+	}
+
+	private int distance(int row, int col, int index) {
+		return Math.abs(cellRows[index] - row) + Math.abs(cellCols[index] - col);
+	}
+
+	// Leaves in reach every walkway a path of exactly remaining moves from cellIdx could end on, and in
+	// candidateCenters every room center such a path could stop in. Paths may not cross visited cells.
+	private void computeBound(int cellIdx, int remaining, long[] occupied) {
+		numCandidateCenters = 0;
+
+		// Rows further than remaining - 1 moves from the first step can never be reached
+		int minRow = numRows;
+		int maxRow = -1;
+		for (int adjPos = adjOffsets[cellIdx]; adjPos < adjOffsets[cellIdx + 1]; adjPos++) {
+			int adjRow = cellRows[adjNeighbors[adjPos]];
+			minRow = Math.min(minRow, adjRow);
+			maxRow = Math.max(maxRow, adjRow);
+		}
+		if (maxRow < 0) {
+			boundFromWord = 0;
+			boundToWord = 0;
+			return;
+		}
+		minRow = Math.max(0, minRow - (remaining - 1));
+		maxRow = Math.min(numRows - 1, maxRow + (remaining - 1));
+		boundFromWord = Bitboards.wordIndex(minRow * numCols);
+		boundToWord = Bitboards.wordIndex((maxRow + 1) * numCols - 1) + 1;
+
+		for (int wordIdx = boundFromWord; wordIdx < boundToWord; wordIdx++) {
+			free[wordIdx] = walkways[wordIdx] & ~occupied[wordIdx] & ~visited[wordIdx];
+		}
+
+		// The first move comes straight from the adjacency list, so it also covers doorways and secret passages
+		addCandidateCenter(doorwayCenters[cellIdx]);
+		for (int adjPos = adjOffsets[cellIdx]; adjPos < adjOffsets[cellIdx + 1]; adjPos++) {
+			int adjIdx = adjNeighbors[adjPos];
+			if (Bitboards.get(roomCenters, adjIdx)) {
+				addCandidateCenter(adjIdx);
+			} else if (Bitboards.get(free, adjIdx)) {
+				int direction = switch (adjIdx - cellIdx) {
+					case -1 -> LEFT;
+					case 1 -> RIGHT;
+					default -> adjIdx == cellIdx - numCols ? UP : adjIdx == cellIdx + numCols ? DOWN : ANY;
+				};
+				Bitboards.set(frontier[direction], adjIdx);
+			}
+		}
+
+		for (int step = 1; step < remaining; step++) {
+			for (int wordIdx = boundFromWord; wordIdx < boundToWord; wordIdx++) {
+				reach[wordIdx] = frontier[UP][wordIdx] | frontier[DOWN][wordIdx] | frontier[LEFT][wordIdx]
+					| frontier[RIGHT][wordIdx] | frontier[ANY][wordIdx];
+			}
+			addDoorwayCenters();
+
+			// A move may go any way except straight back to the cell it came from
+			expand(UP, DOWN, -numCols, null);
+			expand(DOWN, UP, numCols, null);
+			expand(LEFT, RIGHT, -1, notLastCol);
+			expand(RIGHT, LEFT, 1, notFirstCol);
+			for (int wordIdx = boundFromWord; wordIdx < boundToWord; wordIdx++) {
+				nextFrontier[ANY][wordIdx] = 0;
+			}
+
+			long[][] swap = frontier;
+			frontier = nextFrontier;
+			nextFrontier = swap;
+		}
+
+		// Only the cells reached on the last move count as walkway targets
+		for (int wordIdx = boundFromWord; wordIdx < boundToWord; wordIdx++) {
+			reach[wordIdx] = frontier[UP][wordIdx] | frontier[DOWN][wordIdx] | frontier[LEFT][wordIdx]
+				| frontier[RIGHT][wordIdx] | frontier[ANY][wordIdx];
+			for (int direction = 0; direction < NUM_DIRECTIONS; direction++) {
+				frontier[direction][wordIdx] = 0;
+				nextFrontier[direction][wordIdx] = 0;
+			}
+		}
+	}
+
+	private void expand(int direction, int oppositeDirection, int shift, long[] wrapMask) {
+		for (int wordIdx = boundFromWord; wordIdx < boundToWord; wordIdx++) {
+			long sources = 0;
+			for (int fromDirection = 0; fromDirection < NUM_DIRECTIONS; fromDirection++) {
+				if (fromDirection != oppositeDirection) {
+					sources |= frontier[fromDirection][wordIdx];
+				}
+			}
+			reach[wordIdx] = sources;
+		}
+		Bitboards.shift(reach, shift, shifted, boundFromWord, boundToWord);
+		for (int wordIdx = boundFromWord; wordIdx < boundToWord; wordIdx++) {
+			long moved = shifted[wordIdx] & free[wordIdx];
+			nextFrontier[direction][wordIdx] = wrapMask == null ? moved : moved & wrapMask[wordIdx];
+		}
+	}
+
+	// Doorways reached with moves to spare let a path step into their room
+	private void addDoorwayCenters() {
+		for (int wordIdx = boundFromWord; wordIdx < boundToWord; wordIdx++) {
+			long word = reach[wordIdx];
+			while (word != 0) {
+				int index = (wordIdx << 6) + Long.numberOfTrailingZeros(word);
+				addCandidateCenter(doorwayCenters[index]);
+				word &= word - 1;
+			}
+			reach[wordIdx] = 0;
+		}
+	}
+
+	private void addCandidateCenter(int centerIdx) {
+		if (centerIdx < 0 || Bitboards.get(visited, centerIdx)) {
+			return;
+		}
+		for (int centerPos = 0; centerPos < numCandidateCenters; centerPos++) {
+			if (candidateCenters[centerPos] == centerIdx) {
+				return;
+			}
+		}
+		candidateCenters[numCandidateCenters++] = centerIdx;
+	}
+
+	private void clearBound() {
+		for (int wordIdx = boundFromWord; wordIdx < boundToWord; wordIdx++) {
+			reach[wordIdx] = 0;
+			shifted[wordIdx] = 0;
+			free[wordIdx] = 0;
+		}
+		numCandidateCenters = 0;
+	}
+}
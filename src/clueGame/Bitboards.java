@@ -0,0 +1,106 @@
+/*
+ * Class: Bitboards
+ *
+ * Purpose: The Bitboards class holds the operations on bitboards, which are long arrays with one bit per board cell indexed by row * numCols + col.
+ *
+ * Responsibilities: The Bitboards class is responsible for creating bitboards, setting, clearing, and testing single bits, walking the set bits, and shifting whole bitboards by any number of cells a word at a time.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package clueGame;
+
+final class Bitboards {
+	static final int WORD_BITS = 64;
+
+	private static final int WORD_SHIFT = 6;
+
+	private Bitboards() {
+		super();
+	}
+
+	static long[] create(int numBits) {
+		return new long[numWords(numBits)];
+	}
+
+	static int numWords(int numBits) {
+		return (numBits + WORD_BITS - 1) >>> WORD_SHIFT;
+	}
+
+	static int wordIndex(int bit) {
+		return bit >>> WORD_SHIFT;
+	}
+
+	static boolean get(long[] bitboard, int bit) {
+		return (bitboard[bit >>> WORD_SHIFT] & (1L << bit)) != 0;
+	}
+
+	static void set(long[] bitboard, int bit) {
+		bitboard[bit >>> WORD_SHIFT] |= 1L << bit;
+	}
+
+	static void clear(long[] bitboard, int bit) {
+		bitboard[bit >>> WORD_SHIFT] &= ~(1L << bit);
+	}
+
+	static void set(long[] bitboard, int bit, boolean value) {
+		if (value) {
+			set(bitboard, bit);
+		} else {
+			clear(bitboard, bit);
+		}
+	}
+
+	// Returns the first set bit at or after fromBit, or -1 if there is none
+	static int nextSetBit(long[] bitboard, int fromBit) {
+		int wordIdx = fromBit >>> WORD_SHIFT;
+		if (wordIdx >= bitboard.length) {
+			return -1;
+		}
+		long word = bitboard[wordIdx] & (-1L << fromBit);
+		while (true) {
+			if (word != 0) {
+				return (wordIdx << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+			}
+			if (++wordIdx == bitboard.length) {
+				return -1;
+			}
+			word = bitboard[wordIdx];
+		}
+	}
+
+	static int cardinality(long[] bitboard) {
+		int count = 0;
+		for (long word : bitboard) {
+			count += Long.bitCount(word);
+		}
+		return count;
+	}
+
+	// Words [fromWord, toWord) of dst get src moved shift bits toward higher indices (lower ones if shift is negative)
+	static void shift(long[] src, int shift, long[] dst, int fromWord, int toWord) {
+		int wordShift = (shift < 0 ? -shift : shift) >>> WORD_SHIFT;
+		int bitShift = (shift < 0 ? -shift : shift) & (WORD_BITS - 1);
+		for (int wordIdx = fromWord; wordIdx < toWord; wordIdx++) {
+			if (shift >= 0) {
+				long high = wordAt(src, wordIdx - wordShift);
+				long low = bitShift == 0 ? 0 : wordAt(src, wordIdx - wordShift - 1) >>> (WORD_BITS - bitShift);
+				dst[wordIdx] = (high << bitShift) | low;
+			} else {
+				long low = wordAt(src, wordIdx + wordShift);
+				long high = bitShift == 0 ? 0 : wordAt(src, wordIdx + wordShift + 1) << (WORD_BITS - bitShift);
+				dst[wordIdx] = (low >>> bitShift) | high;
+			}
+		}
+	}
+
+	private static long wordAt(long[] bitboard, int wordIdx) {
+		return wordIdx >= 0 && wordIdx < bitboard.length ? bitboard[wordIdx] : 0;
+	}
+}
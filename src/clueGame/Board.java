@@ -3,11 +3,11 @@
  *
  * Purpose: The Board class is a singleton that represents the game board.
  *
- * Responsibilities: The Board class is responsible for loading the layout and setup config files, initializing the board, and storing the grid of cells and room map. It is also responsible for calculating the adjacency lists of each cell, dealing the cards, and calculating the targets for a player. The Board class is also responsible for storing the number of rows and columns in the grid, the walkway and unused initials, and the layout and setup config file paths. The Board class is also responsible for storing the targets and visited cells for a player.
+ * Responsibilities: The Board class is responsible for loading the layout and setup config files, initializing the board, and storing the grid of cells and room map. It is also responsible for calculating the adjacency lists of each cell, dealing the cards, and calculating the targets for a player. The Board class is also responsible for storing the number of rows and columns in the grid, the walkway and unused initials, and the layout and setup config file paths. The Board class is also responsible for storing the targets for a player.
  *
  * Authors: Aragorn Wang, Anya Streit
  * 
- * Date Last Edited: April 14, 2025
+ * Date Last Edited: October 18, 2026
  * 
  * Collaborators: None
  * 
@@ -18,14 +18,17 @@ package clueGame;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Scanner;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 public class Board {
 	private static final String
@@ -36,6 +39,14 @@ public class Board {
 		WALKWAY_LABEL = "Walkway",
 		UNUSED_LABEL = "Unused";
 
+	// Room initials below this are looked up in an array while a layout is read
+	private static final int ROOM_LOOKUP_SIZE = 128;
+
+	// Boards with at least this many cells are loaded in row bands on FORK_JOIN_POOL
+	public static final int DEFAULT_PARALLEL_LOAD_CELLS = 1 << 16;
+	// Large layouts and large target searches are split over this
+	private static final ForkJoinPool FORK_JOIN_POOL = ForkJoinPool.commonPool();
+
 	private static Board theInstance;
 
 	private char walkwayInitial;
@@ -44,23 +55,48 @@ public class Board {
 	private int numRows;
 	private int numCols;
 
-	private List<List<BoardCell>> grid;
+	private BoardGrid grid;
 
 	private String layoutConfigFile;
 	private String setupConfigFile;
 
+	// Null unless boards are to be loaded from, and saved to, a BoardSnapshot
+	private String snapshotFile;
+	private boolean isLoadedFromSnapshot;
+
+	private int parallelLoadCells = DEFAULT_PARALLEL_LOAD_CELLS;
+
 	private Map<Character, Room> roomMap;
 
 	private Set<BoardCell> targets;
-	private Set<BoardCell> visited;
+
+	private TargetAlgorithm targetAlgorithm = TargetAlgorithm.PATCHED;
+	private BitboardTargets bitboardTargets;
+	// Built the first time a CORRIDOR search needs it, and dropped whenever the adjacency lists change
+	private CorridorGraph corridorGraph;
+
+	// A capacity of 0 turns the cache off
+	private int targetCacheCapacity = TargetCache.DEFAULT_CAPACITY;
+	private TargetCache targetCache;
+
+	// A capacity of 0 turns patching off, and PATCHED searches like BITBOARD
+	private int patchedTargetsCapacity = PatchedTargets.DEFAULT_CAPACITY;
+	private PatchedTargets patchedTargets;
 
 	private List<Player> players;
 
 	private Player humanPlayer;
 
+	// Headless simulations seat a computer player in the first person slot too
+	private boolean hasHumanPlayer = true;
+
+	private CardRegistry cardRegistry;
+
 	private List<Card> nonAnswerCards;
 
 	private Solution theAnswer;
+	// The answer as CardRegistry ids, which is what accusations are checked against
+	private PackedSolution packedAnswer;
 
 	public Board() {
 		super();
@@ -69,8 +105,11 @@ public class Board {
 	public void initialize() {
 		try {
 			loadSetupConfig();
-			loadLayoutConfig();
-			calcAdjLists();
+			if (!loadSnapshot()) {
+				loadLayoutConfig();
+				calcAdjLists();
+				saveSnapshot();
+			}
 		} catch (BadConfigFormatException | FileNotFoundException exception) {
 			System.err.println("Initialization failed: " + exception.getMessage());
 		}
@@ -84,228 +123,377 @@ public class Board {
 		List<Card> weaponCards = new ArrayList<>();
 		
 		players = new ArrayList<>();
+		humanPlayer = null;
+		cardRegistry = new CardRegistry();
 		nonAnswerCards = new ArrayList<>();
 		theAnswer = new Solution();
+		packedAnswer = PackedSolution.of(cardRegistry, theAnswer);
 
-		File setupFile = new File(setupConfigFile);
-		try (Scanner scanner = new Scanner(setupFile)) {
-			while (scanner.hasNextLine()) {
-				String line = scanner.nextLine();
-				if (line.substring(0, 2).equals("//")) {
-					continue;
-				}
-				
-				try {
-					String[] markerInfo = line.split(", ");
-					String infoType = markerInfo[0];
-					Card card = null;
-					switch (infoType) {
-						case ROOM_TYPE_LABEL -> {
-							String roomLabel = markerInfo[1];
-							card = new Card(roomLabel, CardType.ROOM);
-							roomCards.add(card);
-							char initial = markerInfo[2].charAt(0);
-							roomMap.put(initial, new Room(roomLabel));
-							nonAnswerCards.add(card);
-						}
-						case SPACE_TYPE_LABEL -> {
-							String roomLabel = markerInfo[1];
-							char initial = markerInfo[2].charAt(0);
-							if (roomLabel.equals(WALKWAY_LABEL)) {
-								walkwayInitial = initial;
-							} else if (roomLabel.equals(UNUSED_LABEL)) {
-								unusedInitial = initial;
-							}
-							roomMap.put(initial, new Room(roomLabel));
-						}
-						case PERSON_TYPE_LABEL -> {
-							card = new Card(markerInfo[1], CardType.PERSON);
-							playerCards.add(card);							
-							Player player;
-							if (players.isEmpty()) {
-								player = new HumanPlayer(
-									markerInfo[1],
-									markerInfo[2],
-									Integer.parseInt(markerInfo[3]), Integer.parseInt(markerInfo[4])
-								);
-								humanPlayer = player;
-							} else {
-								player = new ComputerPlayer(
-									markerInfo[1],
-									markerInfo[2],
-									Integer.parseInt(markerInfo[3]), Integer.parseInt(markerInfo[4])
-								);
-							}
-							players.add(player);
-							nonAnswerCards.add(card);
+		ByteBuffer buffer;
+		try {
+			buffer = ConfigReader.map(new File(setupConfigFile));
+		} catch (FileNotFoundException exception) {
+			throw exception;
+		} catch (IOException exception) {
+			throw new BadConfigFormatException(exception.getMessage());
+		}
+
+		for (int lineStart = 0; lineStart < buffer.limit(); ) {
+			int lineEnd = ConfigReader.lineEnd(buffer, lineStart);
+			String line = ConfigReader.getString(buffer, lineStart, lineEnd);
+			lineStart = ConfigReader.nextLineStart(buffer, lineEnd);
+			if (line.startsWith("//")) {
+				continue;
+			}
+
+			try {
+				String[] markerInfo = line.split(", ");
+				String infoType = markerInfo[0];
+				Card card = null;
+				switch (infoType) {
+					case ROOM_TYPE_LABEL -> {
+						String roomLabel = markerInfo[1];
+						card = cardRegistry.register(roomLabel, CardType.ROOM);
+						roomCards.add(card);
+						char initial = markerInfo[2].charAt(0);
+						Room room = new Room(roomLabel);
+						room.setCard(card);
+						roomMap.put(initial, room);
+						nonAnswerCards.add(card);
+					}
+					case SPACE_TYPE_LABEL -> {
+						String roomLabel = markerInfo[1];
+						char initial = markerInfo[2].charAt(0);
+						if (roomLabel.equals(WALKWAY_LABEL)) {
+							walkwayInitial = initial;
+						} else if (roomLabel.equals(UNUSED_LABEL)) {
+							unusedInitial = initial;
 						}
-						case WEAPON_TYPE_LABEL -> {
-							card = new Card(markerInfo[1], CardType.WEAPON);
-							weaponCards.add(card);
-							nonAnswerCards.add(card);
+						roomMap.put(initial, new Room(roomLabel));
+					}
+					case PERSON_TYPE_LABEL -> {
+						card = cardRegistry.register(markerInfo[1], CardType.PERSON);
+						playerCards.add(card);							
+						Player player;
+						if (players.isEmpty() && hasHumanPlayer) {
+							player = new HumanPlayer(
+								this,
+								markerInfo[1],
+								markerInfo[2],
+								Integer.parseInt(markerInfo[3]), Integer.parseInt(markerInfo[4])
+							);
+							humanPlayer = player;
+						} else {
+							player = new ComputerPlayer(
+								this,
+								markerInfo[1],
+								markerInfo[2],
+								Integer.parseInt(markerInfo[3]), Integer.parseInt(markerInfo[4])
+							);
 						}
-						default -> throw new Exception("Invalid type \"" + markerInfo[1] + "\" in setup config.");
+						players.add(player);
+						nonAnswerCards.add(card);
 					}
-				} catch (Exception exception) {
-					scanner.close();
-					throw new BadConfigFormatException(exception.getMessage());
+					case WEAPON_TYPE_LABEL -> {
+						card = cardRegistry.register(markerInfo[1], CardType.WEAPON);
+						weaponCards.add(card);
+						nonAnswerCards.add(card);
+					}
+					default -> throw new Exception("Invalid type \"" + markerInfo[1] + "\" in setup config.");
 				}
+			} catch (Exception exception) {
+				throw new BadConfigFormatException(exception.getMessage());
 			}
-			
-			Card randomCard = roomCards.get((int) (Math.random() * roomCards.size()));
-			theAnswer.setRoomCard(randomCard);
-			nonAnswerCards.remove(randomCard);
-			
-			randomCard = playerCards.get((int) (Math.random() * playerCards.size()));
-			theAnswer.setPersonCard(randomCard);
-			nonAnswerCards.remove(randomCard);
-			
-			randomCard = weaponCards.get((int) (Math.random() * weaponCards.size()));
-			theAnswer.setWeaponCard(randomCard);
-			nonAnswerCards.remove(randomCard);
 		}
+
+		Card randomCard = roomCards.get((int) (Math.random() * roomCards.size()));
+		theAnswer.setRoomCard(randomCard);
+		nonAnswerCards.remove(randomCard);
+		
+		randomCard = playerCards.get((int) (Math.random() * playerCards.size()));
+		theAnswer.setPersonCard(randomCard);
+		nonAnswerCards.remove(randomCard);
+		
+		randomCard = weaponCards.get((int) (Math.random() * weaponCards.size()));
+		theAnswer.setWeaponCard(randomCard);
+		nonAnswerCards.remove(randomCard);
+		packedAnswer = PackedSolution.of(cardRegistry, theAnswer);
 	}
 
 	public void loadLayoutConfig() throws FileNotFoundException, BadConfigFormatException {
-		grid = new ArrayList<>();
-
-		File layoutFile = new File(layoutConfigFile);
-		try (Scanner scanner = new Scanner(layoutFile)) {
-			int rowIndex = 0;
-			int expectedNumCols = -1;
-			
-			while (scanner.hasNextLine()) {
-				String[] line = scanner.nextLine().split(",");
-				numCols = line.length;
-
-				List<BoardCell> row = new ArrayList<>();
-
-				try {
-					int colIndex = 0;
-					for (String marker : line) {
-						char initial = marker.charAt(0);
-						// if room is null, then the initial is not a valid room
-						Room room = getRoom(initial);
-						if (room == null) {
-							// if initial is not a valid room, then the cell is invalid
-							throw new Exception("Invalid room " + initial + " in layout config.");
-						}
+		grid = null;
+		bitboardTargets = null;
+		corridorGraph = null;
+		patchedTargets = null;
+		targetCache = null;
 
-						BoardCell cell = new BoardCell(rowIndex, colIndex, initial);
+		ByteBuffer buffer;
+		try {
+			buffer = ConfigReader.map(new File(layoutConfigFile));
+		} catch (IOException exception) {
+			throw new BadConfigFormatException(exception.getMessage());
+		}
 
-						if (initial == walkwayInitial) {
-							cell.setIsWalkway(true);
-							cell.setIsRoom(false);
-						} else if (initial == unusedInitial) {
-							cell.setIsWalkway(false);
-							cell.setIsRoom(false);
-						} else {
-							cell.setIsWalkway(false);
-							cell.setIsRoom(true);
-						}
+		// Every cell takes at least a marker and a comma, so a file this large has at least parallelLoadCells cells
+		int[] bandStarts;
+		if (buffer.limit() / 2 >= parallelLoadCells) {
+			int numBands = ParallelBands.getNumBands(FORK_JOIN_POOL, buffer.limit());
+			bandStarts = ParallelBands.split(buffer.limit(), numBands);
+			for (int band = 1; band < numBands; band++) {
+				bandStarts[band] = ConfigReader.lineStartAtOrAfter(buffer, bandStarts[band]);
+			}
+		} else {
+			bandStarts = new int[] {0, buffer.limit()};
+		}
+		int numBands = bandStarts.length - 1;
+
+		// The grid is sized up front, so the lines of every band are counted before any cell is made
+		int[] bandFirstRows = new int[numBands + 1];
+		ParallelBands.forEach(FORK_JOIN_POOL, numBands, band -> {
+			bandFirstRows[band + 1] = ConfigReader.countLines(buffer, bandStarts[band], bandStarts[band + 1]);
+		});
+		for (int band = 0; band < numBands; band++) {
+			bandFirstRows[band + 1] += bandFirstRows[band];
+		}
+		numRows = bandFirstRows[numBands];
+		numCols = numRows == 0 ? 0 : ConfigReader.countFields(buffer, 0, ConfigReader.lineEnd(buffer, 0), ',');
+		BoardGrid newGrid = new BoardGrid(this, numRows, numCols);
+
+		// Looked up for every cell, so the common initials skip the boxing and hashing of the room map
+		Room[] roomsByInitial = new Room[ROOM_LOOKUP_SIZE];
+		for (Map.Entry<Character, Room> entry : roomMap.entrySet()) {
+			if (entry.getKey() < ROOM_LOOKUP_SIZE) {
+				roomsByInitial[entry.getKey()] = entry.getValue();
+			}
+		}
 
-						cell.setOccupied(false);
-
-						if (marker.length() == 2) {
-							char special = marker.charAt(1);
-
-							switch (special) {
-								case Room.LABEL_MARKER -> {
-									cell.setIsRoomLabel(true);
-									room.setLabelCell(cell);
-									cell.setIsRoomCenter(false);
-								}
-								case Room.CENTER_MARKER -> {
-									cell.setIsRoomLabel(false);
-									cell.setIsRoomCenter(true);
-									room.setCenterCell(cell);
-								}
-								default -> {
-									try {
-										cell.setDoorDirection(DoorDirection.getDirection(special));
-									} catch (BadConfigFormatException exception) {
-										if (roomMap.containsKey(special)) {
-											cell.setSecretPassage(special);
-										} else {
-											// if special is not a valid room, then the cell is invalid
-											throw new Exception("Invalid cell " + marker + " in layout config.");
-										}
-									}
-								}
-							}
-						}
+		LayoutBand[] layoutBands = new LayoutBand[numBands];
+		ParallelBands.forEach(FORK_JOIN_POOL, numBands, band -> {
+			layoutBands[band] = new LayoutBand();
+			try {
+				parseLayoutRows(buffer, bandStarts[band], bandFirstRows[band], bandFirstRows[band + 1], newGrid, roomsByInitial, layoutBands[band]);
+			} catch (Exception exception) {
+				layoutBands[band].error = exception;
+			}
+		});
 
-						row.add(cell);
+		// Merged in row order, so the first bad row is the one reported and the last label or center of a room is the one kept
+		for (LayoutBand layoutBand : layoutBands) {
+			if (layoutBand.error != null) {
+				throw new BadConfigFormatException(layoutBand.error.getMessage());
+			}
+			for (int pos = 0; pos < layoutBand.numRoomCellIds; pos++) {
+				linkRoomCell(newGrid, layoutBand.roomCellIds[pos]);
+			}
+		}
 
-						colIndex++;
-					}
+		grid = newGrid;
+	}
 
-					if (expectedNumCols != -1 && expectedNumCols != numCols) {
-						// if the number of columns is inconsistent, then the layout is invalid
-						throw new Exception("Inconsistent number of columns in layout config found at row " + rowIndex + ".");
-					}
-					
-					expectedNumCols = numCols;
-				} catch (Exception exception) {
-					throw new BadConfigFormatException(exception.getMessage());
+	// Parses rows firstRow up to endRow, starting at lineStart. Room label and center cells are only recorded in
+	// layoutBand, since the rooms are shared with the other bands.
+	private void parseLayoutRows(ByteBuffer buffer, int lineStart, int firstRow, int endRow, BoardGrid newGrid, Room[] roomsByInitial, LayoutBand layoutBand) throws Exception {
+		for (int rowIndex = firstRow; rowIndex < endRow; rowIndex++) {
+			int lineEnd = ConfigReader.lineEnd(buffer, lineStart);
+			if (ConfigReader.countFields(buffer, lineStart, lineEnd, ',') != numCols) {
+				// if the number of columns is inconsistent, then the layout is invalid
+				throw new Exception("Inconsistent number of columns in layout config found at row " + rowIndex + ".");
+			}
+
+			int markerStart = lineStart;
+			for (int colIndex = 0; colIndex < numCols; colIndex++) {
+				int markerEnd = ConfigReader.fieldEnd(buffer, markerStart, lineEnd, ',');
+				int markerLength = markerEnd - markerStart;
+				if (markerLength == 0) {
+					throw new Exception("Invalid cell  in layout config.");
+				}
+
+				char initial = ConfigReader.charAt(buffer, markerStart);
+				// if room is null, then the initial is not a valid room
+				Room room = initial < ROOM_LOOKUP_SIZE ? roomsByInitial[initial] : getRoom(initial);
+				if (room == null) {
+					// if initial is not a valid room, then the cell is invalid
+					throw new Exception("Invalid room " + initial + " in layout config.");
+				}
+
+				int id = newGrid.getId(rowIndex, colIndex);
+				BoardCell cell = newGrid.getCell(id);
+				newGrid.setInitial(id, initial);
+
+				if (initial == walkwayInitial) {
+					cell.setIsWalkway(true);
+				} else if (initial != unusedInitial) {
+					cell.setIsRoom(true);
 				}
 
-				grid.add(row);
+				if (markerLength == 2) {
+					char special = ConfigReader.charAt(buffer, markerStart + 1);
 
-				rowIndex++;
+					switch (special) {
+						case Room.LABEL_MARKER -> {
+							cell.setIsRoomLabel(true);
+							layoutBand.addRoomCell(id);
+						}
+						case Room.CENTER_MARKER -> {
+							cell.setIsRoomCenter(true);
+							layoutBand.addRoomCell(id);
+						}
+						default -> {
+							DoorDirection doorDirection = DoorDirection.fromValue(special);
+							if (doorDirection != null) {
+								cell.setDoorDirection(doorDirection);
+							} else if (roomMap.containsKey(special)) {
+								cell.setSecretPassage(special);
+							} else {
+								// if special is not a valid room, then the cell is invalid
+								throw new Exception("Invalid cell " + initial + special + " in layout config.");
+							}
+						}
+					}
+				}
+				markerStart = markerEnd + 1;
 			}
+			lineStart = ConfigReader.nextLineStart(buffer, lineEnd);
+		}
+	}
 
-			numRows = rowIndex;
+	// Points the cell's room at it if it is the room's label or center cell
+	private void linkRoomCell(BoardGrid newGrid, int id) {
+		if (newGrid.hasFlag(id, BoardGrid.ROOM_LABEL)) {
+			getRoom(newGrid.getInitial(id)).setLabelCell(newGrid.getCell(id));
+		}
+		if (newGrid.hasFlag(id, BoardGrid.ROOM_CENTER)) {
+			getRoom(newGrid.getInitial(id)).setCenterCell(newGrid.getCell(id));
+		}
+	}
 
-			scanner.close();
-		} catch (Exception exception) {
-			throw new BadConfigFormatException(exception.getMessage());
+	// Uses the grid and adjacency saved in the snapshot file if it still matches the config files
+	private boolean loadSnapshot() {
+		isLoadedFromSnapshot = false;
+		if (snapshotFile == null) {
+			return false;
+		}
+		BoardGrid newGrid = BoardSnapshot.read(this, new File(snapshotFile), new File(layoutConfigFile), new File(setupConfigFile));
+		if (newGrid == null) {
+			return false;
 		}
+
+		grid = newGrid;
+		numRows = newGrid.getNumRows();
+		numCols = newGrid.getNumColumns();
+		// Rooms are made fresh from the setup file, so they are pointed at their label and center cells again
+		for (int id = 0; id < newGrid.getNumCells(); id++) {
+			linkRoomCell(newGrid, id);
+		}
+		bitboardTargets = new BitboardTargets(this);
+		corridorGraph = null;
+		createPatchedTargets();
+		createTargetCache();
+		isLoadedFromSnapshot = true;
+		return true;
 	}
 
-	private void calcAdjLists() {
-		for (int rowIndex = 0; rowIndex < numRows; rowIndex++) {
-			for (int colIndex = 0; colIndex < numCols; colIndex++) {
-				BoardCell cell = getCell(rowIndex, colIndex);
-				
+	private void saveSnapshot() {
+		if (snapshotFile == null || grid == null) {
+			return;
+		}
+		try {
+			BoardSnapshot.write(grid, new File(snapshotFile), new File(layoutConfigFile), new File(setupConfigFile));
+		} catch (IOException exception) {
+			// The board is already loaded, so the next one just parses the config files again
+			System.err.println("Could not save board snapshot: " + exception.getMessage());
+		}
+	}
+
+	public void calcAdjLists() {
+		int numBands = grid.getNumCells() >= parallelLoadCells ? ParallelBands.getNumBands(FORK_JOIN_POOL, numRows) : 1;
+		int[] bandStartIds = ParallelBands.split(numRows, numBands);
+		for (int band = 0; band <= numBands; band++) {
+			bandStartIds[band] *= numCols;
+		}
+
+		AdjacencyBand[] adjacencyBands = new AdjacencyBand[numBands];
+		ParallelBands.forEach(FORK_JOIN_POOL, numBands, band -> {
+			AdjacencyBand adjacencyBand = new AdjacencyBand(bandStartIds[band], bandStartIds[band + 1]);
+			for (int id = bandStartIds[band]; id < bandStartIds[band + 1]; id++) {
+				BoardCell cell = grid.getCell(id);
+
 				if (cell.isSecretPassage()) {
-					handleSecretPassage(cell);
-				} else if (cell.isWalkway()) {
+					handleSecretPassage(cell, adjacencyBand);
+				} else if (grid.hasFlag(id, BoardGrid.WALKWAY)) {
 					// Walkways are adjacent to walkways and doorway walkways
-					
-					// Even-indexed elements are row indices, odd-indexed elements are column indices
-					int[] flatAdjIndices = {rowIndex - 1, colIndex, rowIndex, colIndex + 1,
-						rowIndex + 1, colIndex, rowIndex, colIndex - 1};
-					for (int index = 0; index < flatAdjIndices.length; index += 2) {
-						if (flatAdjIndices[index] < 0 || flatAdjIndices[index] >= numRows ||
-							flatAdjIndices[index + 1] < 0 || flatAdjIndices[index + 1] >= numCols) {
-							continue;
-						}
-						
-						BoardCell adjCell = getCell(flatAdjIndices[index], flatAdjIndices[index + 1]);
-						if (adjCell.isWalkway()) {
-							cell.addAdj(adjCell);
-						}
-					}
+					int col = id % numCols;
+					addAdjWalkway(id, id >= numCols, id - numCols, adjacencyBand);
+					addAdjWalkway(id, col < numCols - 1, id + 1, adjacencyBand);
+					addAdjWalkway(id, id + numCols < grid.getNumCells(), id + numCols, adjacencyBand);
+					addAdjWalkway(id, col > 0, id - 1, adjacencyBand);
 
 					if (cell.isDoorway()) {
-						handleDoorway(cell);
+						handleDoorway(cell, adjacencyBand);
 					}
 				}
 			}
+			adjacencyBands[band] = adjacencyBand;
+		});
+
+		// Room centers can be in a different band from the doorways and secret passages that lead to them
+		BoardGrid.AdjacencyPairs[] bandPairs = new BoardGrid.AdjacencyPairs[numBands];
+		for (int band = 0; band < numBands; band++) {
+			bandPairs[band] = adjacencyBands[band].pairs;
+		}
+		for (AdjacencyBand adjacencyBand : adjacencyBands) {
+			BoardGrid.AdjacencyPairs otherBandPairs = adjacencyBand.otherBandPairs;
+			for (int pairPos = 0; pairPos < otherBandPairs.size(); pairPos++) {
+				int fromId = otherBandPairs.getFromId(pairPos);
+				int band = Arrays.binarySearch(bandStartIds, fromId);
+				// A cell that does not start a band is in the band before the insertion point
+				bandPairs[band >= 0 ? band : -band - 2].add(fromId, otherBandPairs.getToId(pairPos));
+			}
+		}
+		grid.buildAdjacency(bandStartIds, bandPairs, FORK_JOIN_POOL);
+
+		bitboardTargets = new BitboardTargets(this);
+		corridorGraph = null;
+		createPatchedTargets();
+		createTargetCache();
+	}
+
+	private void addAdjWalkway(int id, boolean isOnBoard, int adjId, AdjacencyBand adjacencyBand) {
+		if (isOnBoard && grid.hasFlag(adjId, BoardGrid.WALKWAY)) {
+			adjacencyBand.add(id, adjId);
+		}
+	}
+
+	// Empty board targets depend on the adjacency lists too, but not on occupancy
+	private void createPatchedTargets() {
+		patchedTargets = patchedTargetsCapacity == 0 || grid == null ? null : new PatchedTargets(this, patchedTargetsCapacity);
+	}
+
+	// Target sets depend on the adjacency lists, so a new cache is started whenever they are calculated
+	private void createTargetCache() {
+		targetCache = null;
+		if (targetCacheCapacity == 0 || grid == null) {
+			return;
+		}
+		targetCache = new TargetCache(grid, targetCacheCapacity);
+		long[] occupiedCells = grid.getOccupiedCells();
+		for (int id = Bitboards.nextSetBit(occupiedCells, 0); id >= 0; id = Bitboards.nextSetBit(occupiedCells, id + 1)) {
+			if (grid.hasFlag(id, BoardGrid.WALKWAY)) {
+				targetCache.walkwayOccupancyChanged(id, true);
+			}
 		}
 	}
 
-	private void handleSecretPassage(BoardCell cell) {
+	private void handleSecretPassage(BoardCell cell, AdjacencyBand adjacencyBand) {
 		BoardCell startingRoomCenter = getRoom(cell).getCenterCell();
 		BoardCell endingRoomCenter = getRoom(cell.getSecretPassage()).getCenterCell();
 		
 		// Secret passages mean we need to add the two room centers as adjacent to each other
-		startingRoomCenter.addAdj(endingRoomCenter);
-		endingRoomCenter.addAdj(startingRoomCenter);
+		adjacencyBand.add(startingRoomCenter.getId(), endingRoomCenter.getId());
+		adjacencyBand.add(endingRoomCenter.getId(), startingRoomCenter.getId());
 	}
 
-	private void handleDoorway(BoardCell cell) {
+	private void handleDoorway(BoardCell cell, AdjacencyBand adjacencyBand) {
 		int doorwayRoomRowIndex = cell.getRow();
 		int doorwayRoomColIndex = cell.getCol();
 		
@@ -319,10 +507,10 @@ public class Board {
 		BoardCell roomCenter = getRoom(getCell(doorwayRoomRowIndex, doorwayRoomColIndex)).getCenterCell();
 
 		// Doorway walkways are adjacent to corresponding room center and walkways
-		cell.addAdj(roomCenter);
+		adjacencyBand.add(cell.getId(), roomCenter.getId());
 
 		// Room centers are adjacent to corresponding doorway walkways
-		roomCenter.addAdj(cell);
+		adjacencyBand.add(roomCenter.getId(), cell.getId());
 	}
 
 	public void dealCards() {
@@ -334,8 +522,35 @@ public class Board {
 		}
 	}
 
+	public void resetGame() {
+		for (Player player : players) {
+			getCell(player.getRow(), player.getColumn()).setOccupied(false);
+			player.reset();
+		}
+
+		List<Card> deck = getTotalDeck();
+		Collections.shuffle(deck);
+		theAnswer = new Solution();
+		nonAnswerCards = new ArrayList<>();
+		for (Card card : deck) {
+			boolean isAnswerCard = switch (card.getType()) {
+				case ROOM -> theAnswer.getRoomCard() == null;
+				case PERSON -> theAnswer.getPersonCard() == null;
+				case WEAPON -> theAnswer.getWeaponCard() == null;
+			};
+			if (isAnswerCard) {
+				theAnswer.setAnyCard(card);
+			} else {
+				nonAnswerCards.add(card);
+			}
+		}
+		packedAnswer = PackedSolution.of(cardRegistry, theAnswer);
+
+		dealCards();
+	}
+
 	public boolean checkAccusation(Solution proposedAnswer) {
-		return proposedAnswer.equals(theAnswer);
+		return PackedSolution.packBits(cardRegistry, proposedAnswer) == packedAnswer.getBits();
 	}
 
 	public Card handleSuggestion(Player player, Solution proposedAnswer) {
@@ -350,10 +565,11 @@ public class Board {
 		}
 
 		// Return first encountered disproving card if any player can disprove the suggestion
+		long suggestionMask = PackedSolution.of(cardRegistry, proposedAnswer).getCardMask();
 		int playersProcessed = 0;
 		int playerIdx = nextPlayerIdx;
 		while (playersProcessed < players.size() - 1) {
-			Card disprovingCard = players.get(playerIdx).disproveSuggestion(proposedAnswer);
+			Card disprovingCard = players.get(playerIdx).disproveSuggestion(suggestionMask);
 			if (disprovingCard != null) {
 				return disprovingCard;
 			}
@@ -365,6 +581,8 @@ public class Board {
 		return null;
 	}
 
+	// The board the GUI and the config tests share. Nothing in the game itself looks it up, so any number of
+	// games can run side by side, each on a board of its own.
 	public static Board getInstance() {
 		if (theInstance == null) {
 			theInstance = new Board();
@@ -380,12 +598,12 @@ public class Board {
 		return numCols;
 	}
 
-	public List<List<BoardCell>> getGrid() {
+	public BoardGrid getGrid() {
 		return grid;
 	}
 
 	public BoardCell getCell(int row, int col) {
-		return grid.get(row).get(col);
+		return grid.getCell(row, col);
 	}
 
 	public Room getRoom(char cellInitial) {
@@ -397,7 +615,8 @@ public class Board {
 	}
 
 	public Card getRoomCard(BoardCell cell) {
-		return new Card(getRoom(cell).getName(), CardType.ROOM);
+		Room room = getRoom(cell);
+		return room.getCard() != null ? room.getCard() : new Card(room.getName(), CardType.ROOM);
 	}
 
 	public List<Room> getRooms() {
@@ -409,54 +628,166 @@ public class Board {
 		this.setupConfigFile = setupConfigFile;
 	}
 
+	public String getSnapshotFile() {
+		return snapshotFile;
+	}
+
+	// Where initialize keeps a compiled copy of the grid and adjacency lists, or null to always parse the config files
+	public void setSnapshotFile(String snapshotFile) {
+		this.snapshotFile = snapshotFile;
+	}
+
+	public int getParallelLoadCells() {
+		return parallelLoadCells;
+	}
+
+	// Boards with fewer cells than this are loaded on the calling thread alone, so Integer.MAX_VALUE never splits the work
+	public void setParallelLoadCells(int parallelLoadCells) {
+		this.parallelLoadCells = parallelLoadCells;
+	}
+
+	public boolean isLoadedFromSnapshot() {
+		return isLoadedFromSnapshot;
+	}
+
 	public Set<BoardCell> getAdjList(int row, int col) {
 		return getCell(row, col).getAdjList();
 	}
 
 	public void calcTargets(BoardCell startCell, int pathLength) {
-		visited = new HashSet<>();
-		targets = new HashSet<>();
-		findAllTargets(startCell, pathLength);
-		if (players.get(ClueGame.getInstance().getPlayerTurnIndex()).isDragged() && startCell.isRoomCenter()) {
-			targets.add(startCell);
+		calcTargets(startCell, pathLength, false);
+	}
+
+	public void calcTargets(BoardCell startCell, int pathLength, boolean isDragged) {
+		// Which cells can block a roll of 0 or less is not worth working out, so those are never cached
+		boolean isCached = targetCache != null && pathLength > 0;
+		if (isCached) {
+			Set<BoardCell> cachedTargets = targetCache.get(startCell, pathLength, isDragged);
+			if (cachedTargets != null) {
+				targets = cachedTargets;
+				return;
+			}
 		}
-		if (targets.isEmpty()) {
-			targets.add(startCell);
+
+		// Very long rolls go to TargetSearch, whose path is not kept on the call stack
+		boolean isSearchable = grid != null && pathLength > 0 && pathLength <= BitboardTargets.MAX_PATH_LENGTH;
+		boolean isPatched = targetAlgorithm == TargetAlgorithm.PATCHED;
+		if (isPatched && patchedTargets != null && pathLength > 0 && pathLength <= PatchedTargets.MAX_PATH_LENGTH) {
+			targets = patchedTargets.calcTargets(startCell, pathLength);
+			TargetSearch.addStartCellRules(targets, startCell, isDragged);
+		} else if ((targetAlgorithm == TargetAlgorithm.BITBOARD || isPatched) && bitboardTargets != null && isSearchable) {
+			targets = bitboardTargets.calcTargets(startCell, pathLength);
+			TargetSearch.addStartCellRules(targets, startCell, isDragged);
+		} else if (targetAlgorithm == TargetAlgorithm.CORRIDOR && isSearchable) {
+			targets = getCorridorGraph().calcTargets(startCell, pathLength);
+			TargetSearch.addStartCellRules(targets, startCell, isDragged);
+		} else if (TargetSearch.isWorthSplitting(grid, startCell, pathLength, FORK_JOIN_POOL)) {
+			targets = TargetSearch.searchInParallel(this, startCell, pathLength, isDragged, FORK_JOIN_POOL);
+		} else {
+			TargetSearch search = new TargetSearch(this, startCell, pathLength, isDragged);
+			search.search(Long.MAX_VALUE);
+			targets = search.getTargets();
+		}
+
+		if (isCached) {
+			targets = targetCache.put(startCell, pathLength, isDragged, targets);
+		} else {
+			targets = Collections.unmodifiableSet(targets);
 		}
 	}
 
-	private void findAllTargets(BoardCell startCell, int pathLength) {
-		visited.add(startCell);
+	// A search for the targets of a roll that interactive code can run a little at a time, give up on, or cancel,
+	// instead of calling calcTargets and waiting however long it takes. Its results are not cached.
+	public TargetSearch newTargetSearch(BoardCell startCell, int pathLength, boolean isDragged) {
+		return new TargetSearch(this, startCell, pathLength, isDragged);
+	}
 
-		for (BoardCell adjCell : startCell.getAdjList()) {
-			if (visited.contains(adjCell)) {
-				continue;
-			}
+	// The targets of a roll one at a time as they are found, room centers first. Its results are not cached and it
+	// searches with neither the cache nor the default algorithm, so it only pays off for code sure to stop before it
+	// has seen them all, like TargetStream.top with a score some target is known to reach. Anything that may read
+	// every target should use calcTargets.
+	public TargetStream streamTargets(BoardCell startCell, int pathLength, boolean isDragged) {
+		return new TargetStream(this, startCell, pathLength, isDragged);
+	}
 
-			visited.add(adjCell);
+	// The targets of a roll with one shortest path to each, for showing or weighing the way there. Like
+	// newTargetSearch, its results are not cached.
+	public TargetPaths calcTargetPaths(BoardCell startCell, int pathLength, boolean isDragged) {
+		return calcTargetPaths(startCell, pathLength, isDragged, 1);
+	}
 
-			if (!adjCell.isOccupied()) {
-				if (pathLength == 1 || adjCell.isRoomCenter()) {
-					targets.add(adjCell);
-				} else {
-					if (adjCell.isRoom()) {
-						targets.add(adjCell);
-					}
+	// The same, keeping up to maxPathsPerTarget shortest paths to each target
+	public TargetPaths calcTargetPaths(BoardCell startCell, int pathLength, boolean isDragged, int maxPathsPerTarget) {
+		return new TargetPaths(this, startCell, pathLength, isDragged, maxPathsPerTarget);
+	}
 
-					findAllTargets(adjCell, pathLength - 1);
-				}
-			} else if (adjCell.isRoomCenter()) {
-				targets.add(adjCell);
-			}
+	// The targets of every roll up to maxRoll from every cell a turn can start on, with the board as it is now
+	public TargetTable calcTargetTable(int maxRoll) {
+		return new TargetTable(this, maxRoll, FORK_JOIN_POOL);
+	}
 
-			visited.remove(adjCell);
+	// The targets of the last calcTargets, always unmodifiable, since a cached set is shared by every query it answers
+	public Set<BoardCell> getTargets() {
+		return targets;
+	}
+
+	public TargetAlgorithm getTargetAlgorithm() {
+		return targetAlgorithm;
+	}
+
+	public void setTargetAlgorithm(TargetAlgorithm targetAlgorithm) {
+		this.targetAlgorithm = targetAlgorithm;
+		// Otherwise the new algorithm would just be handed the old one's targets
+		if (targetCache != null) {
+			targetCache.clear();
+		}
+	}
+
+	public CorridorGraph getCorridorGraph() {
+		if (corridorGraph == null && grid != null) {
+			corridorGraph = new CorridorGraph(this);
 		}
+		return corridorGraph;
+	}
 
-		visited.remove(startCell);
+	public TargetCache getTargetCache() {
+		return targetCache;
 	}
 
-	public Set<BoardCell> getTargets() {
-		return targets;
+	public PatchedTargets getPatchedTargets() {
+		return patchedTargets;
+	}
+
+	public int getPatchedTargetsCapacity() {
+		return patchedTargetsCapacity;
+	}
+
+	public void setPatchedTargetsCapacity(int patchedTargetsCapacity) {
+		this.patchedTargetsCapacity = patchedTargetsCapacity;
+		createPatchedTargets();
+	}
+
+	public int getTargetCacheCapacity() {
+		return targetCacheCapacity;
+	}
+
+	public void setTargetCacheCapacity(int targetCacheCapacity) {
+		this.targetCacheCapacity = targetCacheCapacity;
+		createTargetCache();
+	}
+
+	long[] getOccupiedCells() {
+		return grid.getOccupiedCells();
+	}
+
+	void occupancyChanged(int id, boolean isOccupied) {
+		// Rooms hold any number of players, so only walkways can block a path
+		if (targetCache != null && grid.hasFlag(id, BoardGrid.WALKWAY)) {
+			targetCache.walkwayOccupancyChanged(id, isOccupied);
+		}
+		if (corridorGraph != null) {
+			corridorGraph.occupancyChanged(id, isOccupied);
+		}
 	}
 
 	public List<Player> getPlayers() {
@@ -467,6 +798,14 @@ public class Board {
 		return humanPlayer;
 	}
 
+	public boolean hasHumanPlayer() {
+		return hasHumanPlayer;
+	}
+
+	public void setHasHumanPlayer(boolean hasHumanPlayer) {
+		this.hasHumanPlayer = hasHumanPlayer;
+	}
+
 	public List<Card> getNonAnswerCards() {
 		return nonAnswerCards;
 	}
@@ -475,23 +814,72 @@ public class Board {
 		return theAnswer;
 	}
 
+	public PackedSolution getPackedAnswer() {
+		return packedAnswer;
+	}
+
 	public void setTheAnswer(Solution theAnswer) {
 		this.theAnswer = theAnswer;
+		this.packedAnswer = PackedSolution.of(cardRegistry, theAnswer);
+	}
+
+	public CardRegistry getCardRegistry() {
+		return cardRegistry;
 	}
 
 	public List<Card> getTotalDeck() {
 		List<Card> deck = new ArrayList<>(nonAnswerCards);
-		deck.addAll(theAnswer.getCardSet());
+		for (int index = 0; index < PackedSolution.NUM_CARDS; index++) {
+			deck.add(theAnswer.getCard(index));
+		}
 		return deck;
 	}
 	
 	public Player getPlayerFromCard(Card card) {
 		if (card.getType() != CardType.PERSON) return null;
 		for (Player player : players) {
-			if (card.getName() == player.getName()) {
+			if (card.getName().equals(player.getName())) {
 				return player;
 			}
 		}
 		return null;
 	}
+
+	// What parsing one band of layout rows found besides the cells themselves
+	private static final class LayoutBand {
+		// Label and center cells in row order, linked to their rooms once every band is done
+		private int[] roomCellIds = new int[4];
+		private int numRoomCellIds;
+		private Exception error;
+
+		private void addRoomCell(int id) {
+			if (numRoomCellIds == roomCellIds.length) {
+				roomCellIds = Arrays.copyOf(roomCellIds, numRoomCellIds * 2);
+			}
+			roomCellIds[numRoomCellIds++] = id;
+		}
+	}
+
+	// The adjacencies found in one band of rows. Pairs from a cell outside the band, like the room center a doorway
+	// in the band leads into, are kept apart and given to the band that cell is in once every band is done.
+	private static final class AdjacencyBand {
+		private final int startId;
+		private final int endId;
+		private final BoardGrid.AdjacencyPairs pairs = new BoardGrid.AdjacencyPairs();
+		private final BoardGrid.AdjacencyPairs otherBandPairs = new BoardGrid.AdjacencyPairs();
+
+		private AdjacencyBand(int startId, int endId) {
+			super();
+			this.startId = startId;
+			this.endId = endId;
+		}
+
+		private void add(int fromId, int toId) {
+			if (fromId >= startId && fromId < endId) {
+				pairs.add(fromId, toId);
+			} else {
+				otherBandPairs.add(fromId, toId);
+			}
+		}
+	}
 }
\ No newline at end of file
@@ -1,13 +1,13 @@
 /*
  * Class: BoardCell
  *
- * Purpose: The BoardCell class represents a single cell on the game board. It contains information about the cell's
+ * Purpose: The BoardCell class represents a single cell on the game board. It is a view of one cell id of a BoardGrid, which holds the cell's information.
  *
- * Responsibilities: The BoardCell class is responsible for storing information about a single cell on the game board, including its row and column, the initial of the room it is in, whether it is a doorway, the direction of the doorway, whether it is a room label, whether it is a room center, the secret passage in the room, and the cells adjacent to it. It is also responsible for providing access to this information.
+ * Responsibilities: The BoardCell class is responsible for providing access to the information about a single cell on the game board, including its row and column, the initial of the room it is in, whether it is a doorway, the direction of the doorway, whether it is a room label, whether it is a room center, the secret passage in the room, and the cells adjacent to it. It is also responsible for drawing the cell. There is only ever one BoardCell for each cell id, so cells can still be compared and hashed by identity.
  *
  * Authors: Aragorn Wang, Anya Streit
  * 
- * Date Last Edited: April 14, 2025
+ * Date Last Edited: October 18, 2026
  * 
  * Collaborators: None
  * 
@@ -20,39 +20,27 @@ import java.awt.AlphaComposite;
 import java.awt.Composite;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.util.HashSet;
 import java.util.Set;
 
 public class BoardCell {
 	private final static float CELL_FILL_OPACITY = 0.7f;
 
+	private final BoardGrid grid;
+
+	private final int id;
 	private final int row;
 	private final int col;
 
-	private final char initial;
-
-	private boolean
-		isRoomLabel,
-		isRoomCenter,
-		isWalkway,
-		isRoom,
-		isOccupied;
-	
-	private char secretPassage;
-
-	private DoorDirection doorDirection;
-
-	private final Set<BoardCell> adjList;
-
-	public BoardCell(int row, int col, char initial) throws BadConfigFormatException {
+	BoardCell(BoardGrid grid, int id, int row, int col) {
 		super();
+		this.grid = grid;
+		this.id = id;
 		this.row = row;
 		this.col = col;
-		this.initial = initial;
-		this.adjList = new HashSet<>();
 	}
 
-	public void draw(Graphics graphics, int width, int height) {
+	// Targets are only highlighted while the human player is choosing one, which the caller decides
+	public void draw(Graphics graphics, int width, int height, boolean isTarget) {
 		int pixelCol = col * width;
 		int pixelRow = row * height;
 
@@ -60,18 +48,16 @@ public class BoardCell {
 		Composite oldComp = g2.getComposite();
 		g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, CELL_FILL_OPACITY));
 
-		if (isRoom) {
-			if (!ClueGame.getInstance().getHumanTurnFinished()
-			&& Board.getInstance().getTargets().contains(this)) {
+		if (isRoom()) {
+			if (isTarget) {
 				g2.setColor(BoardPanel.TARGET_COLOR);
 			} else {
 				g2.setColor(BoardPanel.ROOM_COLOR);
 			}
 			g2.fillRect(pixelCol, pixelRow, width, height);
 
-		} else if (isWalkway) {
-			if (!ClueGame.getInstance().getHumanTurnFinished()
-			&& Board.getInstance().getTargets().contains(this)) {
+		} else if (isWalkway()) {
+			if (isTarget) {
 				g2.setColor(BoardPanel.TARGET_COLOR);
 			} else {
 				g2.setColor(BoardPanel.WALKWAY_COLOR);
@@ -82,13 +68,14 @@ public class BoardCell {
 		g2.setComposite(oldComp);
 		g2.dispose();
 
-		if (isWalkway) {
+		if (isWalkway()) {
 			graphics.setColor(BoardPanel.WALKWAY_CELL_BORDER_COLOR);
 			graphics.drawRect(pixelCol, pixelRow, width, height);
 		}
 	}
 
 	public void drawDoorway(Graphics graphics, int width, int height) {
+		DoorDirection doorDirection = getDoorDirection();
 		if (doorDirection == null) {
 			return;
 		}
@@ -118,6 +105,10 @@ public class BoardCell {
 		}
 	}
 
+	public int getId() {
+		return id;
+	}
+
 	public int getRow() {
 		return row;
 	}
@@ -127,78 +118,74 @@ public class BoardCell {
 	}
 
 	public char getInitial() {
-		return initial;
+		return grid.getInitial(id);
 	}
 
 	public boolean isDoorway() {
-		return doorDirection != null;
+		return grid.getDoorDirection(id) != null;
 	}
 
 	public boolean isRoomLabel() {
-		return isRoomLabel;
+		return grid.hasFlag(id, BoardGrid.ROOM_LABEL);
 	}
 
 	public void setIsRoomLabel(boolean isRoomLabel) {
-		this.isRoomLabel = isRoomLabel;
+		grid.setFlag(id, BoardGrid.ROOM_LABEL, isRoomLabel);
 	}
 
 	public boolean isRoomCenter() {
-		return isRoomCenter;
+		return grid.hasFlag(id, BoardGrid.ROOM_CENTER);
 	}
 
 	public void setIsRoomCenter(boolean isRoomCenter) {
-		this.isRoomCenter = isRoomCenter;
+		grid.setFlag(id, BoardGrid.ROOM_CENTER, isRoomCenter);
 	}
 
 	public boolean isWalkway() {
-		return isWalkway;
+		return grid.hasFlag(id, BoardGrid.WALKWAY);
 	}
 
 	public void setIsWalkway(boolean isWalkway) {
-		this.isWalkway = isWalkway;
+		grid.setFlag(id, BoardGrid.WALKWAY, isWalkway);
 	}
 
 	public boolean isRoom() {
-		return isRoom;
+		return grid.hasFlag(id, BoardGrid.ROOM);
 	}
 
 	public void setIsRoom(boolean isRoom) {
-		this.isRoom = isRoom;
+		grid.setFlag(id, BoardGrid.ROOM, isRoom);
 	}
 
 	public boolean isOccupied() {
-		return isOccupied;
+		return grid.isOccupied(id);
 	}
 
 	public void setOccupied(boolean isOccupied) {
-		this.isOccupied = isOccupied;
+		grid.setOccupied(id, isOccupied);
 	}
 
 	public boolean isSecretPassage() {
-		return secretPassage != 0;
+		return grid.getSecretPassage(id) != 0;
 	}
 
 	public char getSecretPassage() {
-		return secretPassage;
+		return grid.getSecretPassage(id);
 	}
 
 	public void setSecretPassage(char secretPassage) {
-		this.secretPassage = secretPassage;
+		grid.setSecretPassage(id, secretPassage);
 	}
 
 	public DoorDirection getDoorDirection() {
-		return doorDirection;
+		return grid.getDoorDirection(id);
 	}
 
 	public void setDoorDirection(DoorDirection doorDirection) {
-		this.doorDirection = doorDirection;
-	}
-
-	public void addAdj(BoardCell cell) {
-		adjList.add(cell);
+		grid.setDoorDirection(id, doorDirection);
 	}
 
 	public Set<BoardCell> getAdjList() {
-		return adjList;
+		return grid.getAdjList(id);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,342 @@
+/*
+ * Class: BoardGrid
+ *
+ * Purpose: The BoardGrid class stores every cell of the game board in flat primitive arrays indexed by cell id, which is row * numCols + col, instead of keeping a separate object for each cell.
+ *
+ * Responsibilities: The BoardGrid class is responsible for storing the initial, flags, door direction, secret passage, occupancy, and adjacency of each cell, and for handing out the one BoardCell view of each cell id. Scans over the whole board, like calculating adjacency lists and painting, read the arrays in order and never allocate. Adjacency is kept in compressed sparse row form: the neighbors of cell id are adjNeighbors[adjOffsets[id]] up to adjNeighbors[adjOffsets[id + 1]], sorted by id, so movement code walks plain int arrays instead of a HashSet per cell. Each band of rows builds its own slice of the arrays, at the same time as the other bands on large boards, and the slices are then joined end to end.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package clueGame;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+public final class BoardGrid {
+	static final byte
+		WALKWAY = 1,
+		ROOM = 1 << 1,
+		ROOM_LABEL = 1 << 2,
+		ROOM_CENTER = 1 << 3;
+
+	private static final DoorDirection[] DOOR_DIRECTIONS = DoorDirection.values();
+
+	// Told about every change in occupancy, if there is one
+	private final Board board;
+
+	private final int numRows;
+	private final int numCols;
+
+	private final char[] initials;
+	private final byte[] flags;
+	// DoorDirection ordinal + 1, so that 0 means the cell is not a doorway
+	private final byte[] doorDirections;
+	// Initial of the room a secret passage leads to, 0 if there is none
+	private final char[] secretPassages;
+	// Bit id is set when that cell is occupied
+	private final long[] occupied;
+
+	private int[] adjOffsets;
+	private int[] adjNeighbors;
+	// Average number of neighbors of the cells that have any, which is how bushy a path search from here gets
+	private double meanNumAdj;
+
+	private final BoardCell[] cells;
+
+	public BoardGrid(Board board, int numRows, int numCols) {
+		super();
+		this.board = board;
+		this.numRows = numRows;
+		this.numCols = numCols;
+
+		int numCells = numRows * numCols;
+		initials = new char[numCells];
+		flags = new byte[numCells];
+		doorDirections = new byte[numCells];
+		secretPassages = new char[numCells];
+		occupied = Bitboards.create(numCells);
+		adjOffsets = new int[numCells + 1];
+		adjNeighbors = new int[0];
+		cells = new BoardCell[numCells];
+		for (int id = 0; id < numCells; id++) {
+			cells[id] = new BoardCell(this, id, id / numCols, id % numCols);
+		}
+	}
+
+	public int getNumRows() {
+		return numRows;
+	}
+
+	public int getNumColumns() {
+		return numCols;
+	}
+
+	public int getNumCells() {
+		return cells.length;
+	}
+
+	public int getId(int row, int col) {
+		return row * numCols + col;
+	}
+
+	public BoardCell getCell(int id) {
+		return cells[id];
+	}
+
+	public BoardCell getCell(int row, int col) {
+		if (row < 0 || row >= numRows || col < 0 || col >= numCols) {
+			throw new IndexOutOfBoundsException("Cell (" + row + ", " + col + ") is not on the board.");
+		}
+		return cells[row * numCols + col];
+	}
+
+	public char getInitial(int id) {
+		return initials[id];
+	}
+
+	void setInitial(int id, char initial) {
+		initials[id] = initial;
+	}
+
+	boolean hasFlag(int id, byte flag) {
+		return (flags[id] & flag) != 0;
+	}
+
+	void setFlag(int id, byte flag, boolean value) {
+		flags[id] = (byte) (value ? flags[id] | flag : flags[id] & ~flag);
+	}
+
+	public DoorDirection getDoorDirection(int id) {
+		return doorDirections[id] == 0 ? null : DOOR_DIRECTIONS[doorDirections[id] - 1];
+	}
+
+	void setDoorDirection(int id, DoorDirection doorDirection) {
+		doorDirections[id] = (byte) (doorDirection == null ? 0 : doorDirection.ordinal() + 1);
+	}
+
+	public char getSecretPassage(int id) {
+		return secretPassages[id];
+	}
+
+	void setSecretPassage(int id, char secretPassage) {
+		secretPassages[id] = secretPassage;
+	}
+
+	public boolean isOccupied(int id) {
+		return Bitboards.get(occupied, id);
+	}
+
+	void setOccupied(int id, boolean isOccupied) {
+		Bitboards.set(occupied, id, isOccupied);
+		if (board != null) {
+			board.occupancyChanged(id, isOccupied);
+		}
+	}
+
+	long[] getOccupiedCells() {
+		return occupied;
+	}
+
+	// The cell arrays themselves, so a BoardSnapshot can save and restore them in bulk
+	char[] getInitials() {
+		return initials;
+	}
+
+	byte[] getFlags() {
+		return flags;
+	}
+
+	byte[] getDoorDirections() {
+		return doorDirections;
+	}
+
+	char[] getSecretPassages() {
+		return secretPassages;
+	}
+
+	int[] getAdjOffsets() {
+		return adjOffsets;
+	}
+
+	int[] getAdjNeighbors() {
+		return adjNeighbors;
+	}
+
+	public double getMeanNumAdj() {
+		return meanNumAdj;
+	}
+
+	public int getNumAdj(int id) {
+		return adjOffsets[id + 1] - adjOffsets[id];
+	}
+
+	// Read-only view of one cell's slice of the adjacency arrays, for code that still wants a set of cells
+	public Set<BoardCell> getAdjList(int id) {
+		return new AdjacencyView(id);
+	}
+
+	// Replaces the adjacency arrays with the pairs of every band, dropping any duplicates. Band b holds the pairs
+	// starting at the cells from bandStartIds[b] up to bandStartIds[b + 1], and its slice of the arrays is built on its own.
+	void buildAdjacency(int[] bandStartIds, AdjacencyPairs[] bandPairs, ForkJoinPool pool) {
+		int numBands = bandPairs.length;
+		if (numBands == 1) {
+			int[][] csr = buildSlice(0, cells.length, bandPairs[0]);
+			setAdjacency(csr[0], csr[1]);
+			return;
+		}
+
+		int[][] bandOffsets = new int[numBands][];
+		int[][] bandNeighbors = new int[numBands][];
+		ParallelBands.forEach(pool, numBands, band -> {
+			int[][] csr = buildSlice(bandStartIds[band], bandStartIds[band + 1], bandPairs[band]);
+			bandOffsets[band] = csr[0];
+			bandNeighbors[band] = csr[1];
+		});
+
+		int[] bandFirstNeighbors = new int[numBands + 1];
+		for (int band = 0; band < numBands; band++) {
+			bandFirstNeighbors[band + 1] = bandFirstNeighbors[band] + bandNeighbors[band].length;
+		}
+		int[] offsets = new int[cells.length + 1];
+		int[] neighbors = new int[bandFirstNeighbors[numBands]];
+		ParallelBands.forEach(pool, numBands, band -> {
+			int startId = bandStartIds[band];
+			for (int localId = 0; localId < bandOffsets[band].length - 1; localId++) {
+				offsets[startId + localId] = bandFirstNeighbors[band] + bandOffsets[band][localId];
+			}
+			System.arraycopy(bandNeighbors[band], 0, neighbors, bandFirstNeighbors[band], bandNeighbors[band].length);
+		});
+		offsets[cells.length] = neighbors.length;
+		setAdjacency(offsets, neighbors);
+	}
+
+	// Offsets, counted from the slice's first neighbor, and neighbors of the cells from startId up to endId
+	private static int[][] buildSlice(int startId, int endId, AdjacencyPairs pairs) {
+		int numSliceCells = endId - startId;
+		int[] offsets = new int[numSliceCells + 1];
+		for (int pairPos = 0; pairPos < pairs.size(); pairPos++) {
+			offsets[pairs.getFromId(pairPos) - startId + 1]++;
+		}
+		for (int localId = 0; localId < numSliceCells; localId++) {
+			offsets[localId + 1] += offsets[localId];
+		}
+
+		int[] neighbors = new int[pairs.size()];
+		int[] nextPos = Arrays.copyOf(offsets, numSliceCells);
+		for (int pairPos = 0; pairPos < pairs.size(); pairPos++) {
+			neighbors[nextPos[pairs.getFromId(pairPos) - startId]++] = pairs.getToId(pairPos);
+		}
+
+		// Sort each cell's part and squeeze out repeats, such as two secret passages between the same rooms
+		int numNeighbors = 0;
+		for (int localId = 0; localId < numSliceCells; localId++) {
+			int fromPos = offsets[localId];
+			int toPos = offsets[localId + 1];
+			Arrays.sort(neighbors, fromPos, toPos);
+			offsets[localId] = numNeighbors;
+			for (int pos = fromPos; pos < toPos; pos++) {
+				if (pos == fromPos || neighbors[pos] != neighbors[pos - 1]) {
+					neighbors[numNeighbors++] = neighbors[pos];
+				}
+			}
+		}
+		offsets[numSliceCells] = numNeighbors;
+
+		return new int[][] {offsets, numNeighbors == neighbors.length ? neighbors : Arrays.copyOf(neighbors, numNeighbors)};
+	}
+
+	// Takes adjacency arrays already in the form buildAdjacency leaves them in, such as ones saved in a BoardSnapshot
+	void setAdjacency(int[] offsets, int[] neighbors) {
+		adjOffsets = offsets;
+		adjNeighbors = neighbors;
+
+		int numConnectedCells = 0;
+		for (int id = 0; id < cells.length; id++) {
+			if (offsets[id + 1] > offsets[id]) {
+				numConnectedCells++;
+			}
+		}
+		meanNumAdj = numConnectedCells == 0 ? 0 : (double) neighbors.length / numConnectedCells;
+	}
+
+	// A growable list of adjacencies as pairs of cell ids, from the first cell of the pair to the second
+	static final class AdjacencyPairs {
+		private int[] pairs = new int[16];
+		private int size;
+
+		void add(int fromId, int toId) {
+			if (size * 2 == pairs.length) {
+				pairs = Arrays.copyOf(pairs, pairs.length * 2);
+			}
+			pairs[size * 2] = fromId;
+			pairs[size * 2 + 1] = toId;
+			size++;
+		}
+
+		int size() {
+			return size;
+		}
+
+		int getFromId(int pairPos) {
+			return pairs[pairPos * 2];
+		}
+
+		int getToId(int pairPos) {
+			return pairs[pairPos * 2 + 1];
+		}
+	}
+
+	private final class AdjacencyView extends AbstractSet<BoardCell> {
+		private final int id;
+
+		private AdjacencyView(int id) {
+			super();
+			this.id = id;
+		}
+
+		@Override
+		public int size() {
+			return getNumAdj(id);
+		}
+
+		@Override
+		public boolean contains(Object obj) {
+			// Cells of another board are never adjacent, even if their ids match
+			if (!(obj instanceof BoardCell cell) || cell.getId() >= cells.length || cell != cells[cell.getId()]) {
+				return false;
+			}
+			return Arrays.binarySearch(adjNeighbors, adjOffsets[id], adjOffsets[id + 1], cell.getId()) >= 0;
+		}
+
+		@Override
+		public Iterator<BoardCell> iterator() {
+			return new Iterator<>() {
+				private int pos = adjOffsets[id];
+
+				@Override
+				public boolean hasNext() {
+					return pos < adjOffsets[id + 1];
+				}
+
+				@Override
+				public BoardCell next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					return cells[adjNeighbors[pos++]];
+				}
+			};
+		}
+	}
+}
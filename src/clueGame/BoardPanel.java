@@ -3,11 +3,11 @@
  *
  * Purpose: The BoardPanel class is a JPanel that represents the game board in the Clue game.
  *
- * Responsibilities: The BoardPanel class is responsible for displaying the game board and handling user interactions with the board.
+ * Responsibilities: The BoardPanel class is responsible for displaying the game board and handling user interactions with the board. The background, cells, doorways, and room labels never change during a game, so they are drawn once per panel size into an image, along with a second copy where every cell is highlighted as a target. Each repaint only copies the static image, copies the highlighted cells of the targets over it, and draws the players. The panel remembers which cells it drew highlighted and where it drew each player, so a refresh after a move or a new turn repaints only the cells that look different, and a repaint only touches the cells inside its clip. The background image is loaded and scaled to the panel's size off the event thread by a BackgroundImageCache, which the panel starts when it becomes displayable and closes when it stops being displayable; until the smooth copy for a new size is ready the static layer is drawn with a quickly scaled one, and it is drawn again once the smooth copy arrives.
  *
  * Authors: Aragorn Wang, Anya Streit
  * 
- * Date Last Edited: April 14, 2025
+ * Date Last Edited: October 18, 2026
  * 
  * Collaborators: None
  * 
@@ -20,12 +20,18 @@ import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Toolkit;
+import java.awt.Transparency;
 import java.awt.image.BufferedImage;
 import java.io.File;
-import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 
-import javax.imageio.ImageIO;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 
 public class BoardPanel extends JPanel {
 	public static final Color
@@ -44,53 +50,216 @@ public class BoardPanel extends JPanel {
 
 	private static final float BACKGROUND_IMAGE_OPACITY = 1.0f;
 
-	private BufferedImage backgroundImage;
+	// Past this many changed cells a refresh repaints the whole board, since painting cell by cell would cost more
+	private static final int MAX_DIRTY_CELLS = 64;
 
-	public BoardPanel() {
+	private final ClueGame game;
+
+	// Only there while the panel is displayable, so that its thread goes away with the window
+	private transient BackgroundImageCache backgroundCache;
+
+	// The board as drawn with no targets, and as drawn with every cell a target, for the grid and size they were drawn at
+	private transient BufferedImage staticLayer;
+	private transient BufferedImage targetLayer;
+	private transient BoardGrid staticLayerGrid;
+
+	// Cells drawn highlighted as targets, and the cell id each player was drawn on, as of the last refresh of shownGrid
+	private long[] highlightedCells;
+	private int[] playerCellIds;
+	private transient BoardGrid shownGrid;
+
+	public BoardPanel(ClueGame game) {
 		super();
+		this.game = game;
+	}
 
-		try {
-			backgroundImage = ImageIO.read(new File("data/BoardBackground.png"));
-		} catch (IOException exception) {
-			System.err.println("Error loading background image: " + exception.getMessage());
-			backgroundImage = null;
-		}
+	@Override
+	public void addNotify() {
+		super.addNotify();
+		backgroundCache = new BackgroundImageCache(new File("data/BoardBackground.png"), () -> {
+			invalidateStaticLayer();
+			repaint();
+		});
+	}
+
+	@Override
+	public void removeNotify() {
+		backgroundCache.close();
+		backgroundCache = null;
+		invalidateStaticLayer();
+		super.removeNotify();
 	}
 
 	@Override
 	public void paintComponent(Graphics graphics) {
 		super.paintComponent(graphics);
 
-		if (backgroundImage != null) {
-			Graphics2D g2d = (Graphics2D) graphics.create();
-			g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, BACKGROUND_IMAGE_OPACITY));
-			g2d.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), null);
-			g2d.dispose();
+		if (getWidth() <= 0 || getHeight() <= 0) {
+			return;
 		}
+		Board board = game.getBoard();
+		BoardGrid grid = board.getGrid();
+		int cellWidth = getWidth() / grid.getNumColumns();
+		int cellHeight = getHeight() / grid.getNumRows();
 
-		int cellWidth = getWidth() / Board.getInstance().getNumColumns();
-		int cellHeight = getHeight() / Board.getInstance().getNumRows();
+		if (staticLayer == null || staticLayerGrid != grid
+			|| staticLayer.getWidth() != getWidth() || staticLayer.getHeight() != getHeight()) {
+			staticLayer = drawStaticLayer(board, cellWidth, cellHeight, false);
+			targetLayer = drawStaticLayer(board, cellWidth, cellHeight, true);
+			staticLayerGrid = grid;
+		}
+		if (shownGrid != grid) {
+			updateShownState();
+		}
+		graphics.drawImage(staticLayer, 0, 0, null);
 
-		for (int row = 0; row < Board.getInstance().getNumRows(); row++) {
-			for (int col = 0; col < Board.getInstance().getNumColumns(); col++) {
-				BoardCell cell = Board.getInstance().getCell(row, col);
-				cell.draw(graphics, cellWidth, cellHeight);
+		// Only the cells inside the clip need their highlight, which is all of them for a full repaint
+		Rectangle clip = graphics.getClipBounds();
+		if (clip == null) {
+			clip = new Rectangle(0, 0, getWidth(), getHeight());
+		}
+		int firstRow = Math.max(0, clip.y / cellHeight);
+		int lastRow = Math.min(grid.getNumRows() - 1, (clip.y + clip.height - 1) / cellHeight);
+		int firstCol = Math.max(0, clip.x / cellWidth);
+		int lastCol = Math.min(grid.getNumColumns() - 1, (clip.x + clip.width - 1) / cellWidth);
+		for (int row = firstRow; row <= lastRow; row++) {
+			for (int col = firstCol; col <= lastCol; col++) {
+				if (Bitboards.get(highlightedCells, grid.getId(row, col))) {
+					int pixelCol = col * cellWidth;
+					int pixelRow = row * cellHeight;
+					graphics.drawImage(targetLayer,
+						pixelCol, pixelRow, pixelCol + cellWidth, pixelRow + cellHeight,
+						pixelCol, pixelRow, pixelCol + cellWidth, pixelRow + cellHeight, null);
+				}
 			}
 		}
 
-		for (int row = 0; row < Board.getInstance().getNumRows(); row++) {
-			for (int col = 0; col < Board.getInstance().getNumColumns(); col++) {
-				BoardCell cell = Board.getInstance().getCell(row, col);
-				cell.drawDoorway(graphics, cellWidth, cellHeight);
+		for (Player player : board.getPlayers()) {
+			if (player.getRow() >= firstRow && player.getRow() <= lastRow && player.getColumn() >= firstCol && player.getColumn() <= lastCol) {
+				player.draw(graphics, cellWidth, cellHeight);
 			}
 		}
+	}
 
-		for (Room room : Board.getInstance().getRooms()) {
-			room.drawLabel(graphics, cellWidth, cellHeight);
+	// Repaints only the cells whose highlight or player changed since the last refresh, and is what the game calls instead of repaint
+	public void refresh() {
+		long[] dirtyCells = updateShownState();
+		if (dirtyCells == null || Bitboards.cardinality(dirtyCells) > MAX_DIRTY_CELLS || getWidth() <= 0 || getHeight() <= 0) {
+			repaint();
+			return;
 		}
+		repaintCells(dirtyCells, SwingUtilities.isEventDispatchThread() && isShowing());
+	}
 
-		for (Player player : Board.getInstance().getPlayers()) {
-			player.draw(graphics, cellWidth, cellHeight);
+	// Repaint requests of one component are merged into their bounding box, so on the event thread each cell is painted right away instead
+	private void repaintCells(long[] dirtyCells, boolean isImmediate) {
+		BoardGrid grid = shownGrid;
+		int cellWidth = getWidth() / grid.getNumColumns();
+		int cellHeight = getHeight() / grid.getNumRows();
+		for (int id = Bitboards.nextSetBit(dirtyCells, 0); id >= 0; id = Bitboards.nextSetBit(dirtyCells, id + 1)) {
+			BoardCell cell = grid.getCell(id);
+			if (isImmediate) {
+				paintImmediately(cell.getCol() * cellWidth, cell.getRow() * cellHeight, cellWidth, cellHeight);
+			} else {
+				repaint(cell.getCol() * cellWidth, cell.getRow() * cellHeight, cellWidth, cellHeight);
+			}
 		}
 	}
+
+	// Records the highlights and player cells the game wants shown now, and returns the cells that changed, or null if the grid did
+	private long[] updateShownState() {
+		Board board = game.getBoard();
+		BoardGrid grid = board.getGrid();
+		long[] newHighlightedCells = Bitboards.create(grid.getNumCells());
+		if (!game.getHumanTurnFinished()) {
+			for (BoardCell target : board.getTargets()) {
+				Bitboards.set(newHighlightedCells, target.getId());
+			}
+		}
+		List<Player> players = board.getPlayers();
+		int[] newPlayerCellIds = new int[players.size()];
+		for (int playerIdx = 0; playerIdx < players.size(); playerIdx++) {
+			newPlayerCellIds[playerIdx] = grid.getId(players.get(playerIdx).getRow(), players.get(playerIdx).getColumn());
+		}
+
+		long[] dirtyCells = null;
+		if (shownGrid == grid) {
+			dirtyCells = new long[newHighlightedCells.length];
+			for (int wordIdx = 0; wordIdx < dirtyCells.length; wordIdx++) {
+				dirtyCells[wordIdx] = newHighlightedCells[wordIdx] ^ highlightedCells[wordIdx];
+			}
+			for (int playerIdx = 0; playerIdx < newPlayerCellIds.length; playerIdx++) {
+				if (playerIdx >= playerCellIds.length) {
+					Bitboards.set(dirtyCells, newPlayerCellIds[playerIdx]);
+				} else if (playerCellIds[playerIdx] != newPlayerCellIds[playerIdx]) {
+					Bitboards.set(dirtyCells, playerCellIds[playerIdx]);
+					Bitboards.set(dirtyCells, newPlayerCellIds[playerIdx]);
+				}
+			}
+			for (int playerIdx = newPlayerCellIds.length; playerIdx < playerCellIds.length; playerIdx++) {
+				Bitboards.set(dirtyCells, playerCellIds[playerIdx]);
+			}
+		}
+
+		highlightedCells = newHighlightedCells;
+		playerCellIds = newPlayerCellIds;
+		shownGrid = grid;
+		return dirtyCells;
+	}
+
+	// Makes the next repaint draw the static layer again, for changes to the board that do not change its grid or size
+	public void invalidateStaticLayer() {
+		staticLayer = null;
+		targetLayer = null;
+	}
+
+	private BufferedImage drawStaticLayer(Board board, int cellWidth, int cellHeight, boolean isEveryCellTarget) {
+		GraphicsConfiguration graphicsConfig = getGraphicsConfiguration();
+		BufferedImage layer = graphicsConfig != null
+			? graphicsConfig.createCompatibleImage(getWidth(), getHeight(), Transparency.OPAQUE)
+			: new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_INT_RGB);
+
+		Graphics2D graphics = layer.createGraphics();
+		graphics.setColor(getBackground());
+		graphics.fillRect(0, 0, getWidth(), getHeight());
+		// Labels should look the same as when they were drawn straight onto the panel
+		graphics.setFont(getFont());
+		if (Toolkit.getDefaultToolkit().getDesktopProperty("awt.font.desktophints") instanceof Map<?, ?> desktopHints) {
+			graphics.addRenderingHints(desktopHints);
+		} else {
+			graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+		}
+
+		BufferedImage backgroundImage = backgroundCache != null ? backgroundCache.getScaledImage(getWidth(), getHeight()) : null;
+		BufferedImage sourceImage = backgroundCache != null ? backgroundCache.getSourceImage() : null;
+		if (backgroundImage != null || sourceImage != null) {
+			Graphics2D g2d = (Graphics2D) graphics.create();
+			g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, BACKGROUND_IMAGE_OPACITY));
+			if (backgroundImage != null) {
+				g2d.drawImage(backgroundImage, 0, 0, null);
+			} else {
+				// Stands in until the smooth copy is scaled, after which this layer is drawn again
+				g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+				g2d.drawImage(sourceImage, 0, 0, getWidth(), getHeight(), null);
+			}
+			g2d.dispose();
+		}
+
+		// Cell ids run row by row, the same order the cells used to be drawn in
+		BoardGrid grid = board.getGrid();
+		for (int id = 0; id < grid.getNumCells(); id++) {
+			grid.getCell(id).draw(graphics, cellWidth, cellHeight, isEveryCellTarget);
+		}
+
+		for (int id = 0; id < grid.getNumCells(); id++) {
+			grid.getCell(id).drawDoorway(graphics, cellWidth, cellHeight);
+		}
+
+		for (Room room : board.getRooms()) {
+			room.drawLabel(graphics, cellWidth, cellHeight);
+		}
+
+		graphics.dispose();
+		return layer;
+	}
 }
\ No newline at end of file
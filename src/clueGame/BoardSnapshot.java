@@ -0,0 +1,155 @@
+/*
+ * Class: BoardSnapshot
+ *
+ * Purpose: The BoardSnapshot class saves a loaded board's grid and adjacency to one binary file and loads them back, so that boards made again and again from the same config files, as simulations do, only parse the layout and calculate adjacency lists once.
+ *
+ * Responsibilities: The BoardSnapshot class is responsible for writing the cell arrays and compressed sparse row adjacency of a BoardGrid, along with the size, modification time, and SHA-256 hash of the layout and setup files they were made from, and for reading them back straight into a new BoardGrid from a mapped buffer. A snapshot is only used while it matches both config files: one whose size differs is stale, one whose modification time matches is fresh, and one whose time differs is fresh only if the file's hash still matches, so copying or touching a config file does not force a rebuild. Snapshots are written to a temporary file and moved into place, so a game starting while another is saving never sees half a file.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package clueGame;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+final class BoardSnapshot {
+	// Goes up whenever the file format, or how the layout is turned into a grid and adjacency lists, changes
+	static final int FORMAT_VERSION = 1;
+
+	// "CLUE"
+	private static final int MAGIC = 0x434C5545;
+
+	private static final String HASH_ALGORITHM = "SHA-256";
+	private static final int HASH_BYTES = 32;
+
+	private BoardSnapshot() {
+		super();
+	}
+
+	// The saved grid, or null if there is no snapshot or it no longer matches the config files
+	static BoardGrid read(Board board, File snapshotFile, File layoutFile, File setupFile) {
+		if (!snapshotFile.isFile()) {
+			return null;
+		}
+		try {
+			ByteBuffer buffer = ConfigReader.map(snapshotFile);
+			if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION || !isFresh(buffer, layoutFile) || !isFresh(buffer, setupFile)) {
+				return null;
+			}
+
+			int numRows = buffer.getInt();
+			int numCols = buffer.getInt();
+			if (numRows < 0 || numCols < 0 || (long) numRows * numCols > buffer.remaining()) {
+				return null;
+			}
+			BoardGrid grid = new BoardGrid(board, numRows, numCols);
+			getChars(buffer, grid.getInitials());
+			buffer.get(grid.getFlags());
+			buffer.get(grid.getDoorDirections());
+			getChars(buffer, grid.getSecretPassages());
+
+			int[] offsets = new int[grid.getNumCells() + 1];
+			getInts(buffer, offsets);
+			int numNeighbors = offsets[grid.getNumCells()];
+			if (numNeighbors < 0 || numNeighbors > buffer.remaining() / Integer.BYTES) {
+				return null;
+			}
+			int[] neighbors = new int[numNeighbors];
+			getInts(buffer, neighbors);
+			grid.setAdjacency(offsets, neighbors);
+			return grid;
+		} catch (IOException | BufferUnderflowException exception) {
+			// A snapshot that cannot be read is rebuilt from the config files, the same as a stale one
+			return null;
+		}
+	}
+
+	static void write(BoardGrid grid, File snapshotFile, File layoutFile, File setupFile) throws IOException {
+		Path target = snapshotFile.getAbsoluteFile().toPath();
+		Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+		try {
+			try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+				output.writeInt(MAGIC);
+				output.writeInt(FORMAT_VERSION);
+				writeSource(output, layoutFile);
+				writeSource(output, setupFile);
+
+				output.writeInt(grid.getNumRows());
+				output.writeInt(grid.getNumColumns());
+				for (char initial : grid.getInitials()) {
+					output.writeChar(initial);
+				}
+				output.write(grid.getFlags());
+				output.write(grid.getDoorDirections());
+				for (char secretPassage : grid.getSecretPassages()) {
+					output.writeChar(secretPassage);
+				}
+				for (int offset : grid.getAdjOffsets()) {
+					output.writeInt(offset);
+				}
+				for (int neighbor : grid.getAdjNeighbors()) {
+					output.writeInt(neighbor);
+				}
+			}
+			Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temporary);
+		}
+	}
+
+	private static void writeSource(DataOutputStream output, File sourceFile) throws IOException {
+		output.writeLong(sourceFile.length());
+		output.writeLong(sourceFile.lastModified());
+		output.write(hash(sourceFile));
+	}
+
+	private static boolean isFresh(ByteBuffer buffer, File sourceFile) throws IOException {
+		long length = buffer.getLong();
+		long lastModified = buffer.getLong();
+		byte[] savedHash = new byte[HASH_BYTES];
+		buffer.get(savedHash);
+
+		if (!sourceFile.isFile() || sourceFile.length() != length) {
+			return false;
+		}
+		return sourceFile.lastModified() == lastModified || Arrays.equals(savedHash, hash(sourceFile));
+	}
+
+	private static byte[] hash(File sourceFile) throws IOException {
+		try {
+			MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+			digest.update(ConfigReader.map(sourceFile));
+			return digest.digest();
+		} catch (NoSuchAlgorithmException exception) {
+			// Every Java platform is required to have SHA-256
+			throw new IllegalStateException(exception);
+		}
+	}
+
+	private static void getChars(ByteBuffer buffer, char[] values) {
+		buffer.asCharBuffer().get(values);
+		buffer.position(buffer.position() + values.length * Character.BYTES);
+	}
+
+	private static void getInts(ByteBuffer buffer, int[] values) {
+		buffer.asIntBuffer().get(values);
+		buffer.position(buffer.position() + values.length * Integer.BYTES);
+	}
+}
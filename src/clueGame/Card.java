@@ -7,7 +7,7 @@
  *
  * Authors: Aragorn Wang, Anya Streit
  * 
- * Date Last Edited: April 5, 2025
+ * Date Last Edited: October 18, 2026
  * 
  * Collaborators: None
  * 
@@ -22,10 +22,18 @@ public class Card {
 	private String name;
 	private CardType type;
 
+	// Index in the game's CardRegistry, or -1 for a card made outside of one
+	private final int id;
+
 	public Card(String cardName, CardType type) {
+		this(cardName, type, -1);
+	}
+
+	Card(String cardName, CardType type, int id) {
 		super();
 		this.name = cardName;
 		this.type = type;
+		this.id = id;
 	}
 	
 	@Override
@@ -57,4 +65,8 @@ public class Card {
 	public CardType getType() {
 		return type;
 	}
+
+	public int getId() {
+		return id;
+	}
 }
\ No newline at end of file
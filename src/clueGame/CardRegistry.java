@@ -0,0 +1,104 @@
+/*
+ * Class: CardRegistry
+ *
+ * Purpose: The CardRegistry class gives every card of a game a small integer id when the setup config is loaded, so that sets of cards can be kept as bitmasks with one bit per card.
+ *
+ * Responsibilities: The CardRegistry class is responsible for numbering the cards of a game from 0, looking cards up by id and ids up by card, building the mask of a card, a solution, or a card type, and picking a random card out of a mask. Hands, seen cards, and suggestions are all masks, so checking which cards a player could show is a single AND.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package clueGame;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class CardRegistry {
+	// One bit of a long for each card
+	public static final int MAX_CARDS = Long.SIZE;
+
+	private final List<Card> cards;
+	private final Map<Card, Integer> ids;
+	private final long[] typeMasks;
+
+	public CardRegistry() {
+		super();
+		cards = new ArrayList<>();
+		ids = new HashMap<>();
+		typeMasks = new long[CardType.values().length];
+	}
+
+	// Makes a new card with the next id
+	public Card register(String name, CardType type) throws BadConfigFormatException {
+		if (cards.size() == MAX_CARDS) {
+			throw new BadConfigFormatException("A game can have at most " + MAX_CARDS + " cards.");
+		}
+		Card card = new Card(name, type, cards.size());
+		cards.add(card);
+		ids.put(card, card.getId());
+		typeMasks[type.ordinal()] |= 1L << card.getId();
+		return card;
+	}
+
+	public int size() {
+		return cards.size();
+	}
+
+	public Card getCard(int id) {
+		return cards.get(id);
+	}
+
+	// Cards made outside the registry, like the ones tests build by name, are found by name and type instead
+	public int getId(Card card) {
+		if (card == null) {
+			return -1;
+		}
+		int id = card.getId();
+		if (id >= 0 && id < cards.size() && cards.get(id) == card) {
+			return id;
+		}
+		return ids.getOrDefault(card, -1);
+	}
+
+	public boolean contains(Card card) {
+		return getId(card) >= 0;
+	}
+
+	// Cards that are not part of this game have no bit, so they are never in any mask
+	public long getMask(Card card) {
+		int id = getId(card);
+		return id < 0 ? 0 : 1L << id;
+	}
+
+	public long getMask(Solution solution) {
+		return PackedSolution.of(this, solution).getCardMask();
+	}
+
+	public long getTypeMask(CardType type) {
+		return typeMasks[type.ordinal()];
+	}
+
+	public long getAllCardsMask() {
+		return cards.size() == MAX_CARDS ? -1L : (1L << cards.size()) - 1;
+	}
+
+	// Picks one of the cards in mask, each as likely as the others, or returns null if mask is empty
+	public Card getRandomCard(long mask) {
+		if (mask == 0) {
+			return null;
+		}
+		for (int skipped = ThreadLocalRandom.current().nextInt(Long.bitCount(mask)); skipped > 0; skipped--) {
+			mask &= mask - 1;
+		}
+		return cards.get(Long.numberOfTrailingZeros(mask));
+	}
+}
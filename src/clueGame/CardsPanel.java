@@ -7,7 +7,7 @@
  *
  * Authors: Aragorn Wang, Anya Streit
  * 
- * Date Last Edited: April 27, 2025
+ * Date Last Edited: October 18, 2026
  * 
  * Collaborators: None
  * 
@@ -27,13 +27,16 @@ import javax.swing.JPanel;
 import javax.swing.JTextField;
 
 public class CardsPanel extends JPanel {
+	private final transient Board board;
+
 	private JPanel
 		seenPeopleCardsPanel,
 		seenRoomCardsPanel,
 		seenWeaponCardsPanel;
 	
-	public CardsPanel() {
+	public CardsPanel(Board board) {
 		super();
+		this.board = board;
 		setLayout(new GridLayout(3, 1));
 		setBorder(BorderFactory.createTitledBorder("Known Cards"));
 
@@ -67,7 +70,7 @@ public class CardsPanel extends JPanel {
 	private void addCardSetToPanel(JPanel panel, boolean isHand, CardType type) {
 		Set<Card> cardSet = null;
 		String cardSetLabel = null;
-		Player humanPlayer = Board.getInstance().getHumanPlayer();
+		Player humanPlayer = board.getHumanPlayer();
 		if (isHand) {
 			cardSet = humanPlayer.getHand();
 			cardSetLabel = "In Hand:";
@@ -108,7 +111,7 @@ public class CardsPanel extends JPanel {
 	private void configureSeenCardText(JTextField cardText, Card card) {
 		cardText.setEditable(false);
 		cardText.setBorder(BorderFactory.createLineBorder(Color.BLACK));
-		for (Player player : Board.getInstance().getPlayers()) {
+		for (Player player : board.getPlayers()) {
 			if (player.getHand().contains(card)) {
 				cardText.setBackground(player.getColor());
 				break;
@@ -139,15 +142,15 @@ public class CardsPanel extends JPanel {
 	}
 	
 	public void addCard(Card card) {
-		if (Board.getInstance().getHumanPlayer().getHand().contains(card) || 
-			Board.getInstance().getHumanPlayer().getSeenCards().contains(card)) return;
+		if (board.getHumanPlayer().getHand().contains(card) || 
+			board.getHumanPlayer().getSeenCards().contains(card)) return;
 		switch(card.getType()) {
 			case ROOM -> addSeenRoomCard(card);
 			case WEAPON -> addSeenWeaponCard(card);
 			case PERSON -> addSeenPersonCard(card);
 			default -> {}
 		}
-		Board.getInstance().getHumanPlayer().updateSeen(card);
+		board.getHumanPlayer().updateSeen(card);
 	}
 
 	private void updatePanel(JPanel panel, Card card) {
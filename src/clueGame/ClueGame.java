@@ -3,11 +3,11 @@
  *
  * Purpose: The ClueGame class is the main class for the Clue game. It initializes the game and sets up the GUI.
  *
- * Responsibilities: The ClueGame class is responsible for creating the main window of the game and setting up the game board.
+ * Responsibilities: The ClueGame class is responsible for creating the main window of the game and setting up the game board. It drives a GameEngine from the player's button presses and clicks and listens to it to keep the panels up to date.
  *
  * Authors: Aragorn Wang, Anya Streit
  * 
- * Date Last Edited: April 27, 2025
+ * Date Last Edited: October 18, 2026
  * 
  * Collaborators: None
  * 
@@ -37,12 +37,13 @@ import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 
-public class ClueGame extends JFrame {
-	private static ClueGame theInstance;
-	
+public class ClueGame extends JFrame implements GameListener {
 	private static Clip moveSoundClip;
 	
-	private int playerTurnIndex;
+	private final transient Board board;
+
+	private final transient GameEngine engine;
+
 	private boolean humanTurnFinished;
 	
 	private static final int
@@ -57,29 +58,31 @@ public class ClueGame extends JFrame {
 	
 	private GameControlPanel gameControlPanel;
 
-	public ClueGame() {
+	// The board must already be initialized and dealt, since the cards panel shows the human player's hand
+	public ClueGame(Board board) {
 		super();
+		this.board = board;
 		setLayout(new BorderLayout());
 
 		setSize(GAME_WINDOW_WIDTH, GAME_WINDOW_HEIGHT);
 		setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 		setTitle("Clue Game");
 
-		boardPanel = new BoardPanel();
+		boardPanel = new BoardPanel(this);
 		boardPanel.addMouseListener(new MouseAdapter() {
 			@Override
 			public void mouseClicked(MouseEvent event) {
 				clickBoard(event);
 			}
 		});
-		cardsPanel = new CardsPanel();
+		cardsPanel = new CardsPanel(board);
 		cardsPanel.setPreferredSize(
 			new Dimension(
 				(int) (GAME_WINDOW_WIDTH * CARDS_PANEL_WIDTH_PERCENT / 100),
 				getHeight()
 			)
 		);
-		gameControlPanel = new GameControlPanel();
+		gameControlPanel = new GameControlPanel(this);
 		gameControlPanel.setPreferredSize(
 			new Dimension(
 				getWidth(),
@@ -93,22 +96,21 @@ public class ClueGame extends JFrame {
 
 		setVisible(true);
 		
-		playerTurnIndex = 0;
+		engine = new GameEngine(board);
+		engine.addListener(this);
 		humanTurnFinished = false;
 	}
 
 	public static void main(String[] args) {
-		Board board = Board.getInstance();
+		Board board = new Board();
 
 		board.setConfigFiles("data/ClueLayout.csv", "data/ClueSetup.txt");
 		board.initialize();
 		board.dealCards();
-		
-		Player player = board.getHumanPlayer();
 
-		int roll = (int) (Math.random() * 6) + 1;
-		board.calcTargets(board.getCell(player.getRow(), player.getColumn()), roll);
-		theInstance.gameControlPanel.setTurnText(player, roll);
+		// The human player always takes the first turn
+		ClueGame game = new ClueGame(board);
+		game.engine.startGame();
 
 		// Loop elevator music, forever, as the background music
 		try {
@@ -147,39 +149,42 @@ public class ClueGame extends JFrame {
 			return;
 		}
 		
-		Board board = Board.getInstance();
-		
-		playerTurnIndex = (playerTurnIndex + 1) % board.getPlayers().size();
-		Player player = board.getPlayers().get(playerTurnIndex);
-		int roll = (int) (Math.random() * 6) + 1;
-		board.calcTargets(board.getCell(player.getRow(), player.getColumn()), roll);
-		player.setDragged(false);
-		theInstance.gameControlPanel.setTurnText(player, roll);
-		if (playerTurnIndex == 0) {
-			gameControlPanel.setSuggestion(null);
-			humanTurnFinished = false;			
+		engine.advanceTurn();
+		if (engine.getStatus().isOver()) {
+			// The engine gave up on the game since it ran too long
+			handleGameOver(null, false);
+			return;
+		}
+
+		gameControlPanel.setSuggestion(null, null, null, null);
+		if (engine.getCurrentPlayer().equals(board.getHumanPlayer())) {
+			humanTurnFinished = false;
 		} else {
-			// If it is not human player's turn
-			int accusationResult = ((ComputerPlayer) player).makeAccusation();
-			if (accusationResult != -1){
-				this.handleAccusation(accusationResult);
-			}
-			BoardCell target = ((ComputerPlayer) player).selectTarget(board.getTargets());
-			player.move(target);
-			if (target.isRoom()) {
-				Solution suggestion = ((ComputerPlayer) player).createSuggestion();
-				gameControlPanel.setSuggestion(suggestion);
-				board.getPlayerFromCard(suggestion.getPersonCard()).move(target);
-				board.getPlayerFromCard(suggestion.getPersonCard()).setDragged(true);
-				boardPanel.repaint();
-			} else {
-				gameControlPanel.setSuggestion(null);
-			}
+			engine.playComputerTurn();
 		}
 
-		boardPanel.repaint();
+		boardPanel.refresh();
 	}
-	
+
+	@Override
+	public void turnStarted(Player player, int roll) {
+		gameControlPanel.setTurnText(player, roll);
+	}
+
+	@Override
+	public void suggestionMade(Player suggester, Solution suggestion, Player disprovingPlayer, Card disprovingCard) {
+		gameControlPanel.setSuggestion(suggestion, suggester, disprovingPlayer, disprovingCard);
+		if (suggester.equals(board.getHumanPlayer()) && disprovingCard != null) {
+			cardsPanel.addCard(disprovingCard);
+		}
+		boardPanel.refresh();
+	}
+
+	@Override
+	public void accusationMade(Player accuser, Solution accusation, boolean isCorrect) {
+		handleGameOver(accuser, isCorrect);
+	}
+
 	public void makeAccusation() {
 		if (humanTurnFinished) {
 			JOptionPane.showMessageDialog(
@@ -190,7 +195,6 @@ public class ClueGame extends JFrame {
 			);
 			return;
 		}
-		Board board = Board.getInstance();
 		ArrayList<Card> rooms = new ArrayList<>();
 		ArrayList<Card> people = new ArrayList<>();
 		ArrayList<Card> weapons = new ArrayList<>();
@@ -239,15 +243,20 @@ public class ClueGame extends JFrame {
 				(Card) person.getSelectedItem(),
 				(Card) weapon.getSelectedItem()
 			);
-			this.handleAccusation(board.checkAccusation(submitted) ? 1 : 0);
+			engine.accuse(submitted);
 		}
 	}
 	
-	private void handleAccusation(int accusationResult) {
-		Board board = Board.getInstance();
-		Player player = board.getPlayers().get(playerTurnIndex);
-		if (playerTurnIndex == 0) {
-			if (accusationResult == 1) {
+	private void handleGameOver(Player player, boolean isCorrect) {
+		if (player == null) {
+			JOptionPane.showMessageDialog(
+				null,
+				"Nobody solved the mystery in time. The solution was " + board.getTheAnswer(),
+				"Game Over",
+				JOptionPane.INFORMATION_MESSAGE
+			);
+		} else if (player.equals(board.getHumanPlayer())) {
+			if (isCorrect) {
 				ImageIcon icon = new ImageIcon("data/VictoryRoyale.png"); 
 				JOptionPane.showMessageDialog(
 					null,
@@ -265,7 +274,7 @@ public class ClueGame extends JFrame {
 				);
 			}
 		} else {
-			if (accusationResult == 1) {
+			if (isCorrect) {
 				JOptionPane.showMessageDialog(
 					null,
 					player.getName() + " got the Solution! It was " + board.getTheAnswer(),
@@ -290,8 +299,6 @@ public class ClueGame extends JFrame {
 			return;
 		}
 
-		Board board = Board.getInstance();
-		
 		int x = event.getX();
 		int y = event.getY();
 		
@@ -308,7 +315,7 @@ public class ClueGame extends JFrame {
 			return;
 		}
 
-		board.getHumanPlayer().move(clickedCell);
+		engine.moveCurrentPlayer(clickedCell);
 		humanTurnFinished = true;
 
 		if (moveSoundClip != null) {
@@ -317,7 +324,7 @@ public class ClueGame extends JFrame {
 			moveSoundClip.start();
 		}
 		
-		boardPanel.repaint();
+		boardPanel.refresh();
 		if (clickedCell.isRoomCenter()) {
 			ArrayList<Card> people = new ArrayList<>();
 			ArrayList<Card> weapons = new ArrayList<>();
@@ -364,26 +371,21 @@ public class ClueGame extends JFrame {
 					(Card) person.getSelectedItem(),
 					(Card) weapon.getSelectedItem()
 				);
-				Card card = gameControlPanel.setSuggestion(submitted);
-				board.getPlayerFromCard(submitted.getPersonCard()).move(clickedCell);
-				board.getPlayerFromCard(submitted.getPersonCard()).setDragged(true);
-				boardPanel.repaint();
-				if (card != null) {
-					cardsPanel.addCard(card);
-				}
+				engine.makeSuggestion(submitted);
 			}
 		}
 	}
 	
-	public static ClueGame getInstance() {
-		if (theInstance == null) {
-			theInstance = new ClueGame();
-		}
-		return theInstance;
+	public Board getBoard() {
+		return board;
 	}
 
 	public int getPlayerTurnIndex() {
-		return playerTurnIndex;
+		return engine.getPlayerTurnIndex();
+	}
+
+	public GameEngine getEngine() {
+		return engine;
 	}
 	
 	public boolean getHumanTurnFinished() {
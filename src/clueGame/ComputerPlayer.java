@@ -7,7 +7,7 @@
  *
  * Authors: Aragorn Wang, Anya Streit
  * 
- * Date Last Edited: April 27, 2025
+ * Date Last Edited: October 18, 2026
  * 
  * Collaborators: None
  * 
@@ -17,69 +17,227 @@
 package clueGame;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class ComputerPlayer extends Player {
 	private final static double CHOOSE_UNSEEN_CHANCE = 0.5;
 	private final static double CHOOSE_SEEN_CHANCE = 0.2;
+	// Spread over the unseen cards of a type on top of their envelope chances, so no unseen card is never suggested
+	private final static double EXPLORATION_WEIGHT = 0.2;
 	
-	public ComputerPlayer(String name, String color, int row, int column) {
-		super(name, color, row, column);
+	// Made the first time it is needed, once the cards have been dealt
+	private KnowledgeBase knowledge;
+	// Counts deals over the same knowledge, so it is replaced whenever the knowledge is
+	private DealCounter dealCounter;
+
+	private int beliefSamples = EnvelopeBelief.DEFAULT_MAX_SAMPLES;
+	private long beliefTimeBudgetNanos = EnvelopeBelief.DEFAULT_TIME_BUDGET_NANOS;
+	// Only a proven answer is accused at 1, lower values accuse once every card of the answer is at least this likely
+	private double accusationConfidence = 1;
+
+	public ComputerPlayer(Board board, String name, String color, int row, int column) {
+		super(board, name, color, row, column);
 	}
 
-	public Solution createSuggestion() {
-		Board board = Board.getInstance();
-		List<Card> validWeaponCards = new ArrayList<>();
-		List<Card> validPersonCards = new ArrayList<>();
-		for (Card card : board.getTotalDeck()) {
-			if (getSeenCards().contains(card)) {
-				continue;
+	public KnowledgeBase getKnowledge() {
+		if (knowledge == null) {
+			Board board = getBoard();
+			List<Player> players = board.getPlayers();
+			int[] handSizes = new int[players.size()];
+			for (int playerIdx = 0; playerIdx < players.size(); playerIdx++) {
+				handSizes[playerIdx] = players.get(playerIdx).getHand().size();
 			}
+			knowledge = new KnowledgeBase(board.getCardRegistry(), handSizes);
+			knowledge.addHas(players.indexOf(this), getHandMask());
+			knowledge.addLacks(knowledge.getEnvelopeIndex(), getHandMask() | getSeenMask());
+		}
+		return knowledge;
+	}
 
-			switch (card.getType()) {
-				case WEAPON -> validWeaponCards.add(card);
-				case PERSON -> validPersonCards.add(card);
-				default -> {}
-			}
+	// Exact when the deals can be counted, which they always can for the standard deck, and sampled otherwise
+	public EnvelopeBelief getBelief() {
+		if (dealCounter == null || dealCounter.getKnowledge() != getKnowledge()) {
+			dealCounter = new DealCounter(getKnowledge());
+		}
+		EnvelopeBelief belief = dealCounter.getBelief();
+		if (belief != null) {
+			return belief;
+		}
+		return EnvelopeBelief.estimate(getKnowledge(), beliefSamples, beliefTimeBudgetNanos, ForkJoinPool.commonPool());
+	}
+
+	public DealCounter getDealCounter() {
+		getBelief();
+		return dealCounter;
+	}
+
+	// Called for every suggestion made in the game, with the card shown only if this player made the suggestion
+	public void observeSuggestion(Player suggester, Solution suggestion, Player disprovingPlayer, Card shownCard) {
+		List<Player> players = getBoard().getPlayers();
+		CardRegistry cardRegistry = getBoard().getCardRegistry();
+		int disprover = disprovingPlayer == null ? -1 : players.indexOf(disprovingPlayer);
+		getKnowledge().observeSuggestion(players.indexOf(suggester), cardRegistry.getMask(suggestion), disprover);
+		if (shownCard != null) {
+			getKnowledge().addHas(disprover, cardRegistry.getMask(shownCard));
+		}
+	}
+
+	// Knowledge is only ever added to, so changing the hand or taking back a seen card means starting over
+	@Override
+	public boolean updateHand(Card card) {
+		knowledge = null;
+		return super.updateHand(card);
+	}
+
+	@Override
+	public boolean removeFromHand(Card card) {
+		knowledge = null;
+		return super.removeFromHand(card);
+	}
+
+	@Override
+	public boolean updateSeen(Card seenCard) {
+		boolean isNew = super.updateSeen(seenCard);
+		if (knowledge != null && isNew) {
+			knowledge.addLacks(knowledge.getEnvelopeIndex(), getBoard().getCardRegistry().getMask(seenCard));
 		}
+		return isNew;
+	}
+
+	@Override
+	public boolean removeFromSeen(Card card) {
+		knowledge = null;
+		return super.removeFromSeen(card);
+	}
+
+	public void setBeliefBudget(int maxSamples, long timeBudgetNanos) {
+		this.beliefSamples = maxSamples;
+		this.beliefTimeBudgetNanos = timeBudgetNanos;
+	}
+
+	public double getAccusationConfidence() {
+		return accusationConfidence;
+	}
+
+	public void setAccusationConfidence(double accusationConfidence) {
+		this.accusationConfidence = accusationConfidence;
+	}
+
+	@Override
+	public void reset() {
+		super.reset();
+		knowledge = null;
+	}
+
+	public Solution createSuggestion() {
+		Board board = getBoard();
+		CardRegistry cardRegistry = board.getCardRegistry();
 
 		BoardCell currentCell = board.getCell(getRow(), getColumn());
 		Card roomCard = board.getRoomCard(currentCell);
-		Card personCard = validPersonCards.get((int) (Math.random() * validPersonCards.size()));
-		Card weaponCard = validWeaponCards.get((int) (Math.random() * validWeaponCards.size()));
+		EnvelopeBelief belief = getBelief();
+		Card personCard = pickLikelyCard(cardRegistry.getTypeMask(CardType.PERSON) & ~getSeenMask(), belief);
+		Card weaponCard = pickLikelyCard(cardRegistry.getTypeMask(CardType.WEAPON) & ~getSeenMask(), belief);
 		
 		return new Solution(roomCard, personCard, weaponCard);
 	}
 
+	// Picks one of the candidates, more likely the more likely it is to be in the envelope
+	private Card pickLikelyCard(long candidateMask, EnvelopeBelief belief) {
+		if (candidateMask == 0) {
+			return null;
+		}
+		double explorationWeight = EXPLORATION_WEIGHT / Long.bitCount(candidateMask);
+		double totalWeight = 0;
+		for (long mask = candidateMask; mask != 0; mask &= mask - 1) {
+			totalWeight += belief.getProbability(Long.numberOfTrailingZeros(mask)) + explorationWeight;
+		}
+
+		double pick = ThreadLocalRandom.current().nextDouble() * totalWeight;
+		int id = -1;
+		for (long mask = candidateMask; mask != 0 && pick >= 0; mask &= mask - 1) {
+			id = Long.numberOfTrailingZeros(mask);
+			pick -= belief.getProbability(id) + explorationWeight;
+		}
+		return getBoard().getCardRegistry().getCard(id);
+	}
+
 	public BoardCell selectTarget(Set<BoardCell> targets) {
+		return selectTarget(targets.iterator());
+	}
+
+	// Reads targets only until it settles on one, which is only early when it picks an unseen room
+	public BoardCell selectTarget(Iterator<BoardCell> targets) {
 		// If a target is in a room and the room is not in that player's seen list,
 		// select the room (or if multiple rooms select randomly).
-		Board board = Board.getInstance();
+		Board board = getBoard();
 		List<BoardCell> roomTargets = new ArrayList<>();
-		for (BoardCell target : targets) {
+		// Every target read so far is equally likely to be the one kept, without keeping them all
+		BoardCell randomTarget = null;
+		int numTargets = 0;
+		while (targets.hasNext()) {
+			BoardCell target = targets.next();
 			if (target.isRoom()) {
-				if (!getSeenCards().contains(board.getRoomCard(target)) && Math.random() < CHOOSE_UNSEEN_CHANCE) {
+				if (!getSeenCards().contains(board.getRoomCard(target)) && ThreadLocalRandom.current().nextDouble() < CHOOSE_UNSEEN_CHANCE) {
 					return target;
 				}
 				roomTargets.add(target);
 			}
+			numTargets++;
+			if (ThreadLocalRandom.current().nextInt(numTargets) == 0) {
+				randomTarget = target;
+			}
 		}
 
-		if (!roomTargets.isEmpty() && Math.random() < CHOOSE_SEEN_CHANCE) {
-			return roomTargets.get((int) (Math.random() * roomTargets.size()));
+		if (!roomTargets.isEmpty() && ThreadLocalRandom.current().nextDouble() < CHOOSE_SEEN_CHANCE) {
+			return roomTargets.get((int) (ThreadLocalRandom.current().nextDouble() * roomTargets.size()));
 		}
 
 		// Otherwise, select a target randomly from the target list.
-		List<BoardCell> targetList = new ArrayList<>(targets);
-		if (!targetList.isEmpty()) {
-			return targetList.get((int) (Math.random() * targetList.size()) % targetList.size());
+		if (randomTarget != null) {
+			return randomTarget;
 		}
 		return board.getCell(super.getRow(), super.getColumn());
 	}
 	
 	public int makeAccusation() {
-		if (super.getSeenCards().size() == Board.getInstance().getNonAnswerCards().size()) return 1;
+		// The answer is often forced by what other players could and could not disprove well before every card is shown
+		if (getKnowledge().isSolved()) return 1;
+		// Cards in our own hand are known just as well as the ones we were shown
+		if (Long.bitCount(getHandMask() | getSeenMask()) == getBoard().getNonAnswerCards().size()) return 1;
+		if (accusationConfidence < 1 && isConfident(getBelief())) return 1;
 		return -1;
 	}
+
+	private boolean isConfident(EnvelopeBelief belief) {
+		for (CardType type : CardType.values()) {
+			if (belief.getProbability(belief.getMostLikely(type)) < accusationConfidence) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public Solution createAccusation() {
+		if (getKnowledge().isSolved()) {
+			return getKnowledge().getSolution();
+		}
+		if (accusationConfidence < 1) {
+			EnvelopeBelief belief = getBelief();
+			if (isConfident(belief)) {
+				return new Solution(belief.getMostLikely(CardType.ROOM), belief.getMostLikely(CardType.PERSON), belief.getMostLikely(CardType.WEAPON));
+			}
+		}
+		Solution accusation = new Solution();
+		CardRegistry cardRegistry = getBoard().getCardRegistry();
+		long unknownMask = cardRegistry.getAllCardsMask() & ~(getHandMask() | getSeenMask());
+		for (; unknownMask != 0; unknownMask &= unknownMask - 1) {
+			accusation.setAnyCard(cardRegistry.getCard(Long.numberOfTrailingZeros(unknownMask)));
+		}
+		return accusation;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,121 @@
+/*
+ * Class: ConfigReader
+ *
+ * Purpose: The ConfigReader class gives the Board the bytes of a config file and finds the lines and comma separated fields in them, so that a layout can be read cell by cell without making a String for every line and cell.
+ *
+ * Responsibilities: The ConfigReader class is responsible for mapping a config file into memory, finding where each line starts and ends, counting and finding the fields of a line, and turning a line into a String for the few places that need one. Lines end at "\n", "\r\n", or "\r", and a last line with nothing after it is not a line, just as with Scanner.nextLine. Fields are counted the way String.split counts them, so a line with commas left over at its end has the same number of fields it did when layouts were read with split.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package clueGame;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+
+final class ConfigReader {
+	private ConfigReader() {
+		super();
+	}
+
+	// The whole file, read straight from the page cache rather than copied through a stream
+	static ByteBuffer map(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		} catch (NoSuchFileException exception) {
+			// The same exception a Scanner gives, which callers of the load methods already expect
+			throw new FileNotFoundException(file.getPath() + " (No such file or directory)");
+		}
+	}
+
+	static int countLines(ByteBuffer buffer) {
+		return countLines(buffer, 0, buffer.limit());
+	}
+
+	// Lines starting from start, which has to be the start of a line, up to end
+	static int countLines(ByteBuffer buffer, int start, int end) {
+		int numLines = 0;
+		for (int lineStart = start; lineStart < end; lineStart = nextLineStart(buffer, lineEnd(buffer, lineStart))) {
+			numLines++;
+		}
+		return numLines;
+	}
+
+	// The start of the first line at or after index, so a file can be split into parts that each hold whole lines
+	static int lineStartAtOrAfter(ByteBuffer buffer, int index) {
+		return index == 0 ? 0 : nextLineStart(buffer, lineEnd(buffer, index - 1));
+	}
+
+	// Index just past the last byte of the line starting at lineStart
+	static int lineEnd(ByteBuffer buffer, int lineStart) {
+		int index = lineStart;
+		while (index < buffer.limit()) {
+			byte value = buffer.get(index);
+			if (value == '\n' || value == '\r') {
+				break;
+			}
+			index++;
+		}
+		return index;
+	}
+
+	static int nextLineStart(ByteBuffer buffer, int lineEnd) {
+		if (lineEnd >= buffer.limit()) {
+			return buffer.limit();
+		}
+		if (buffer.get(lineEnd) == '\r' && lineEnd + 1 < buffer.limit() && buffer.get(lineEnd + 1) == '\n') {
+			return lineEnd + 2;
+		}
+		return lineEnd + 1;
+	}
+
+	// Fields left empty at the end of a line are not counted, except that an empty line is one empty field
+	static int countFields(ByteBuffer buffer, int start, int end, char separator) {
+		int fieldsEnd = end;
+		while (fieldsEnd > start && buffer.get(fieldsEnd - 1) == separator) {
+			fieldsEnd--;
+		}
+		if (fieldsEnd == start) {
+			return start == end ? 1 : 0;
+		}
+		int numFields = 1;
+		for (int index = start; index < fieldsEnd; index++) {
+			if (buffer.get(index) == separator) {
+				numFields++;
+			}
+		}
+		return numFields;
+	}
+
+	// Index just past the last byte of the field starting at fieldStart
+	static int fieldEnd(ByteBuffer buffer, int fieldStart, int lineEnd, char separator) {
+		int index = fieldStart;
+		while (index < lineEnd && buffer.get(index) != separator) {
+			index++;
+		}
+		return index;
+	}
+
+	// Config files are plain ASCII, so a byte is the char it stands for
+	static char charAt(ByteBuffer buffer, int index) {
+		return (char) (buffer.get(index) & 0xFF);
+	}
+
+	static String getString(ByteBuffer buffer, int start, int end) {
+		byte[] bytes = new byte[end - start];
+		buffer.get(start, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,346 @@
+/*
+ * Class: CorridorGraph
+ *
+ * Purpose: The CorridorGraph class finds the same targets as Board's path search, but over a smaller graph of the board in which every corridor, a run of walkway cells with only the way in and the way out, is a single weighted edge instead of one cell after another.
+ *
+ * Responsibilities: The CorridorGraph class is responsible for contracting the adjacency lists of a board into nodes and corridors and for searching that graph for targets. Junctions, dead ends, doorways, room centers, secret passage ends, and occupied walkways are nodes, and the cells between two of them make up a corridor, which a path crosses in one step of the search. A path only looks at the cells inside a corridor when it ends there, which is the one cell its remaining moves land on. The graph is kept up to date with occupancy as it changes: a player stepping into a corridor splits it into two at their cell, and leaving it joins the two back together, so only the corridor the player is in is ever rebuilt.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package clueGame;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+public class CorridorGraph {
+	private final BoardGrid grid;
+	private final int numCells;
+
+	// The grid's own adjacency arrays, which are still how a node finds its corridors and the nodes next to it
+	private final int[] adjOffsets;
+	private final int[] adjNeighbors;
+
+	// Bit id is set for every cell that is a node rather than inside a corridor
+	private final long[] nodes;
+	// Nodes that stay nodes whoever moves around the board, which is every cell but the plain corridor ones, along with
+	// one cell of any corridor that loops back around to itself without passing a node
+	private final long[] fixedNodes;
+
+	// Corridor of each cell inside one, -1 for nodes
+	private final int[] cellCorridors;
+	// How many moves a cell inside a corridor is from the corridor's first node
+	private final int[] cellPositions;
+
+	// The nodes at each end of a corridor, which are the same node for a corridor that loops, and the cells between
+	// them in order from the first node
+	private final int[] firstNodes;
+	private final int[] lastNodes;
+	private final int[][] corridorCells;
+	// A corridor never has fewer than one cell inside it, so there can never be more corridors than cells
+	private final int[] freeCorridors;
+	private int numFreeCorridors;
+	private int numCorridors;
+
+	// Scratch for a search: the nodes on the path, the corridors it has crossed, and what it has found
+	private final long[] visited;
+	private final long[] usedCorridors;
+	private final long[] targets;
+
+	public CorridorGraph(Board board) {
+		super();
+		grid = board.getGrid();
+		numCells = grid.getNumCells();
+		adjOffsets = grid.getAdjOffsets();
+		adjNeighbors = grid.getAdjNeighbors();
+
+		nodes = Bitboards.create(numCells);
+		fixedNodes = Bitboards.create(numCells);
+		cellCorridors = new int[numCells];
+		cellPositions = new int[numCells];
+		firstNodes = new int[numCells];
+		lastNodes = new int[numCells];
+		corridorCells = new int[numCells][];
+		freeCorridors = new int[numCells];
+		for (int corridor = 0; corridor < numCells; corridor++) {
+			freeCorridors[corridor] = numCells - 1 - corridor;
+		}
+		numFreeCorridors = numCells;
+		visited = Bitboards.create(numCells);
+		usedCorridors = Bitboards.create(numCells);
+		targets = Bitboards.create(numCells);
+
+		long[] occupied = grid.getOccupiedCells();
+		for (int id = 0; id < numCells; id++) {
+			cellCorridors[id] = -1;
+			if (!isCorridorCell(id)) {
+				Bitboards.set(fixedNodes, id);
+				Bitboards.set(nodes, id);
+			} else if (Bitboards.get(occupied, id)) {
+				Bitboards.set(nodes, id);
+			}
+		}
+
+		for (int id = Bitboards.nextSetBit(nodes, 0); id >= 0; id = Bitboards.nextSetBit(nodes, id + 1)) {
+			for (int adjPos = adjOffsets[id]; adjPos < adjOffsets[id + 1]; adjPos++) {
+				int adjId = adjNeighbors[adjPos];
+				if (!Bitboards.get(nodes, adjId) && cellCorridors[adjId] < 0) {
+					traceCorridor(id, adjId);
+				}
+			}
+		}
+
+		// Whatever is left is a loop of corridor cells with no node on it, which needs one to start and end at
+		for (int id = 0; id < numCells; id++) {
+			if (!Bitboards.get(nodes, id) && cellCorridors[id] < 0) {
+				Bitboards.set(fixedNodes, id);
+				Bitboards.set(nodes, id);
+				traceCorridor(id, adjNeighbors[adjOffsets[id]]);
+			}
+		}
+	}
+
+	// A walkway with exactly two ways on, both of them walkways, is a cell that paths can only pass straight through
+	private boolean isCorridorCell(int id) {
+		if (!grid.hasFlag(id, BoardGrid.WALKWAY) || adjOffsets[id + 1] - adjOffsets[id] != 2) {
+			return false;
+		}
+		return grid.hasFlag(adjNeighbors[adjOffsets[id]], BoardGrid.WALKWAY) && grid.hasFlag(adjNeighbors[adjOffsets[id] + 1], BoardGrid.WALKWAY);
+	}
+
+	// Follows corridor cells from the node fromId, first stepping to firstId, until it reaches another node
+	private void traceCorridor(int fromId, int firstId) {
+		int[] cellIds = new int[16];
+		int length = 0;
+		int prevId = fromId;
+		int cellId = firstId;
+		while (!Bitboards.get(nodes, cellId)) {
+			if (length == cellIds.length) {
+				cellIds = Arrays.copyOf(cellIds, length * 2);
+			}
+			cellIds[length++] = cellId;
+			int nextId = otherNeighbor(cellId, prevId);
+			prevId = cellId;
+			cellId = nextId;
+		}
+		addCorridor(fromId, Arrays.copyOf(cellIds, length), cellId);
+	}
+
+	private int otherNeighbor(int cellId, int prevId) {
+		int adjPos = adjOffsets[cellId];
+		return adjNeighbors[adjPos] == prevId ? adjNeighbors[adjPos + 1] : adjNeighbors[adjPos];
+	}
+
+	private void addCorridor(int firstNode, int[] cellIds, int lastNode) {
+		int corridor = freeCorridors[--numFreeCorridors];
+		numCorridors++;
+		firstNodes[corridor] = firstNode;
+		lastNodes[corridor] = lastNode;
+		corridorCells[corridor] = cellIds;
+		for (int cellPos = 0; cellPos < cellIds.length; cellPos++) {
+			cellCorridors[cellIds[cellPos]] = corridor;
+			cellPositions[cellIds[cellPos]] = cellPos + 1;
+		}
+	}
+
+	private void removeCorridor(int corridor) {
+		corridorCells[corridor] = null;
+		freeCorridors[numFreeCorridors++] = corridor;
+		numCorridors--;
+	}
+
+	// Keeps the graph in step with a player moving onto or off of a cell, which Board passes on from BoardGrid
+	void occupancyChanged(int id, boolean isOccupied) {
+		if (Bitboards.get(fixedNodes, id)) {
+			return;
+		}
+		if (isOccupied && !Bitboards.get(nodes, id)) {
+			splitCorridor(id);
+		} else if (!isOccupied && Bitboards.get(nodes, id)) {
+			joinCorridors(id);
+		}
+	}
+
+	// Makes the corridor cell id a node, leaving the cells on either side of it as corridors of their own
+	private void splitCorridor(int id) {
+		int corridor = cellCorridors[id];
+		int firstNode = firstNodes[corridor];
+		int lastNode = lastNodes[corridor];
+		int[] cellIds = corridorCells[corridor];
+		int splitPos = cellPositions[id] - 1;
+		removeCorridor(corridor);
+
+		cellCorridors[id] = -1;
+		Bitboards.set(nodes, id);
+		if (splitPos > 0) {
+			addCorridor(firstNode, Arrays.copyOfRange(cellIds, 0, splitPos), id);
+		}
+		if (splitPos < cellIds.length - 1) {
+			addCorridor(id, Arrays.copyOfRange(cellIds, splitPos + 1, cellIds.length), lastNode);
+		}
+	}
+
+	// Makes the node id, which splitCorridor made, a corridor cell again along with whatever corridors it was between
+	private void joinCorridors(int id) {
+		int beforeId = adjNeighbors[adjOffsets[id]];
+		int afterId = adjNeighbors[adjOffsets[id] + 1];
+		int beforeCorridor = cellCorridors[beforeId];
+		int afterCorridor = cellCorridors[afterId];
+		if (beforeCorridor >= 0 && beforeCorridor == afterCorridor) {
+			// The corridor loops from id back to itself, so id has to stay a node for it to start and end at
+			Bitboards.set(fixedNodes, id);
+			return;
+		}
+
+		int[] beforeCells = cellsFrom(id, beforeId);
+		int[] afterCells = cellsFrom(id, afterId);
+		int firstNode = farNode(id, beforeId);
+		int lastNode = farNode(id, afterId);
+		if (beforeCorridor >= 0) {
+			removeCorridor(beforeCorridor);
+		}
+		if (afterCorridor >= 0) {
+			removeCorridor(afterCorridor);
+		}
+
+		// The cells before id are listed outwards from it, so they go in backwards
+		int[] cellIds = new int[beforeCells.length + 1 + afterCells.length];
+		for (int cellPos = 0; cellPos < beforeCells.length; cellPos++) {
+			cellIds[beforeCells.length - 1 - cellPos] = beforeCells[cellPos];
+		}
+		cellIds[beforeCells.length] = id;
+		System.arraycopy(afterCells, 0, cellIds, beforeCells.length + 1, afterCells.length);
+		Bitboards.clear(nodes, id);
+		addCorridor(firstNode, cellIds, lastNode);
+	}
+
+	// Whether leaving the node nodeId for the corridor cell adjId crosses its corridor from the first node to the last
+	private boolean isForwards(int nodeId, int adjId) {
+		int corridor = cellCorridors[adjId];
+		return firstNodes[corridor] == nodeId && cellPositions[adjId] == 1;
+	}
+
+	// The cells of the corridor leaving the node nodeId through adjId, in the order they are passed, none if adjId is a node
+	private int[] cellsFrom(int nodeId, int adjId) {
+		int corridor = cellCorridors[adjId];
+		if (corridor < 0) {
+			return new int[0];
+		}
+		int[] cellIds = corridorCells[corridor];
+		if (isForwards(nodeId, adjId)) {
+			return cellIds.clone();
+		}
+		int[] reversed = new int[cellIds.length];
+		for (int cellPos = 0; cellPos < cellIds.length; cellPos++) {
+			reversed[cellPos] = cellIds[cellIds.length - 1 - cellPos];
+		}
+		return reversed;
+	}
+
+	// The node at the other end of the corridor leaving the node nodeId through adjId, which is adjId itself if it is a node
+	private int farNode(int nodeId, int adjId) {
+		int corridor = cellCorridors[adjId];
+		if (corridor < 0) {
+			return adjId;
+		}
+		return isForwards(nodeId, adjId) ? lastNodes[corridor] : firstNodes[corridor];
+	}
+
+	public int getNumNodes() {
+		return Bitboards.cardinality(nodes);
+	}
+
+	public int getNumCorridors() {
+		return numCorridors;
+	}
+
+	public boolean isNode(BoardCell cell) {
+		return Bitboards.get(nodes, cell.getId());
+	}
+
+	// Same targets as Board's path search for pathLength >= 1, before the dragged and no-move rules
+	public Set<BoardCell> calcTargets(BoardCell startCell, int pathLength) {
+		int startId = startCell.getId();
+		// A search has to start at a node, so one starting inside a corridor splits it there until it is done
+		boolean isStartSplit = !Bitboards.get(nodes, startId);
+		if (isStartSplit) {
+			splitCorridor(startId);
+		}
+
+		Bitboards.set(visited, startId);
+		findAllTargets(startId, pathLength, grid.getOccupiedCells());
+		Bitboards.clear(visited, startId);
+
+		if (isStartSplit) {
+			joinCorridors(startId);
+		}
+
+		Set<BoardCell> targetCells = new HashSet<>();
+		for (int id = Bitboards.nextSetBit(targets, 0); id >= 0; id = Bitboards.nextSetBit(targets, id + 1)) {
+			targetCells.add(grid.getCell(id));
+			Bitboards.clear(targets, id);
+		}
+		return targetCells;
+	}
+
+	// Every path from the node nodeId with remaining moves left. A path can end partway along a corridor, even one
+	// leading back to a node it has already been through, but it can only cross a corridor once.
+	private void findAllTargets(int nodeId, int remaining, long[] occupied) {
+		for (int adjPos = adjOffsets[nodeId]; adjPos < adjOffsets[nodeId + 1]; adjPos++) {
+			int adjId = adjNeighbors[adjPos];
+			int corridor = cellCorridors[adjId];
+			if (corridor < 0) {
+				if (!Bitboards.get(visited, adjId)) {
+					stepToNode(adjId, remaining, occupied);
+				}
+				continue;
+			}
+			if (Bitboards.get(usedCorridors, corridor)) {
+				continue;
+			}
+
+			int[] cellIds = corridorCells[corridor];
+			boolean isForwards = isForwards(nodeId, adjId);
+			if (remaining <= cellIds.length) {
+				Bitboards.set(targets, isForwards ? cellIds[remaining - 1] : cellIds[cellIds.length - remaining]);
+				continue;
+			}
+
+			int farId = isForwards ? lastNodes[corridor] : firstNodes[corridor];
+			if (!Bitboards.get(visited, farId)) {
+				Bitboards.set(usedCorridors, corridor);
+				stepToNode(farId, remaining - cellIds.length, occupied);
+				Bitboards.clear(usedCorridors, corridor);
+			}
+		}
+	}
+
+	// Moves onto the node nodeId with remaining moves left, counting this one, by the same rules as TargetSearch.step
+	private void stepToNode(int nodeId, int remaining, long[] occupied) {
+		boolean isRoomCenter = grid.hasFlag(nodeId, BoardGrid.ROOM_CENTER);
+		if (Bitboards.get(occupied, nodeId)) {
+			if (isRoomCenter) {
+				Bitboards.set(targets, nodeId);
+			}
+			return;
+		}
+		if (remaining == 1 || isRoomCenter) {
+			Bitboards.set(targets, nodeId);
+			return;
+		}
+		if (grid.hasFlag(nodeId, BoardGrid.ROOM)) {
+			Bitboards.set(targets, nodeId);
+		}
+
+		Bitboards.set(visited, nodeId);
+		findAllTargets(nodeId, remaining - 1, occupied);
+		Bitboards.clear(visited, nodeId);
+	}
+}
@@ -0,0 +1,446 @@
+/*
+ * Class: DealCounter
+ *
+ * Purpose: The DealCounter class works out exactly how likely each card is to be in the case file envelope, by counting every deal of the cards that agrees with a computer player's KnowledgeBase instead of sampling some of them like EnvelopeBelief.estimate does.
+ *
+ * Responsibilities: The DealCounter class is responsible for counting deals with dynamic programming over the cards in id order, where a state is how many more cards each player still has room for, which envelope slots are filled, and which disproval clauses are satisfied. Two deals that reach the same state after the same cards can be finished in the same number of ways, so each state is counted once. Cards whose owner is already known are dealt before counting starts, and a card that some owner needs, because the cards after it could not fill that owner's hand or envelope slot otherwise, is only dealt to them, and a player's hand is only filled once all of their clauses are satisfied, so states that could never be finished are left out as they come up. A forward pass counts the ways to reach each state and records where each of them leads, and a backward pass follows those moves to count the ways to finish from each state and, on the way, how many deals put each card in the envelope. The result is kept until the KnowledgeBase learns something that some counted deal disagrees with, so asking again after facts that every counted deal already agreed with costs nothing, while any other new fact means counting every deal again. Counting gives up, and getBelief returns null, when the states would not fit in a long or there are too many of them.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package clueGame;
+
+import java.util.Arrays;
+
+public class DealCounter {
+	// Counting stops past this many states after any one card, which only early game knowledge of very large decks reaches
+	public static final int MAX_STATES_PER_CARD = 1 << 18;
+
+	private static final CardType[] CARD_TYPES = CardType.values();
+
+	private final KnowledgeBase knowledge;
+
+	private long countedVersion = -1;
+	private EnvelopeBelief belief;
+	private long numDeals;
+	private int numCounts;
+	// possibleCards[owner] has the cards that owner holds in some counted deal and certainCards[owner] the ones it holds
+	// in every counted deal, both null if the deals could not be counted
+	private long[] possibleCards;
+	private long[] certainCards;
+	// The clauses the deals were counted with
+	private int[] countedClauseOwners;
+	private long[] countedClauseMasks;
+
+	// Layout of a state, worked out again for every count
+	private int numPlayers;
+	private int capacityBits;
+	private long capacityMask;
+	private int envelopeShift;
+	// owners[pos] lists the players, and numPlayers for the envelope, that could be dealt the pos-th card still to be
+	// counted
+	private int[][] owners;
+	private long[] envelopeSlotBits;
+	// roomAfter[pos][player] is how many of the cards from the pos-th on that player could still be dealt, and
+	// openSlotsAfter[pos] the envelope slots those cards could still fill
+	private int[][] roomAfter;
+	private long[] openSlotsAfter;
+	// clauseBits[player][pos] has the bits of the clauses of that player that the pos-th card satisfies
+	private long[][] clauseBits;
+	// The bits of every clause of each player, which all have to be satisfied by the time their hand is full
+	private long[] ownerClauseBits;
+
+	public DealCounter(KnowledgeBase knowledge) {
+		super();
+		this.knowledge = knowledge;
+	}
+
+	// Exact envelope probabilities, or null if the deals could not be counted
+	public EnvelopeBelief getBelief() {
+		if (knowledge.getVersion() != countedVersion) {
+			countedVersion = knowledge.getVersion();
+			if (!isCountKept()) {
+				try {
+					count();
+				} catch (ArithmeticException exception) {
+					// More deals than a long can count
+					belief = null;
+					numDeals = 0;
+				}
+			}
+		}
+		return belief;
+	}
+
+	// How many deals agree with everything known, or 0 if they could not be counted
+	public long getNumDeals() {
+		getBelief();
+		return numDeals;
+	}
+
+	// How many times the deals were actually counted, rather than taken from the last count
+	public int getNumCounts() {
+		return numCounts;
+	}
+
+	public KnowledgeBase getKnowledge() {
+		return knowledge;
+	}
+
+	// Whether every deal counted last time agrees with everything known now. Facts are only ever added, so the deals
+	// that agree with everything are then still the counted ones.
+	private boolean isCountKept() {
+		if (possibleCards == null || !knowledge.isConsistent()) {
+			return false;
+		}
+		for (int owner = 0; owner <= numPlayers; owner++) {
+			if ((knowledge.getLacksMask(owner) & possibleCards[owner]) != 0 || (knowledge.getHasMask(owner) & ~certainCards[owner]) != 0) {
+				return false;
+			}
+		}
+		for (int clause = 0; clause < knowledge.getNumClauses(); clause++) {
+			if (!isClauseKept(knowledge.getClauseOwner(clause), knowledge.getClauseMask(clause))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// Whether owner holds at least one of the cards in cardMask in every counted deal, which it does if it surely holds
+	// one of them or if a clause the deals were counted with only left it cards in cardMask
+	private boolean isClauseKept(int owner, long cardMask) {
+		if ((cardMask & certainCards[owner]) != 0) {
+			return true;
+		}
+		for (int clause = 0; clause < countedClauseOwners.length; clause++) {
+			if (countedClauseOwners[clause] == owner && (countedClauseMasks[clause] & possibleCards[owner] & ~cardMask) == 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void count() {
+		numCounts++;
+		belief = null;
+		numDeals = 0;
+		possibleCards = null;
+		if (!knowledge.isConsistent()) {
+			return;
+		}
+
+		CardRegistry cardRegistry = knowledge.getCardRegistry();
+		int numCards = cardRegistry.size();
+		numPlayers = knowledge.getNumPlayers();
+
+		// Cards whose owner is already known are dealt before counting starts, which leaves their owners less room
+		// and the rest of the cards fewer layers
+		long knownCards = knowledge.getHasMask(numPlayers);
+		int[] roomLeft = new int[numPlayers];
+		int maxRoomLeft = 1;
+		for (int player = 0; player < numPlayers; player++) {
+			knownCards |= knowledge.getHasMask(player);
+			roomLeft[player] = knowledge.getHandSize(player) - Long.bitCount(knowledge.getHasMask(player));
+			maxRoomLeft = Math.max(maxRoomLeft, roomLeft[player]);
+		}
+		capacityBits = Integer.SIZE - Integer.numberOfLeadingZeros(maxRoomLeft);
+		capacityMask = (1L << capacityBits) - 1;
+		envelopeShift = capacityBits * numPlayers;
+		int clauseShift = envelopeShift + CARD_TYPES.length;
+		int numClauses = knowledge.getNumClauses();
+		// The top bit is left clear so that no state is ever StateIndex.EMPTY
+		if (clauseShift + numClauses >= Long.SIZE) {
+			return;
+		}
+
+		long startState = 0;
+		for (int player = 0; player < numPlayers; player++) {
+			startState |= (long) roomLeft[player] << (capacityBits * player);
+		}
+		for (long mask = knowledge.getHasMask(numPlayers); mask != 0; mask &= mask - 1) {
+			startState |= 1L << (envelopeShift + cardRegistry.getCard(Long.numberOfTrailingZeros(mask)).getType().ordinal());
+		}
+
+		long unknownCards = cardRegistry.getAllCardsMask() & ~knownCards;
+		int numUnknown = Long.bitCount(unknownCards);
+		int[] cards = new int[numUnknown];
+		int[] positions = new int[numCards];
+		owners = new int[numUnknown][];
+		envelopeSlotBits = new long[numUnknown];
+		int pos = 0;
+		for (long mask = unknownCards; mask != 0; mask &= mask - 1) {
+			int card = Long.numberOfTrailingZeros(mask);
+			int[] cardOwners = new int[numPlayers + 1];
+			int numOwners = 0;
+			for (int owner = 0; owner <= numPlayers; owner++) {
+				if ((knowledge.getLacksMask(owner) & (1L << card)) == 0) {
+					cardOwners[numOwners++] = owner;
+				}
+			}
+			cards[pos] = card;
+			positions[card] = pos;
+			owners[pos] = Arrays.copyOf(cardOwners, numOwners);
+			envelopeSlotBits[pos] = 1L << (envelopeShift + cardRegistry.getCard(card).getType().ordinal());
+			pos++;
+		}
+
+		roomAfter = new int[numUnknown + 1][numPlayers + 1];
+		openSlotsAfter = new long[numUnknown + 1];
+		for (pos = numUnknown - 1; pos >= 0; pos--) {
+			roomAfter[pos] = roomAfter[pos + 1].clone();
+			for (int owner : owners[pos]) {
+				roomAfter[pos][owner]++;
+			}
+			openSlotsAfter[pos] = openSlotsAfter[pos + 1];
+			if (owners[pos][owners[pos].length - 1] == numPlayers) {
+				openSlotsAfter[pos] |= envelopeSlotBits[pos];
+			}
+		}
+
+		// A clause has to be satisfied by the time its last card has been dealt. Clauses only ever name cards whose
+		// owner is not known yet, since KnowledgeBase drops the ones a known card settles.
+		clauseBits = new long[numPlayers][numUnknown];
+		ownerClauseBits = new long[numPlayers];
+		long[] requiredClauses = new long[numUnknown];
+		for (int clause = 0; clause < numClauses; clause++) {
+			long clauseBit = 1L << (clauseShift + clause);
+			long clauseMask = knowledge.getClauseMask(clause) & unknownCards;
+			int lastPos = 0;
+			for (long mask = clauseMask; mask != 0; mask &= mask - 1) {
+				int cardPos = positions[Long.numberOfTrailingZeros(mask)];
+				clauseBits[knowledge.getClauseOwner(clause)][cardPos] |= clauseBit;
+				lastPos = Math.max(lastPos, cardPos);
+			}
+			ownerClauseBits[knowledge.getClauseOwner(clause)] |= clauseBit;
+			for (int laterPos = lastPos; laterPos < numUnknown; laterPos++) {
+				requiredClauses[laterPos] |= clauseBit;
+			}
+		}
+
+		// Forward pass: states[pos] lists every state reachable before the pos-th card is dealt, counts[pos] how many
+		// ways reach each, and moves[pos] where dealing the card to each of its owners leads, as an index into the
+		// next layer or -1 if that owner cannot take it
+		long[][] states = new long[numUnknown + 1][];
+		long[][] counts = new long[numUnknown + 1][];
+		int[][] moves = new int[numUnknown][];
+		states[0] = new long[] {startState};
+		counts[0] = new long[] {1};
+		StateIndex stateIndex = new StateIndex();
+		for (pos = 0; pos < numUnknown; pos++) {
+			long[] layerStates = states[pos];
+			long[] layerCounts = counts[pos];
+			int[] cardOwners = owners[pos];
+			// Most states lead to about as many states as there were, so these and the index rarely have to grow
+			long[] nextStates = new long[Math.max(8, layerStates.length * 2)];
+			long[] nextCounts = new long[nextStates.length];
+			int[] layerMoves = new int[layerStates.length * cardOwners.length];
+			int numNextStates = 0;
+			stateIndex.clear(nextStates.length);
+			for (int stateIdx = 0; stateIdx < layerStates.length; stateIdx++) {
+				int forcedOwnerIdx = findForcedOwner(layerStates[stateIdx], pos);
+				for (int ownerIdx = 0; ownerIdx < cardOwners.length; ownerIdx++) {
+					int move = -1;
+					long nextState = forcedOwnerIdx == -1 || forcedOwnerIdx == ownerIdx ? assign(layerStates[stateIdx], pos, cardOwners[ownerIdx]) : -1;
+					if (nextState >= 0 && (nextState & requiredClauses[pos]) == requiredClauses[pos]) {
+						move = stateIndex.indexOf(nextState, numNextStates);
+						if (move == numNextStates) {
+							if (numNextStates == nextStates.length) {
+								nextStates = Arrays.copyOf(nextStates, numNextStates * 2);
+								nextCounts = Arrays.copyOf(nextCounts, numNextStates * 2);
+							}
+							nextStates[numNextStates++] = nextState;
+						}
+						nextCounts[move] = Math.addExact(nextCounts[move], layerCounts[stateIdx]);
+					}
+					layerMoves[stateIdx * cardOwners.length + ownerIdx] = move;
+				}
+			}
+			if (numNextStates > MAX_STATES_PER_CARD) {
+				return;
+			}
+			states[pos + 1] = Arrays.copyOf(nextStates, numNextStates);
+			counts[pos + 1] = Arrays.copyOf(nextCounts, numNextStates);
+			moves[pos] = layerMoves;
+		}
+
+		// Backward pass: ways is how many ways there are to deal the rest of the cards from each state of the layer.
+		// A card is in the envelope in every way of reaching a state, dealing it to the envelope, and finishing from
+		// there, and an owner can hold a card if some state that is reached can be finished after dealing it to them,
+		// which are both worked out on the way back as well.
+		long[] envelopeDeals = new long[numUnknown];
+		long[] cardPossibleOwners = new long[numUnknown];
+		long[] nextWays = new long[states[numUnknown].length];
+		Arrays.fill(nextWays, 1);
+		for (pos = numUnknown - 1; pos >= 0; pos--) {
+			long[] layerCounts = counts[pos];
+			int[] layerMoves = moves[pos];
+			int numOwners = owners[pos].length;
+			// The envelope comes after every player, so it can only be the last owner
+			boolean isEnvelopeOwner = owners[pos][numOwners - 1] == numPlayers;
+			long[] ways = new long[layerCounts.length];
+			for (int stateIdx = 0; stateIdx < ways.length; stateIdx++) {
+				long stateWays = 0;
+				for (int ownerIdx = 0; ownerIdx < numOwners; ownerIdx++) {
+					int move = layerMoves[stateIdx * numOwners + ownerIdx];
+					if (move >= 0 && nextWays[move] > 0) {
+						stateWays = Math.addExact(stateWays, nextWays[move]);
+						cardPossibleOwners[pos] |= 1L << ownerIdx;
+					}
+				}
+				ways[stateIdx] = stateWays;
+				int envelopeMove = layerMoves[(stateIdx + 1) * numOwners - 1];
+				if (isEnvelopeOwner && envelopeMove >= 0) {
+					envelopeDeals[pos] = Math.addExact(envelopeDeals[pos], Math.multiplyExact(layerCounts[stateIdx], nextWays[envelopeMove]));
+				}
+			}
+			nextWays = ways;
+		}
+
+		long totalDeals = nextWays[0];
+		if (totalDeals == 0) {
+			return;
+		}
+
+		possibleCards = new long[numPlayers + 1];
+		for (int owner = 0; owner <= numPlayers; owner++) {
+			possibleCards[owner] = knowledge.getHasMask(owner);
+		}
+		for (pos = 0; pos < numUnknown; pos++) {
+			for (long mask = cardPossibleOwners[pos]; mask != 0; mask &= mask - 1) {
+				possibleCards[owners[pos][Long.numberOfTrailingZeros(mask)]] |= 1L << cards[pos];
+			}
+		}
+		certainCards = new long[numPlayers + 1];
+		for (int owner = 0; owner <= numPlayers; owner++) {
+			long othersPossible = 0;
+			for (int other = 0; other <= numPlayers; other++) {
+				if (other != owner) {
+					othersPossible |= possibleCards[other];
+				}
+			}
+			certainCards[owner] = possibleCards[owner] & ~othersPossible;
+		}
+		countedClauseOwners = new int[numClauses];
+		countedClauseMasks = new long[numClauses];
+		for (int clause = 0; clause < numClauses; clause++) {
+			countedClauseOwners[clause] = knowledge.getClauseOwner(clause);
+			countedClauseMasks[clause] = knowledge.getClauseMask(clause);
+		}
+
+		double[] probabilities = new double[numCards];
+		for (long mask = knowledge.getHasMask(numPlayers); mask != 0; mask &= mask - 1) {
+			probabilities[Long.numberOfTrailingZeros(mask)] = 1;
+		}
+		for (pos = 0; pos < numUnknown; pos++) {
+			probabilities[cards[pos]] = (double) envelopeDeals[pos] / totalDeals;
+		}
+
+		numDeals = totalDeals;
+		belief = new EnvelopeBelief(cardRegistry, probabilities, 0, true);
+	}
+
+	// The index among the owners of the pos-th card of the one it has to be dealt to, since the cards after it could
+	// not fill that owner's hand or envelope slot otherwise, -1 if it may go to any of them, or -2 if two of them need it
+	private int findForcedOwner(long state, int pos) {
+		int[] cardOwners = owners[pos];
+		int forcedOwnerIdx = -1;
+		for (int ownerIdx = 0; ownerIdx < cardOwners.length; ownerIdx++) {
+			int owner = cardOwners[ownerIdx];
+			boolean isForced;
+			if (owner == numPlayers) {
+				long slotBit = envelopeSlotBits[pos];
+				isForced = (state & slotBit) == 0 && (openSlotsAfter[pos + 1] & slotBit) == 0;
+			} else {
+				isForced = ((state >>> (capacityBits * owner)) & capacityMask) == roomAfter[pos][owner];
+			}
+			if (isForced) {
+				if (forcedOwnerIdx >= 0) {
+					return -2;
+				}
+				forcedOwnerIdx = ownerIdx;
+			}
+		}
+		return forcedOwnerIdx;
+	}
+
+	// The state after dealing the pos-th card to owner, or -1 if owner has no room left for it or it would fill a
+	// player's hand while one of their clauses is still unsatisfied
+	private long assign(long state, int pos, int owner) {
+		if (owner == numPlayers) {
+			long slotBit = envelopeSlotBits[pos];
+			return (state & slotBit) != 0 ? -1 : state | slotBit;
+		}
+		int shift = capacityBits * owner;
+		if (((state >>> shift) & capacityMask) == 0) {
+			return -1;
+		}
+		long nextState = (state - (1L << shift)) | clauseBits[owner][pos];
+		if (((nextState >>> shift) & capacityMask) == 0 && (nextState & ownerClauseBits[owner]) != ownerClauseBits[owner]) {
+			return -1;
+		}
+		return nextState;
+	}
+
+	// Open addressing map from each state of the layer being built to its index in that layer, cleared for every layer
+	private static final class StateIndex {
+		private static final long EMPTY = -1;
+
+		private long[] keys = new long[0];
+		private int[] indices = new int[0];
+		// Only the first mask + 1 slots are in use, so a small layer does not have to clear a table sized for a big one
+		private int mask;
+
+		private void clear(int expectedSize) {
+			resize(Integer.highestOneBit(Math.max(8, expectedSize) * 2 - 1) * 2);
+		}
+
+		private void resize(int capacity) {
+			if (capacity > keys.length) {
+				keys = new long[capacity];
+				indices = new int[capacity];
+			}
+			mask = capacity - 1;
+			Arrays.fill(keys, 0, capacity, EMPTY);
+		}
+
+		// The index of key, which is given size, the number of states indexed so far, if it was not there yet
+		private int indexOf(long key, int size) {
+			int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> Long.numberOfLeadingZeros(mask));
+			while (keys[slot] != EMPTY) {
+				if (keys[slot] == key) {
+					return indices[slot];
+				}
+				slot = (slot + 1) & mask;
+			}
+			if (size * 2 >= mask) {
+				grow();
+				return indexOf(key, size);
+			}
+			keys[slot] = key;
+			indices[slot] = size;
+			return size;
+		}
+
+		private void grow() {
+			long[] oldKeys = Arrays.copyOf(keys, mask + 1);
+			int[] oldIndices = Arrays.copyOf(indices, mask + 1);
+			resize((mask + 1) * 2);
+			for (int oldSlot = 0; oldSlot < oldKeys.length; oldSlot++) {
+				if (oldKeys[oldSlot] != EMPTY) {
+					int slot = (int) ((oldKeys[oldSlot] * 0x9E3779B97F4A7C15L) >>> Long.numberOfLeadingZeros(mask));
+					while (keys[slot] != EMPTY) {
+						slot = (slot + 1) & mask;
+					}
+					keys[slot] = oldKeys[oldSlot];
+					indices[slot] = oldIndices[oldSlot];
+				}
+			}
+		}
+	}
+}
@@ -3,11 +3,11 @@
  *
  * Purpose: The DoorDirection enum is used to represent the direction of a door on a board cell.
  *
- * Responsibilities: The DoorDirection enum is responsible for storing the possible directions of a door on a board cell and providing a method to get the direction of a door based on a character. The DoorDirection enum is also responsible for throwing an exception if the character is not a valid door direction. The DoorDirection enum is used by the BoardCell class to store the direction of a door on a board cell. The DoorDirection enum is also used by the Board class to load the board configuration from a file.
+ * Responsibilities: The DoorDirection enum is responsible for storing the possible directions of a door on a board cell and providing a method to get the direction of a door based on a character. The DoorDirection enum is also responsible for throwing an exception if the character is not a valid door direction, or for giving null instead when the caller is reading a marker that may not be a door at all. The DoorDirection enum is used by the BoardCell class to store the direction of a door on a board cell. The DoorDirection enum is also used by the Board class to load the board configuration from a file.
  *
  * Authors: Aragorn Wang, Anya Streit
  * 
- * Date Last Edited: March 25, 2025
+ * Date Last Edited: October 18, 2026
  * 
  * Collaborators: None
  * 
@@ -19,6 +19,8 @@ package clueGame;
 public enum DoorDirection {
 	UP('^'), DOWN('v'), LEFT('<'), RIGHT('>');
 
+	private static final DoorDirection[] DIRECTIONS = values();
+
 	private final char value;
 
 	DoorDirection(char value) {
@@ -30,13 +32,21 @@ public enum DoorDirection {
 	}
 
 	public static DoorDirection getDirection(char value) throws BadConfigFormatException {
-		for (DoorDirection direction : DoorDirection.values()) {
+		DoorDirection direction = fromValue(value);
+		if (direction == null) {
+			// If the character is not a valid door direction, throw an exception since the config file must be invalid
+			throw new BadConfigFormatException("Invalid door direction");
+		}
+		return direction;
+	}
+
+	// The direction with this character, or null if there is none, for markers that may be something other than a door
+	public static DoorDirection fromValue(char value) {
+		for (DoorDirection direction : DIRECTIONS) {
 			if (direction.value == value) {
 				return direction;
 			}
 		}
-
-		// If the character is not a valid door direction, throw an exception since the config file must be invalid
-		throw new BadConfigFormatException("Invalid door direction");
+		return null;
 	}
 }
\ No newline at end of file
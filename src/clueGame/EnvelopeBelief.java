@@ -0,0 +1,232 @@
+/*
+ * Class: EnvelopeBelief
+ *
+ * Purpose: The EnvelopeBelief class estimates how likely each card is to be in the case file envelope, given everything a computer player's KnowledgeBase says, by dealing random hands that agree with it and counting which cards end up in the envelope.
+ *
+ * Responsibilities: The EnvelopeBelief class is responsible for sampling deals that agree with a KnowledgeBase, spreading the sampling over a fork-join pool, stopping once its sample count or time budget runs out, and answering how likely each card and each type's most likely card is. A deal picks one possible envelope card of each type, then gives the rest of the unknown cards one at a time, in a random order, to a random player with room left who is not known to lack it, and is thrown away if it breaks a disproval clause or gets stuck. Dealing this way makes some deals more likely than others, so each kept deal is weighted by how unlikely it was to be dealt: the number of players each card could have gone to, multiplied over every card. The envelope probabilities are the weighted share of deals with each card in the envelope, which tends to the share of all deals that agree with the KnowledgeBase, the one DealCounter works out exactly, as more deals are sampled.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package clueGame;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class EnvelopeBelief {
+	public static final int DEFAULT_MAX_SAMPLES = 512;
+	public static final long DEFAULT_TIME_BUDGET_NANOS = 5_000_000;
+
+	// Fewer deals than this are not worth handing to another thread
+	private static final int SAMPLES_PER_TASK = 128;
+	// How often a task checks the clock
+	private static final int SAMPLES_PER_CLOCK_CHECK = 32;
+
+	private static final CardType[] CARD_TYPES = CardType.values();
+
+	private final CardRegistry cardRegistry;
+	private final double[] probabilities;
+	private final int numSamples;
+	// Worked out by counting every deal, as a DealCounter does, rather than by sampling
+	private final boolean isExact;
+
+	EnvelopeBelief(CardRegistry cardRegistry, double[] probabilities, int numSamples, boolean isExact) {
+		super();
+		this.cardRegistry = cardRegistry;
+		this.probabilities = probabilities;
+		this.numSamples = numSamples;
+		this.isExact = isExact;
+	}
+
+	public static EnvelopeBelief estimate(KnowledgeBase knowledge) {
+		return estimate(knowledge, DEFAULT_MAX_SAMPLES, DEFAULT_TIME_BUDGET_NANOS, ForkJoinPool.commonPool());
+	}
+
+	// Tries at most maxSamples deals and stops early once timeBudgetNanos have passed
+	public static EnvelopeBelief estimate(KnowledgeBase knowledge, int maxSamples, long timeBudgetNanos, ForkJoinPool pool) {
+		CardRegistry cardRegistry = knowledge.getCardRegistry();
+		// Halved so that a budget of Long.MAX_VALUE does not wrap around, and compared by subtraction as nanoTime may be negative
+		long deadline = System.nanoTime() + Math.min(timeBudgetNanos, Long.MAX_VALUE / 2);
+		// Facts that contradict each other have no deals that agree with them
+		double[] weights = knowledge.isConsistent()
+			? pool.invoke(new SampleTask(knowledge, maxSamples, deadline))
+			: new double[cardRegistry.size() + 2];
+
+		// The last two entries are the total weight and the number of deals that agreed with everything
+		double totalWeight = weights[cardRegistry.size()];
+		int numAccepted = (int) weights[cardRegistry.size() + 1];
+		double[] probabilities = new double[cardRegistry.size()];
+		if (numAccepted > 0) {
+			for (int id = 0; id < probabilities.length; id++) {
+				probabilities[id] = weights[id] / totalWeight;
+			}
+		} else {
+			// Nothing sampled in time, so every possible card of a type is as likely as the others
+			long possibleMask = knowledge.getPossibleEnvelopeMask();
+			for (CardType type : CARD_TYPES) {
+				long possibleOfType = possibleMask & cardRegistry.getTypeMask(type);
+				for (long mask = possibleOfType; mask != 0; mask &= mask - 1) {
+					probabilities[Long.numberOfTrailingZeros(mask)] = 1.0 / Long.bitCount(possibleOfType);
+				}
+			}
+		}
+		return new EnvelopeBelief(cardRegistry, probabilities, numAccepted, false);
+	}
+
+	public double getProbability(Card card) {
+		int id = cardRegistry.getId(card);
+		return id < 0 ? 0 : probabilities[id];
+	}
+
+	public double getProbability(int cardId) {
+		return probabilities[cardId];
+	}
+
+	// The card of the given type most likely to be in the envelope
+	public Card getMostLikely(CardType type) {
+		int bestId = -1;
+		for (long mask = cardRegistry.getTypeMask(type); mask != 0; mask &= mask - 1) {
+			int id = Long.numberOfTrailingZeros(mask);
+			if (bestId < 0 || probabilities[id] > probabilities[bestId]) {
+				bestId = id;
+			}
+		}
+		return bestId < 0 ? null : cardRegistry.getCard(bestId);
+	}
+
+	public int getNumSamples() {
+		return numSamples;
+	}
+
+	public boolean isExact() {
+		return isExact;
+	}
+
+	private static final class SampleTask extends RecursiveTask<double[]> {
+		private static final long serialVersionUID = 1L;
+
+		private final transient KnowledgeBase knowledge;
+		private final int numSamples;
+		private final long deadline;
+
+		private SampleTask(KnowledgeBase knowledge, int numSamples, long deadline) {
+			super();
+			this.knowledge = knowledge;
+			this.numSamples = numSamples;
+			this.deadline = deadline;
+		}
+
+		@Override
+		protected double[] compute() {
+			if (numSamples > SAMPLES_PER_TASK) {
+				SampleTask firstHalf = new SampleTask(knowledge, numSamples / 2, deadline);
+				SampleTask secondHalf = new SampleTask(knowledge, numSamples - numSamples / 2, deadline);
+				firstHalf.fork();
+				double[] weights = secondHalf.compute();
+				double[] otherWeights = firstHalf.join();
+				for (int index = 0; index < weights.length; index++) {
+					weights[index] += otherWeights[index];
+				}
+				return weights;
+			}
+			return sample();
+		}
+
+		private double[] sample() {
+			CardRegistry cardRegistry = knowledge.getCardRegistry();
+			int numPlayers = knowledge.getNumPlayers();
+			int numCards = cardRegistry.size();
+			double[] weights = new double[numCards + 2];
+
+			long[] hands = new long[numPlayers];
+			int[] roomLeft = new int[numPlayers];
+			int[] cardOrder = new int[numCards];
+			int[] eligible = new int[numPlayers];
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+
+			long possibleEnvelope = knowledge.getPossibleEnvelopeMask();
+			long knownHeld = 0;
+			for (int player = 0; player < numPlayers; player++) {
+				knownHeld |= knowledge.getHasMask(player);
+			}
+
+			for (int sample = 0; sample < numSamples; sample++) {
+				if (sample % SAMPLES_PER_CLOCK_CHECK == 0 && System.nanoTime() - deadline > 0) {
+					break;
+				}
+
+				long envelope = 0;
+				for (CardType type : CARD_TYPES) {
+					envelope |= pickRandomBit(possibleEnvelope & cardRegistry.getTypeMask(type), random);
+				}
+
+				boolean isStuck = false;
+				// How many deals are as likely to be dealt as this one, up to the same factor for every deal
+				double weight = 1;
+				for (int player = 0; player < numPlayers; player++) {
+					hands[player] = knowledge.getHasMask(player);
+					roomLeft[player] = knowledge.getHandSize(player) - Long.bitCount(hands[player]);
+				}
+
+				// Deal the cards nobody is known to hold in a random order
+				int numToDeal = 0;
+				for (long mask = cardRegistry.getAllCardsMask() & ~envelope & ~knownHeld; mask != 0; mask &= mask - 1) {
+					int swapPos = random.nextInt(numToDeal + 1);
+					cardOrder[numToDeal] = cardOrder[swapPos];
+					cardOrder[swapPos] = Long.numberOfTrailingZeros(mask);
+					numToDeal++;
+				}
+				for (int pos = 0; pos < numToDeal && !isStuck; pos++) {
+					long cardMask = 1L << cardOrder[pos];
+					int numEligible = 0;
+					for (int player = 0; player < numPlayers; player++) {
+						if (roomLeft[player] > 0 && (knowledge.getLacksMask(player) & cardMask) == 0) {
+							eligible[numEligible++] = player;
+						}
+					}
+					if (numEligible == 0) {
+						isStuck = true;
+					} else {
+						weight *= numEligible;
+						int player = eligible[random.nextInt(numEligible)];
+						hands[player] |= cardMask;
+						roomLeft[player]--;
+					}
+				}
+
+				if (isStuck || !satisfiesClauses(hands)) {
+					continue;
+				}
+				for (long mask = envelope; mask != 0; mask &= mask - 1) {
+					weights[Long.numberOfTrailingZeros(mask)] += weight;
+				}
+				weights[numCards] += weight;
+				weights[numCards + 1]++;
+			}
+			return weights;
+		}
+
+		private boolean satisfiesClauses(long[] hands) {
+			for (int clause = 0; clause < knowledge.getNumClauses(); clause++) {
+				if ((hands[knowledge.getClauseOwner(clause)] & knowledge.getClauseMask(clause)) == 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private static long pickRandomBit(long mask, ThreadLocalRandom random) {
+			for (int skipped = random.nextInt(Long.bitCount(mask)); skipped > 0; skipped--) {
+				mask &= mask - 1;
+			}
+			return Long.lowestOneBit(mask);
+		}
+	}
+}
@@ -7,7 +7,7 @@
  *
  * Authors: Aragorn Wang, Anya Streit
  * 
- * Date Last Edited: April 14, 2025
+ * Date Last Edited: October 18, 2026
  * 
  * Collaborators: None
  * 
@@ -18,8 +18,6 @@ package clueGame;
 
 import java.awt.Color;
 import java.awt.GridLayout;
-import java.util.ArrayList;
-import java.util.Collections;
 
 import javax.swing.BorderFactory;
 import javax.swing.BoxLayout;
@@ -42,8 +40,12 @@ public class GameControlPanel extends JPanel {
 		guessText,
 		guessResultText;
 
-	public GameControlPanel() {
+	// The game the buttons play, if any
+	private final ClueGame game;
+
+	public GameControlPanel(ClueGame game) {
 		super();
+		this.game = game;
 		setLayout(new GridLayout(2, 0));
 
 		// Top and bottom row panels
@@ -63,14 +65,14 @@ public class GameControlPanel extends JPanel {
 		makeAccusationButton.setBackground(Color.LIGHT_GRAY);
 		makeAccusationButton.setOpaque(true);
 		makeAccusationButton.setBorderPainted(true);
-		makeAccusationButton.addActionListener(_ -> ClueGame.getInstance().makeAccusation());
+		makeAccusationButton.addActionListener(_ -> game.makeAccusation());
 		
 		JButton nextTurnButton = new JButton("NEXT!");
 		nextTurnButton.setBorder(BorderFactory.createLineBorder(Color.BLACK));
 		nextTurnButton.setBackground(Color.LIGHT_GRAY);
 		nextTurnButton.setOpaque(true);
 		nextTurnButton.setBorderPainted(true);
-		nextTurnButton.addActionListener(_ -> ClueGame.getInstance().nextTurn());
+		nextTurnButton.addActionListener(_ -> game.nextTurn());
 	
 		turnAndActionPanel.add(playerTurnPanel);
 		turnAndActionPanel.add(rollPanel);
@@ -122,48 +124,33 @@ public class GameControlPanel extends JPanel {
 		guessResultText.setText(string);
 	}
 	
-	public Card setSuggestion(Solution solution) {
+	public void setSuggestion(Solution solution, Player suggester, Player disprovingPlayer, Card disprovingCard) {
 		if (solution == null) {
 			setGuessText("");
 			setGuessResultText("");
 			guessText.setBackground(Color.LIGHT_GRAY);
 			guessResultText.setBackground(Color.LIGHT_GRAY);
-			return null;
-		}
-		
-		ClueGame clueGame = ClueGame.getInstance();
-		Card card = null;
-		Player disprovalPlayer = null;
-		ArrayList<Player> players = new ArrayList<>(Board.getInstance().getPlayers());
-		Collections.shuffle(players);
-		for (Player player : players) {
-			card = player.disproveSuggestion(solution);
-			if (card != null) {
-				disprovalPlayer = player;
-				break;
-			}
+			return;
 		}
 		
 		// Set guess text
 		setGuessText(solution.toString());
-		guessText.setBackground(Board.getInstance().getPlayers().get(clueGame.getPlayerTurnIndex()).getColor());
+		guessText.setBackground(suggester.getColor());
 		
 		// Set guess text result if no disproval
-		if (card == null) {
+		if (disprovingCard == null) {
 			setGuessResultText("No disproval!");
 			guessResultText.setBackground(Color.LIGHT_GRAY);
-			return null;
+			return;
 		}
 		
-		guessResultText.setBackground(disprovalPlayer.getColor());
+		guessResultText.setBackground(disprovingPlayer.getColor());
 		// Otherwise two cases for if player is/isnt computer
-		if (clueGame.getPlayerTurnIndex() == 0) {
-			setGuessResultText(card.toString());
+		if (suggester.equals(game.getBoard().getHumanPlayer())) {
+			setGuessResultText(disprovingCard.toString());
 		} else {
 			setGuessResultText("Suggestion disproved!");
 		}
-		return card;
-
 	}
 
 	public static void main(String[] args) {
@@ -171,12 +158,12 @@ public class GameControlPanel extends JPanel {
 		JFrame frame = new JFrame();
 		frame.setSize(750, 180);
 		frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-		GameControlPanel gameControlPanel = new GameControlPanel();
+		GameControlPanel gameControlPanel = new GameControlPanel(null);
 		frame.setContentPane(gameControlPanel);
 		frame.setVisible(true);
 
 		// Test setters for panel
-		gameControlPanel.setTurnText(new ComputerPlayer("Fanny Wanter", "Gold", 0, 7), 10);
+		gameControlPanel.setTurnText(new ComputerPlayer(null, "Fanny Wanter", "Gold", 0, 7), 10);
 		gameControlPanel.setGuessText("I have no guess!");
 		gameControlPanel.setGuessResultText("So you have nothing?");
 	}
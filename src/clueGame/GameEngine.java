@@ -0,0 +1,254 @@
+/*
+ * Class: GameEngine
+ *
+ * Purpose: The GameEngine class runs the turn loop of a game of Clue without depending on the Swing GUI, so that games can be played on a server with no display as well as in the ClueGame window.
+ *
+ * Responsibilities: The GameEngine class is responsible for keeping track of whose turn it is, rolling the die, calculating targets, moving players, handling suggestions and accusations, and deciding when a game is over. It also caps the number of turns a game may take and ends games that stop making progress, and it reports everything that happens to its GameListeners.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package clueGame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class GameEngine {
+	public static final int
+		DIE_SIDES = 6,
+		DEFAULT_TURN_CAP = 5000,
+		DEFAULT_STALL_LIMIT = 600;
+
+	private final Board board;
+
+	// Only the die rolls come from here, the players still make their own random choices
+	private final Random random;
+
+	private final List<GameListener> listeners;
+
+	private int playerTurnIndex;
+	private int roll;
+	private int turnCount;
+	private int turnsSinceProgress;
+
+	private int turnCap = DEFAULT_TURN_CAP;
+	private int stallLimit = DEFAULT_STALL_LIMIT;
+
+	private GameStatus status;
+
+	private Player winner;
+
+	public GameEngine(Board board) {
+		this(board, new Random());
+	}
+
+	public GameEngine(Board board, long seed) {
+		this(board, new Random(seed));
+	}
+
+	private GameEngine(Board board, Random random) {
+		super();
+		this.board = board;
+		this.random = random;
+		this.listeners = new ArrayList<>();
+		this.status = GameStatus.IN_PROGRESS;
+	}
+
+	public void addListener(GameListener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(GameListener listener) {
+		listeners.remove(listener);
+	}
+
+	public void startGame() {
+		playerTurnIndex = 0;
+		turnCount = 0;
+		turnsSinceProgress = 0;
+		status = GameStatus.IN_PROGRESS;
+		winner = null;
+		beginTurn();
+	}
+
+	// Plays a whole game in which every seat is a computer player and returns how it ended
+	public GameStatus playGame() {
+		startGame();
+		while (!status.isOver()) {
+			playComputerTurn();
+			advanceTurn();
+		}
+		return status;
+	}
+
+	public void advanceTurn() {
+		if (status.isOver()) {
+			return;
+		}
+
+		turnCount++;
+		turnsSinceProgress++;
+		if (turnCount >= turnCap) {
+			status = GameStatus.TURN_CAP_REACHED;
+			return;
+		}
+		if (turnsSinceProgress >= stallLimit) {
+			// Nobody has learned a new card in a long time, so the game would likely never end
+			status = GameStatus.STALLED;
+			return;
+		}
+
+		playerTurnIndex = (playerTurnIndex + 1) % board.getPlayers().size();
+		beginTurn();
+	}
+
+	private void beginTurn() {
+		Player player = getCurrentPlayer();
+		roll = random.nextInt(DIE_SIDES) + 1;
+		// A computer player that is about to accuse never moves, so its targets would go unread
+		if (!(player instanceof ComputerPlayer computerPlayer && computerPlayer.makeAccusation() != -1)) {
+			board.calcTargets(board.getCell(player.getRow(), player.getColumn()), roll, player.isDragged());
+		}
+		player.setDragged(false);
+
+		for (GameListener listener : listeners) {
+			listener.turnStarted(player, roll);
+		}
+	}
+
+	public void playComputerTurn() {
+		if (!(getCurrentPlayer() instanceof ComputerPlayer player)) {
+			throw new IllegalStateException(getCurrentPlayer().getName() + " is not a computer player.");
+		}
+
+		if (player.makeAccusation() != -1) {
+			accuse(player.createAccusation());
+			return;
+		}
+
+		// Not a TargetStream: selectTarget reads every target whenever it does not pick an unseen room, and the set
+		// calcTargets already worked out may have come straight from the target cache
+		BoardCell target = player.selectTarget(board.getTargets());
+		moveCurrentPlayer(target);
+		if (target.isRoom()) {
+			makeSuggestion(player.createSuggestion());
+		}
+	}
+
+	public void moveCurrentPlayer(BoardCell target) {
+		Player player = getCurrentPlayer();
+		player.move(target);
+
+		for (GameListener listener : listeners) {
+			listener.playerMoved(player, target);
+		}
+	}
+
+	public Card makeSuggestion(Solution suggestion) {
+		Player suggester = getCurrentPlayer();
+		Card disprovingCard = board.handleSuggestion(suggester, suggestion);
+		Player disprovingPlayer = null;
+		if (disprovingCard != null) {
+			disprovingPlayer = getCardOwner(disprovingCard);
+			if (!suggester.getSeenCards().contains(disprovingCard)) {
+				turnsSinceProgress = 0;
+			}
+			// The human player's seen cards are kept by the CardsPanel as they are shown
+			if (suggester instanceof ComputerPlayer) {
+				suggester.updateSeen(disprovingCard);
+			}
+		}
+
+		// The suggested person is dragged into the suggester's room
+		Player suggestedPlayer = board.getPlayerFromCard(suggestion.getPersonCard());
+		if (suggestedPlayer != null && !suggestedPlayer.equals(suggester)) {
+			suggestedPlayer.move(board.getCell(suggester.getRow(), suggester.getColumn()));
+			suggestedPlayer.setDragged(true);
+		}
+
+		// Every computer player hears who could and could not disprove, but only the suggester sees the card
+		for (Player player : board.getPlayers()) {
+			if (player instanceof ComputerPlayer computerPlayer) {
+				computerPlayer.observeSuggestion(suggester, suggestion, disprovingPlayer, player == suggester ? disprovingCard : null);
+			}
+		}
+
+		for (GameListener listener : listeners) {
+			listener.suggestionMade(suggester, suggestion, disprovingPlayer, disprovingCard);
+		}
+		return disprovingCard;
+	}
+
+	public boolean accuse(Solution accusation) {
+		Player accuser = getCurrentPlayer();
+		boolean isCorrect = board.checkAccusation(accusation);
+		status = isCorrect ? GameStatus.SOLVED : GameStatus.FAILED_ACCUSATION;
+		winner = isCorrect ? accuser : null;
+
+		for (GameListener listener : listeners) {
+			listener.accusationMade(accuser, accusation, isCorrect);
+		}
+		return isCorrect;
+	}
+
+	private Player getCardOwner(Card card) {
+		long cardMask = board.getCardRegistry().getMask(card);
+		for (Player player : board.getPlayers()) {
+			if ((player.getHandMask() & cardMask) != 0) {
+				return player;
+			}
+		}
+		return null;
+	}
+
+	public Board getBoard() {
+		return board;
+	}
+
+	public Player getCurrentPlayer() {
+		return board.getPlayers().get(playerTurnIndex);
+	}
+
+	public int getPlayerTurnIndex() {
+		return playerTurnIndex;
+	}
+
+	public int getRoll() {
+		return roll;
+	}
+
+	public int getTurnCount() {
+		return turnCount;
+	}
+
+	public GameStatus getStatus() {
+		return status;
+	}
+
+	public Player getWinner() {
+		return winner;
+	}
+
+	public int getTurnCap() {
+		return turnCap;
+	}
+
+	public void setTurnCap(int turnCap) {
+		this.turnCap = turnCap;
+	}
+
+	public int getStallLimit() {
+		return stallLimit;
+	}
+
+	public void setStallLimit(int stallLimit) {
+		this.stallLimit = stallLimit;
+	}
+}
@@ -0,0 +1,28 @@
+/*
+ * Interface: GameListener
+ *
+ * Purpose: The GameListener interface lets other parts of the program, such as the Swing GUI, observe a game played by the GameEngine.
+ *
+ * Responsibilities: The GameListener interface is responsible for defining the callbacks the GameEngine makes when a turn starts, a player moves, a suggestion is made, or an accusation is made. Every callback does nothing by default so that listeners only need to override the events they care about.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ * 
+ * Date Last Edited: October 18, 2026
+ * 
+ * Collaborators: None
+ * 
+ * Sources: None
+ */
+
+package clueGame;
+
+public interface GameListener {
+	default void turnStarted(Player player, int roll) {}
+
+	default void playerMoved(Player player, BoardCell target) {}
+
+	// Disproving player and card are null when nobody could disprove the suggestion
+	default void suggestionMade(Player suggester, Solution suggestion, Player disprovingPlayer, Card disprovingCard) {}
+
+	default void accusationMade(Player accuser, Solution accusation, boolean isCorrect) {}
+}
@@ -0,0 +1,25 @@
+/*
+ * Enum: GameStatus
+ *
+ * Purpose: The GameStatus enum is used to represent where a game driven by the GameEngine currently stands.
+ *
+ * Responsibilities: The GameStatus enum is responsible for telling a game that is still being played apart from one that ended with a correct accusation, a wrong accusation, or one that the engine gave up on because it ran past its turn cap or stopped making progress.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ * 
+ * Date Last Edited: October 18, 2026
+ * 
+ * Collaborators: None
+ * 
+ * Sources: None
+ */
+
+package clueGame;
+
+public enum GameStatus {
+	IN_PROGRESS, SOLVED, FAILED_ACCUSATION, TURN_CAP_REACHED, STALLED;
+
+	public boolean isOver() {
+		return this != IN_PROGRESS;
+	}
+}
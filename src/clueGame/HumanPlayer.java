@@ -7,7 +7,7 @@
  *
  * Authors: Aragorn Wang, Anya Streit
  * 
- * Date Last Edited: April 5, 2025
+ * * Date Last Edited: October 18, 2026
  * 
  * Collaborators: None
  * 
@@ -17,7 +17,7 @@
 package clueGame;
 
 public class HumanPlayer extends Player {
-	public HumanPlayer(String name, String color, int row, int column) {
-		super(name, color, row, column);
+	public HumanPlayer(Board board, String name, String color, int row, int column) {
+		super(board, name, color, row, column);
 	}
 }
\ No newline at end of file
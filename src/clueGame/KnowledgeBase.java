@@ -0,0 +1,304 @@
+/*
+ * Class: KnowledgeBase
+ *
+ * Purpose: The KnowledgeBase class is what a computer player knows about who holds each card. It is a player by card ownership matrix, with the case file envelope as one more owner, that is filled in from every suggestion the player sees and then closed under the rules of the game, so that the answer can be found long before every other card has been shown.
+ *
+ * Responsibilities: The KnowledgeBase class is responsible for recording which cards each owner is known to hold and known not to hold, and which owners are known to hold at least one card of a suggestion they disproved, and for deducing everything those facts force. Every card has exactly one owner, every player holds exactly as many cards as they were dealt, and the envelope holds exactly one card of each type. Owners are numbered by their index in the board's player list, and the envelope comes after the last player. Each row of the matrix is a pair of CardRegistry masks, so every rule is a few bitwise operations over all cards at once.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package clueGame;
+
+import java.util.Arrays;
+
+public class KnowledgeBase {
+	private static final CardType[] CARD_TYPES = CardType.values();
+
+	private final CardRegistry cardRegistry;
+	private final long allCardsMask;
+
+	private final int numPlayers;
+	private final int[] handSizes;
+
+	// Bit id of row owner is set when that owner is known to hold, or known not to hold, the card with that id
+	private final long[] hasCards;
+	private final long[] lacksCards;
+
+	// Owner clauseOwners[i] holds at least one of the cards in clauseMasks[i]
+	private int[] clauseOwners;
+	private long[] clauseMasks;
+	private int numClauses;
+
+	// Cleared if the facts ever contradict each other, after which nothing more is deduced
+	private boolean isConsistent = true;
+
+	// Goes up whenever a fact is learned, so results worked out from the facts can be kept until it changes
+	private long version;
+
+	public KnowledgeBase(CardRegistry cardRegistry, int[] handSizes) {
+		super();
+		this.cardRegistry = cardRegistry;
+		this.allCardsMask = cardRegistry.getAllCardsMask();
+		this.numPlayers = handSizes.length;
+		this.handSizes = handSizes.clone();
+		this.hasCards = new long[numPlayers + 1];
+		this.lacksCards = new long[numPlayers + 1];
+		this.clauseOwners = new int[16];
+		this.clauseMasks = new long[16];
+	}
+
+	public int getEnvelopeIndex() {
+		return numPlayers;
+	}
+
+	public void addHas(int owner, long cardMask) {
+		if ((hasCards[owner] | cardMask) != hasCards[owner]) {
+			hasCards[owner] |= cardMask;
+			propagate();
+		}
+	}
+
+	public void addLacks(int owner, long cardMask) {
+		if ((lacksCards[owner] | cardMask) != lacksCards[owner]) {
+			lacksCards[owner] |= cardMask;
+			propagate();
+		}
+	}
+
+	public void addHasOneOf(int owner, long cardMask) {
+		if (addClause(owner, cardMask)) {
+			propagate();
+		}
+	}
+
+	// Players are asked in turn order starting after the suggester, so everyone asked before the disprover had none of the cards
+	public void observeSuggestion(int suggester, long suggestionMask, int disprover) {
+		boolean isChanged = false;
+		for (int player = (suggester + 1) % numPlayers; player != suggester && player != disprover; player = (player + 1) % numPlayers) {
+			isChanged |= (lacksCards[player] | suggestionMask) != lacksCards[player];
+			lacksCards[player] |= suggestionMask;
+		}
+		if (disprover >= 0) {
+			isChanged |= addClause(disprover, suggestionMask);
+		}
+		if (isChanged) {
+			propagate();
+		}
+	}
+
+	// Returns false without adding the clause if it is already known to be true
+	private boolean addClause(int owner, long cardMask) {
+		if ((cardMask & hasCards[owner]) != 0) {
+			return false;
+		}
+		for (int clause = 0; clause < numClauses; clause++) {
+			if (clauseOwners[clause] == owner && (clauseMasks[clause] & ~cardMask) == 0) {
+				return false;
+			}
+		}
+		if (numClauses == clauseOwners.length) {
+			clauseOwners = Arrays.copyOf(clauseOwners, numClauses * 2);
+			clauseMasks = Arrays.copyOf(clauseMasks, numClauses * 2);
+		}
+		clauseOwners[numClauses] = owner;
+		clauseMasks[numClauses] = cardMask;
+		numClauses++;
+		return true;
+	}
+
+	// Applies every rule until none of them teaches anything new
+	private void propagate() {
+		version++;
+		boolean isChanged = true;
+		while (isChanged && isConsistent) {
+			isChanged = applyOwnershipRules() | applyHandSizeRules() | applyEnvelopeRules() | applyClauses();
+		}
+	}
+
+	// Every card has exactly one owner
+	private boolean applyOwnershipRules() {
+		boolean isChanged = false;
+		long heldCards = 0;
+		for (long ownerCards : hasCards) {
+			heldCards |= ownerCards;
+		}
+
+		// Cards that some owner might hold, and cards that two or more owners might hold
+		long possibleOnce = 0;
+		long possibleTwice = 0;
+		for (int owner = 0; owner <= numPlayers; owner++) {
+			long newLacks = lacksCards[owner] | (heldCards & ~hasCards[owner]);
+			isChanged |= newLacks != lacksCards[owner];
+			lacksCards[owner] = newLacks;
+
+			long possibleCards = allCardsMask & ~newLacks;
+			possibleTwice |= possibleOnce & possibleCards;
+			possibleOnce |= possibleCards;
+		}
+		if (possibleOnce != allCardsMask) {
+			isConsistent = false;
+			return false;
+		}
+
+		long singleOwnerCards = possibleOnce & ~possibleTwice;
+		for (int owner = 0; owner <= numPlayers; owner++) {
+			long newHas = hasCards[owner] | (singleOwnerCards & ~lacksCards[owner]);
+			isChanged |= newHas != hasCards[owner];
+			hasCards[owner] = newHas;
+			if ((newHas & lacksCards[owner]) != 0) {
+				isConsistent = false;
+			}
+		}
+		return isChanged;
+	}
+
+	// Every player holds exactly as many cards as they were dealt
+	private boolean applyHandSizeRules() {
+		boolean isChanged = false;
+		for (int player = 0; player < numPlayers; player++) {
+			long possibleCards = allCardsMask & ~lacksCards[player];
+			int numHeld = Long.bitCount(hasCards[player]);
+			int numPossible = Long.bitCount(possibleCards);
+			if (numHeld > handSizes[player] || numPossible < handSizes[player]) {
+				isConsistent = false;
+				return false;
+			}
+			if (numHeld == handSizes[player] && numPossible > numHeld) {
+				lacksCards[player] |= possibleCards & ~hasCards[player];
+				isChanged = true;
+			} else if (numPossible == handSizes[player] && numHeld < numPossible) {
+				hasCards[player] |= possibleCards;
+				isChanged = true;
+			}
+		}
+		return isChanged;
+	}
+
+	// The envelope holds exactly one card of each type
+	private boolean applyEnvelopeRules() {
+		boolean isChanged = false;
+		int envelope = numPlayers;
+		for (CardType type : CARD_TYPES) {
+			long typeMask = cardRegistry.getTypeMask(type);
+			long heldOfType = hasCards[envelope] & typeMask;
+			long possibleOfType = typeMask & ~lacksCards[envelope];
+			if (Long.bitCount(heldOfType) > 1 || possibleOfType == 0) {
+				isConsistent = false;
+				return false;
+			}
+			if (heldOfType != 0 && possibleOfType != heldOfType) {
+				lacksCards[envelope] |= possibleOfType & ~heldOfType;
+				isChanged = true;
+			} else if (heldOfType == 0 && Long.bitCount(possibleOfType) == 1) {
+				hasCards[envelope] |= possibleOfType;
+				isChanged = true;
+			}
+		}
+		return isChanged;
+	}
+
+	// A clause is dropped once it is satisfied, and becomes a known card once only one of its cards is left
+	private boolean applyClauses() {
+		boolean isChanged = false;
+		int numKept = 0;
+		for (int clause = 0; clause < numClauses; clause++) {
+			int owner = clauseOwners[clause];
+			long remainingCards = clauseMasks[clause] & ~lacksCards[owner];
+			if ((remainingCards & hasCards[owner]) != 0) {
+				continue;
+			}
+			if (remainingCards == 0) {
+				isConsistent = false;
+				return false;
+			}
+			if (Long.bitCount(remainingCards) == 1) {
+				hasCards[owner] |= remainingCards;
+				isChanged = true;
+				continue;
+			}
+			clauseOwners[numKept] = owner;
+			clauseMasks[numKept] = remainingCards;
+			numKept++;
+		}
+		numClauses = numKept;
+		return isChanged;
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	public boolean isConsistent() {
+		return isConsistent;
+	}
+
+	public boolean isSolved() {
+		return isConsistent && Long.bitCount(hasCards[numPlayers]) == CARD_TYPES.length;
+	}
+
+	// The answer, or null until every card of it is known
+	public Solution getSolution() {
+		if (!isSolved()) {
+			return null;
+		}
+		Solution solution = new Solution();
+		for (long envelopeMask = hasCards[numPlayers]; envelopeMask != 0; envelopeMask &= envelopeMask - 1) {
+			solution.setAnyCard(cardRegistry.getCard(Long.numberOfTrailingZeros(envelopeMask)));
+		}
+		return solution;
+	}
+
+	// Index of the owner known to hold the card, or -1 if that is not known yet
+	public int getOwner(int cardId) {
+		for (int owner = 0; owner <= numPlayers; owner++) {
+			if ((hasCards[owner] & (1L << cardId)) != 0) {
+				return owner;
+			}
+		}
+		return -1;
+	}
+
+	public long getHasMask(int owner) {
+		return hasCards[owner];
+	}
+
+	public long getLacksMask(int owner) {
+		return lacksCards[owner];
+	}
+
+	// Cards that could still be in the envelope
+	public long getPossibleEnvelopeMask() {
+		return allCardsMask & ~lacksCards[numPlayers];
+	}
+
+	public int getNumClauses() {
+		return numClauses;
+	}
+
+	int getNumPlayers() {
+		return numPlayers;
+	}
+
+	int getHandSize(int player) {
+		return handSizes[player];
+	}
+
+	int getClauseOwner(int clause) {
+		return clauseOwners[clause];
+	}
+
+	long getClauseMask(int clause) {
+		return clauseMasks[clause];
+	}
+
+	CardRegistry getCardRegistry() {
+		return cardRegistry;
+	}
+}
@@ -0,0 +1,160 @@
+/*
+ * Class: PackedSolution
+ *
+ * Purpose: The PackedSolution class is an immutable room, person, and weapon triple packed into a single int, so that solutions, suggestions, and accusations can be compared and hashed cheaply and used as keys in maps and caches.
+ *
+ * Responsibilities: The PackedSolution class is responsible for packing the CardRegistry ids of a solution's three cards into one int, unpacking them again, comparing and hashing by that int, and giving the cards as a bitmask or by index so they can be gone through without making a set. A card that is missing or not part of the game is stored as NO_CARD, which never matches a real card.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package clueGame;
+
+public final class PackedSolution {
+	public static final int NUM_CARDS = 3;
+
+	// Field value of a missing card, which is more than any card id
+	public static final int NO_CARD = 0xFF;
+
+	private static final int
+		FIELD_BITS = 8,
+		FIELD_MASK = 0xFF,
+		ROOM_SHIFT = 0,
+		PERSON_SHIFT = FIELD_BITS,
+		WEAPON_SHIFT = 2 * FIELD_BITS;
+
+	private final int packed;
+
+	public PackedSolution(int roomId, int personId, int weaponId) {
+		super();
+		this.packed = pack(roomId, personId, weaponId);
+	}
+
+	private PackedSolution(int packed) {
+		super();
+		this.packed = packed;
+	}
+
+	public static PackedSolution of(CardRegistry cardRegistry, Solution solution) {
+		return new PackedSolution(packBits(cardRegistry, solution));
+	}
+
+	public static PackedSolution fromBits(int packed) {
+		if ((packed >>> NUM_CARDS * FIELD_BITS) != 0) {
+			throw new IllegalArgumentException("Packed solution " + Integer.toHexString(packed) + " has bits set past its weapon.");
+		}
+		return new PackedSolution(packed);
+	}
+
+	// The same int an instance would hold, for code that keeps solutions in primitive arrays
+	public static int packBits(CardRegistry cardRegistry, Solution solution) {
+		return pack(
+			cardRegistry.getId(solution.getRoomCard()),
+			cardRegistry.getId(solution.getPersonCard()),
+			cardRegistry.getId(solution.getWeaponCard())
+		);
+	}
+
+	private static int pack(int roomId, int personId, int weaponId) {
+		return toField(roomId) << ROOM_SHIFT | toField(personId) << PERSON_SHIFT | toField(weaponId) << WEAPON_SHIFT;
+	}
+
+	private static int toField(int id) {
+		if (id < 0) {
+			return NO_CARD;
+		}
+		if (id >= CardRegistry.MAX_CARDS) {
+			throw new IllegalArgumentException("Card id " + id + " is too large to pack.");
+		}
+		return id;
+	}
+
+	private static int fromField(int field) {
+		return field == NO_CARD ? -1 : field;
+	}
+
+	public int getBits() {
+		return packed;
+	}
+
+	public int getRoomId() {
+		return fromField((packed >>> ROOM_SHIFT) & FIELD_MASK);
+	}
+
+	public int getPersonId() {
+		return fromField((packed >>> PERSON_SHIFT) & FIELD_MASK);
+	}
+
+	public int getWeaponId() {
+		return fromField((packed >>> WEAPON_SHIFT) & FIELD_MASK);
+	}
+
+	public int getCardId(CardType type) {
+		return switch (type) {
+			case ROOM -> getRoomId();
+			case PERSON -> getPersonId();
+			case WEAPON -> getWeaponId();
+		};
+	}
+
+	// Index 0 is the room, 1 the person, and 2 the weapon, so the cards can be gone through with a plain for loop
+	public int getCardId(int index) {
+		if (index < 0 || index >= NUM_CARDS) {
+			throw new IndexOutOfBoundsException("A solution has no card " + index + ".");
+		}
+		return fromField((packed >>> index * FIELD_BITS) & FIELD_MASK);
+	}
+
+	public boolean isComplete() {
+		return getRoomId() >= 0 && getPersonId() >= 0 && getWeaponId() >= 0;
+	}
+
+	// The cards as a CardRegistry mask, leaving out missing ones
+	public long getCardMask() {
+		long cardMask = 0;
+		for (int index = 0; index < NUM_CARDS; index++) {
+			int id = getCardId(index);
+			if (id >= 0) {
+				cardMask |= 1L << id;
+			}
+		}
+		return cardMask;
+	}
+
+	public boolean contains(CardRegistry cardRegistry, Card card) {
+		int id = cardRegistry.getId(card);
+		return id >= 0 && getCardId(card.getType()) == id;
+	}
+
+	public Solution toSolution(CardRegistry cardRegistry) {
+		return new Solution(toCard(cardRegistry, getRoomId()), toCard(cardRegistry, getPersonId()), toCard(cardRegistry, getWeaponId()));
+	}
+
+	private static Card toCard(CardRegistry cardRegistry, int id) {
+		return id < 0 ? null : cardRegistry.getCard(id);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		return obj instanceof PackedSolution other && packed == other.packed;
+	}
+
+	@Override
+	public int hashCode() {
+		return Integer.hashCode(packed);
+	}
+
+	@Override
+	public String toString() {
+		return "PACKED SOLUTION: " + getRoomId() + ", " + getPersonId() + ", " + getWeaponId();
+	}
+}
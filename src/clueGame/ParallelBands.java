@@ -0,0 +1,78 @@
+/*
+ * Class: ParallelBands
+ *
+ * Purpose: The ParallelBands class splits work over a large board, such as parsing its layout or building its adjacency lists, into bands that are done at the same time on a fork-join pool.
+ *
+ * Responsibilities: The ParallelBands class is responsible for choosing how many bands to split work into, splitting a range of rows, cells, or bytes into that many nearly equal bands, and running an action once for every band, splitting the bands in halves over the pool the way EnvelopeBelief splits its samples. Each band's action only writes what belongs to its band, so the bands never wait on each other, and the caller merges their results in band order afterwards so that the outcome is the same however the bands were scheduled.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package clueGame;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+final class ParallelBands {
+	// More bands than threads, so that a thread whose bands went quickly can take over others
+	private static final int BANDS_PER_THREAD = 4;
+
+	private ParallelBands() {
+		super();
+	}
+
+	// Enough bands to keep every thread of the pool busy, but never more than there are things to split
+	static int getNumBands(ForkJoinPool pool, int size) {
+		return Math.max(1, Math.min(size, pool.getParallelism() * BANDS_PER_THREAD));
+	}
+
+	// The numBands + 1 boundaries of numBands nearly equal bands covering 0 up to size
+	static int[] split(int size, int numBands) {
+		int[] bandStarts = new int[numBands + 1];
+		for (int band = 0; band <= numBands; band++) {
+			bandStarts[band] = (int) ((long) size * band / numBands);
+		}
+		return bandStarts;
+	}
+
+	// Runs action for every band from 0 up to numBands and returns once they have all finished
+	static void forEach(ForkJoinPool pool, int numBands, IntConsumer action) {
+		if (numBands == 1) {
+			action.accept(0);
+		} else if (numBands > 1) {
+			pool.invoke(new BandTask(action, 0, numBands));
+		}
+	}
+
+	private static final class BandTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final transient IntConsumer action;
+		private final int firstBand;
+		private final int endBand;
+
+		private BandTask(IntConsumer action, int firstBand, int endBand) {
+			super();
+			this.action = action;
+			this.firstBand = firstBand;
+			this.endBand = endBand;
+		}
+
+		@Override
+		protected void compute() {
+			if (endBand - firstBand > 1) {
+				int middleBand = (firstBand + endBand) >>> 1;
+				invokeAll(new BandTask(action, firstBand, middleBand), new BandTask(action, middleBand, endBand));
+			} else {
+				action.accept(firstBand);
+			}
+		}
+	}
+}
@@ -0,0 +1,351 @@
+/*
+ * Class: PatchedTargets
+ *
+ * Purpose: The PatchedTargets class finds the targets of a roll by starting from the targets the roll would have on an empty board, which never change, and patching them for the few cells players are standing on.
+ *
+ * Responsibilities: The PatchedTargets class is responsible for searching each start cell and roll once as if no one were on the board, keeping the targets along with a path that reaches each of them, and for turning those into the targets with the board as it is now. Players only ever take targets away, by standing on them or on the way to them, so any target whose kept path is clear of players is still a target. Only targets whose kept path runs into a player are searched for again, and that search stops as soon as it has found them all, or skips any branch too far from the ones still missing. The paths are kept as a tree of the prefixes they share, which makes checking all of them against the occupied cells a single pass. Empty board targets are kept for as many start cells and rolls as the capacity allows, dropping the least recently used, and stay valid from one turn and one game to the next until the adjacency lists change.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package clueGame;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+public class PatchedTargets {
+	public static final int DEFAULT_CAPACITY = 16384;
+	// Rolls of two dice. The empty board search is not bounded as tightly as BitboardTargets, so longer rolls are
+	// left to it.
+	public static final int MAX_PATH_LENGTH = 12;
+
+	private final BoardGrid grid;
+	private final int numCols;
+	private final int[] adjOffsets;
+	private final int[] adjNeighbors;
+	private final int capacity;
+
+	// Empty board targets by start cell and roll, in access order so the eldest is the least recently used
+	private final LinkedHashMap<Integer, EmptyBoardTargets> entries;
+
+	// The cells a search treats as occupied, which for the empty board search is none of them
+	private final long[] noCellsOccupied;
+	private long[] occupied;
+
+	private final long[] visited;
+	// The cells on the path being searched, and the node each one has in the tree of kept paths, -1 until a target
+	// is found at the end of it
+	private final int[] pathCells;
+	private final int[] pathNodes;
+	private boolean isKeepingPaths;
+
+	// The tree of kept paths and the targets found at the end of them, while an empty board search is running
+	private int[] nodeCells;
+	private int[] nodeParents;
+	private int numNodes;
+	private int[] targetCells;
+	private int[] targetNodes;
+	private int numTargets;
+
+	// Which nodes of the tree of kept paths run into an occupied cell
+	private long[] blockedNodes;
+
+	// Cells the search is still looking for, with each one's position in the list
+	private final int[] missingCells;
+	private final int[] missingPositions;
+	private int numMissing;
+
+	// Fewest moves from the start to each cell on an empty board, and the cells in the order they were reached
+	private final int[] boundSteps;
+	private final int[] boundCells;
+
+	public PatchedTargets(Board board, int capacity) {
+		super();
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Patched targets must be able to keep the targets of at least one roll.");
+		}
+		grid = board.getGrid();
+		numCols = grid.getNumColumns();
+		adjOffsets = grid.getAdjOffsets();
+		adjNeighbors = grid.getAdjNeighbors();
+		this.capacity = capacity;
+		entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, EmptyBoardTargets> eldest) {
+				return size() > PatchedTargets.this.capacity;
+			}
+		};
+
+		int numCells = grid.getNumCells();
+		noCellsOccupied = Bitboards.create(numCells);
+		visited = Bitboards.create(numCells);
+		pathCells = new int[MAX_PATH_LENGTH + 1];
+		pathNodes = new int[MAX_PATH_LENGTH + 1];
+		nodeCells = new int[64];
+		nodeParents = new int[64];
+		targetCells = new int[64];
+		targetNodes = new int[64];
+		blockedNodes = Bitboards.create(64);
+		missingCells = new int[numCells];
+		missingPositions = new int[numCells];
+		Arrays.fill(missingPositions, -1);
+		boundSteps = new int[numCells];
+		Arrays.fill(boundSteps, -1);
+		boundCells = new int[numCells];
+	}
+
+	// Same targets as Board's path search for pathLength from 1 to MAX_PATH_LENGTH, before the dragged and no-move rules
+	public Set<BoardCell> calcTargets(BoardCell startCell, int pathLength) {
+		int startId = startCell.getId();
+		Integer key = startId * (MAX_PATH_LENGTH + 1) + pathLength;
+		EmptyBoardTargets emptyBoardTargets = entries.get(key);
+		if (emptyBoardTargets == null) {
+			emptyBoardTargets = searchEmptyBoard(startId, pathLength);
+			entries.put(key, emptyBoardTargets);
+		}
+
+		long[] occupiedCells = grid.getOccupiedCells();
+		int[] cells = emptyBoardTargets.nodeCells;
+		int[] parents = emptyBoardTargets.nodeParents;
+		if (blockedNodes.length < Bitboards.numWords(cells.length)) {
+			blockedNodes = Bitboards.create(cells.length);
+		}
+		// Parents always come before their children, so one pass finds every path that runs into a player
+		for (int node = 0; node < cells.length; node++) {
+			boolean isBlocked = Bitboards.get(occupiedCells, cells[node]) || (parents[node] >= 0 && Bitboards.get(blockedNodes, parents[node]));
+			Bitboards.set(blockedNodes, node, isBlocked);
+		}
+
+		Set<BoardCell> targets = new HashSet<>();
+		for (int targetPos = 0; targetPos < emptyBoardTargets.targetCells.length; targetPos++) {
+			int cellId = emptyBoardTargets.targetCells[targetPos];
+			int node = emptyBoardTargets.targetNodes[targetPos];
+			if (!grid.hasFlag(cellId, BoardGrid.ROOM_CENTER) && Bitboards.get(occupiedCells, cellId)) {
+				// A player standing on a walkway takes it away, but room centers hold any number of players
+				continue;
+			}
+			if (node >= 0 && Bitboards.get(blockedNodes, node)) {
+				addMissing(cellId);
+			} else {
+				targets.add(grid.getCell(cellId));
+			}
+		}
+
+		if (numMissing > 0) {
+			occupied = occupiedCells;
+			isKeepingPaths = false;
+			numTargets = 0;
+			search(startId, pathLength);
+			for (int targetPos = 0; targetPos < numTargets; targetPos++) {
+				targets.add(grid.getCell(targetCells[targetPos]));
+			}
+			clearMissing();
+		}
+		return targets;
+	}
+
+	// Every target pathLength moves from startId on a board with no one on it, each with a path that reaches it
+	private EmptyBoardTargets searchEmptyBoard(int startId, int pathLength) {
+		occupied = noCellsOccupied;
+		isKeepingPaths = true;
+		numNodes = 0;
+		numTargets = 0;
+
+		// Every target lies within this, so the search is over once nothing in it is missing
+		boolean isParityKept = !grid.hasFlag(startId, BoardGrid.ROOM_CENTER);
+		boundSteps[startId] = 0;
+		boundCells[0] = startId;
+		int numBoundCells = 1;
+		for (int boundPos = 0; boundPos < numBoundCells; boundPos++) {
+			int cellId = boundCells[boundPos];
+			int steps = boundSteps[cellId];
+			// Paths stop at room centers, except the one they start in
+			if (steps == pathLength || (boundPos > 0 && grid.hasFlag(cellId, BoardGrid.ROOM_CENTER))) {
+				continue;
+			}
+			for (int adjPos = adjOffsets[cellId]; adjPos < adjOffsets[cellId + 1]; adjPos++) {
+				int adjId = adjNeighbors[adjPos];
+				if (boundSteps[adjId] < 0) {
+					boundSteps[adjId] = steps + 1;
+					boundCells[numBoundCells++] = adjId;
+				}
+			}
+		}
+		for (int boundPos = 1; boundPos < numBoundCells; boundPos++) {
+			int cellId = boundCells[boundPos];
+			// Past the first move a path only crosses walkways, which alternate parity of row + col with every move
+			int spareSteps = pathLength - boundSteps[cellId];
+			if (grid.hasFlag(cellId, BoardGrid.ROOM_CENTER) || !isParityKept || spareSteps % 2 == 0) {
+				addMissing(cellId);
+			}
+			boundSteps[cellId] = -1;
+		}
+		boundSteps[startId] = -1;
+
+		search(startId, pathLength);
+		clearMissing();
+		return new EmptyBoardTargets(
+			Arrays.copyOf(nodeCells, numNodes), Arrays.copyOf(nodeParents, numNodes),
+			Arrays.copyOf(targetCells, numTargets), Arrays.copyOf(targetNodes, numTargets)
+		);
+	}
+
+	private void search(int startId, int pathLength) {
+		pathCells[0] = startId;
+		pathNodes[0] = -1;
+		Bitboards.set(visited, startId);
+		findMissing(startId, 0, pathLength);
+		Bitboards.clear(visited, startId);
+	}
+
+	// Mirrors BitboardTargets.findAllTargets for paths that can still reach a missing cell, with the cell at depth
+	// of the path already marked visited and remaining moves left
+	private void findMissing(int cellId, int depth, int remaining) {
+		for (int adjPos = adjOffsets[cellId]; adjPos < adjOffsets[cellId + 1] && numMissing > 0; adjPos++) {
+			int adjId = adjNeighbors[adjPos];
+			if (Bitboards.get(visited, adjId)) {
+				continue;
+			}
+			if (grid.hasFlag(adjId, BoardGrid.ROOM_CENTER)) {
+				addTarget(adjId, depth);
+			} else if (!Bitboards.get(occupied, adjId)) {
+				// Adjacency lists only hold walkways and room centers, so this is always a walkway
+				if (remaining == 1) {
+					addTarget(adjId, depth);
+				} else if (isAnyMissingInRange(adjId, remaining - 1)) {
+					pathCells[depth + 1] = adjId;
+					pathNodes[depth + 1] = -1;
+					Bitboards.set(visited, adjId);
+					findMissing(adjId, depth + 1, remaining - 1);
+					Bitboards.clear(visited, adjId);
+				}
+			}
+		}
+	}
+
+	// Records cellId, reached from the cell at depth of the path, if the search is still looking for it
+	private void addTarget(int cellId, int depth) {
+		if (missingPositions[cellId] < 0) {
+			return;
+		}
+		removeMissing(cellId);
+		if (numTargets == targetCells.length) {
+			targetCells = Arrays.copyOf(targetCells, numTargets * 2);
+			targetNodes = Arrays.copyOf(targetNodes, numTargets * 2);
+		}
+		targetCells[numTargets] = cellId;
+		targetNodes[numTargets] = isKeepingPaths ? keepPath(depth) : -1;
+		numTargets++;
+	}
+
+	// Adds the path up to depth to the tree of kept paths, sharing whatever part of it is already there, and returns
+	// the node of its last cell, -1 for a path that is only the start cell
+	private int keepPath(int depth) {
+		for (int pathPos = 1; pathPos <= depth; pathPos++) {
+			if (pathNodes[pathPos] >= 0) {
+				continue;
+			}
+			if (numNodes == nodeCells.length) {
+				nodeCells = Arrays.copyOf(nodeCells, numNodes * 2);
+				nodeParents = Arrays.copyOf(nodeParents, numNodes * 2);
+			}
+			nodeCells[numNodes] = pathCells[pathPos];
+			nodeParents[numNodes] = pathNodes[pathPos - 1];
+			pathNodes[pathPos] = numNodes++;
+		}
+		return pathNodes[depth];
+	}
+
+	// Whether a path on cellId with remaining moves left could still end on some missing cell, going by how many
+	// moves it is away
+	private boolean isAnyMissingInRange(int cellId, int remaining) {
+		int row = cellId / numCols;
+		int col = cellId % numCols;
+		for (int missingPos = 0; missingPos < numMissing; missingPos++) {
+			int missingId = missingCells[missingPos];
+			boolean isInRange = false;
+			if (grid.hasFlag(missingId, BoardGrid.ROOM_CENTER)) {
+				for (int adjPos = adjOffsets[missingId]; adjPos < adjOffsets[missingId + 1] && !isInRange; adjPos++) {
+					int doorwayId = adjNeighbors[adjPos];
+					isInRange = grid.hasFlag(doorwayId, BoardGrid.WALKWAY) && distance(row, col, doorwayId) < remaining;
+				}
+			} else {
+				int distance = distance(row, col, missingId);
+				isInRange = distance <= remaining && (remaining - distance) % 2 == 0;
+			}
+			if (isInRange) {
+				// Nearby branches tend to be in range of the same cell, so check it first from now on
+				int firstId = missingCells[0];
+				missingCells[0] = missingId;
+				missingCells[missingPos] = firstId;
+				missingPositions[missingId] = 0;
+				missingPositions[firstId] = missingPos;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private int distance(int row, int col, int cellId) {
+		return Math.abs(cellId / numCols - row) + Math.abs(cellId % numCols - col);
+	}
+
+	private void addMissing(int cellId) {
+		missingPositions[cellId] = numMissing;
+		missingCells[numMissing++] = cellId;
+	}
+
+	private void removeMissing(int cellId) {
+		int missingPos = missingPositions[cellId];
+		int lastCell = missingCells[--numMissing];
+		missingCells[missingPos] = lastCell;
+		missingPositions[lastCell] = missingPos;
+		missingPositions[cellId] = -1;
+	}
+
+	// Cells still missing once a search is done are not targets
+	private void clearMissing() {
+		while (numMissing > 0) {
+			missingPositions[missingCells[--numMissing]] = -1;
+		}
+	}
+
+	public void clear() {
+		entries.clear();
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	// The targets of one start cell and roll on an empty board, each with the node of the tree of kept paths that
+	// the path to it ends on, -1 if it is next to the start cell
+	private static final class EmptyBoardTargets {
+		private final int[] nodeCells;
+		private final int[] nodeParents;
+		private final int[] targetCells;
+		private final int[] targetNodes;
+
+		private EmptyBoardTargets(int[] nodeCells, int[] nodeParents, int[] targetCells, int[] targetNodes) {
+			this.nodeCells = nodeCells;
+			this.nodeParents = nodeParents;
+			this.targetCells = targetCells;
+			this.targetNodes = targetNodes;
+		}
+	}
+}
@@ -7,7 +7,7 @@
  *
  * Authors: Aragorn Wang, Anya Streit
  * 
- * Date Last Edited: April 14, 2025
+ * Date Last Edited: October 18, 2026
  * 
  * Collaborators: None
  * 
@@ -16,9 +16,9 @@
 
 package clueGame;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.awt.Color;
 import java.awt.Graphics;
@@ -32,24 +32,32 @@ public abstract class Player {
 		TEAL = new Color(137, 224, 2),
 		RED = new Color(203, 88, 76);
 
+	// The board of the game this player is in
+	private final Board board;
+
 	private String name;
 	private Color color;
 
 	private int row;
 	private int column;
 
-	private Set<Card> hand;
-	private Set<Card> seenCards;
+	private final int startRow;
+	private final int startColumn;
+
+	// Bit id is set when the card with that id in the board's CardRegistry is in the hand or has been seen
+	private long handMask;
+	private long seenMask;
 	
 	private boolean dragged = false;
 	
-	public Player(String name, String color, int row, int column) {
+	public Player(Board board, String name, String color, int row, int column) {
 		super();
-		this.hand = new HashSet<Card>();
-		this.seenCards = new HashSet<>();
+		this.board = board;
 		this.name = name;
 		this.row = row;
 		this.column = column;
+		this.startRow = row;
+		this.startColumn = column;
 		switch (color) {
 			case "Gold" -> this.color = GOLD;
 			case "Blue" -> this.color = BLUE;
@@ -69,30 +77,44 @@ public abstract class Player {
 	}
 
 	public boolean updateHand(Card card) {
-		return hand.add(card);
+		long oldHandMask = handMask;
+		handMask |= getCardMask(card);
+		return handMask != oldHandMask;
 	}
 
 	public boolean removeFromHand(Card card) {
-		return hand.remove(card);
+		long oldHandMask = handMask;
+		handMask &= ~getCardMask(card);
+		return handMask != oldHandMask;
 	}
 
 	public boolean updateSeen(Card seenCard) {
-		return seenCards.add(seenCard);
+		long oldSeenMask = seenMask;
+		seenMask |= getCardMask(seenCard);
+		return seenMask != oldSeenMask;
 	}
 
 	public boolean removeFromSeen(Card card) {
-		return seenCards.remove(card);
+		long oldSeenMask = seenMask;
+		seenMask &= ~getCardMask(card);
+		return seenMask != oldSeenMask;
 	}
 
-	public Card disproveSuggestion(Solution suggestion) {
-		Set<Card> matchingCards = new HashSet<>(hand);
-		// Retain all will do a set intersection between the two sets
-		matchingCards.retainAll(suggestion.getCardSet());
-		List<Card> matchingCardsList = new ArrayList<>(matchingCards);
-		if (!matchingCardsList.isEmpty()) {
-			return matchingCardsList.get((int) (Math.random() * (matchingCardsList.size())));
+	private long getCardMask(Card card) {
+		long cardMask = board.getCardRegistry().getMask(card);
+		if (cardMask == 0) {
+			throw new IllegalArgumentException("Card " + card + " is not part of this game.");
 		}
-		return null;
+		return cardMask;
+	}
+
+	public Card disproveSuggestion(Solution suggestion) {
+		return disproveSuggestion(board.getCardRegistry().getMask(suggestion));
+	}
+
+	// Shows a random card of the hand that is in suggestionMask, without building any sets
+	public Card disproveSuggestion(long suggestionMask) {
+		return board.getCardRegistry().getRandomCard(handMask & suggestionMask);
 	}
 
 	@Override
@@ -113,12 +135,20 @@ public abstract class Player {
 	}
 	
 	public void move(BoardCell cell) {
-		Board.getInstance().getCell(row, column).setOccupied(false);
+		board.getCell(row, column).setOccupied(false);
 		cell.setOccupied(true);
 		row = cell.getRow();
 		column = cell.getCol();
 	}
 
+	public void reset() {
+		handMask = 0;
+		seenMask = 0;
+		dragged = false;
+		row = startRow;
+		column = startColumn;
+	}
+
 	public boolean isDragged() {
 		return dragged;
 	}
@@ -127,6 +157,10 @@ public abstract class Player {
 		this.dragged = dragged;
 	}
 
+	public Board getBoard() {
+		return board;
+	}
+
 	public String getName() {
 		return name;
 	}
@@ -143,25 +177,81 @@ public abstract class Player {
 		return column;
 	}
 	
+	public long getHandMask() {
+		return handMask;
+	}
+
+	public long getSeenMask() {
+		return seenMask;
+	}
+
+	// Read-only, and follows later changes to the hand
 	public Set<Card> getHand() {
-		return hand;
+		return new CardMaskView(true);
 	}
 
 	public Card getAnyHandCard() {
-		if (hand.isEmpty()) {
+		if (handMask == 0) {
 			return null;
 		}
-		return hand.iterator().next();
+		return board.getCardRegistry().getCard(Long.numberOfTrailingZeros(handMask));
 	}
 
+	// Read-only, and follows later changes to the seen cards
 	public Set<Card> getSeenCards() {
-		return seenCards;
+		return new CardMaskView(false);
 	}
 
 	public Card getAnySeenCard() {
-		if (seenCards.isEmpty()) {
+		if (seenMask == 0) {
 			return null;
 		}
-		return seenCards.iterator().next();
+		return board.getCardRegistry().getCard(Long.numberOfTrailingZeros(seenMask));
+	}
+
+	// The cards of the hand or seen mask in id order, which is the order they were read from the setup config
+	private final class CardMaskView extends AbstractSet<Card> {
+		private final boolean isHand;
+
+		private CardMaskView(boolean isHand) {
+			super();
+			this.isHand = isHand;
+		}
+
+		private long getMask() {
+			return isHand ? handMask : seenMask;
+		}
+
+		@Override
+		public int size() {
+			return Long.bitCount(getMask());
+		}
+
+		@Override
+		public boolean contains(Object obj) {
+			return obj instanceof Card card && (getMask() & board.getCardRegistry().getMask(card)) != 0;
+		}
+
+		@Override
+		public Iterator<Card> iterator() {
+			return new Iterator<>() {
+				private long remaining = getMask();
+
+				@Override
+				public boolean hasNext() {
+					return remaining != 0;
+				}
+
+				@Override
+				public Card next() {
+					if (remaining == 0) {
+						throw new NoSuchElementException();
+					}
+					int id = Long.numberOfTrailingZeros(remaining);
+					remaining &= remaining - 1;
+					return board.getCardRegistry().getCard(id);
+				}
+			};
+		}
 	}
 }
\ No newline at end of file
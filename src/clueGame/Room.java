@@ -7,7 +7,7 @@
  *
  * Authors: Aragorn Wang, Anya Streit
  * 
- * Date Last Edited: March 25, 2025
+ * Date Last Edited: October 18, 2026
  * 
  * Collaborators: None
  * 
@@ -28,6 +28,9 @@ public class Room {
 	private BoardCell centerCell;
 	private BoardCell labelCell;
 
+	// Null for spaces like the walkway, which are not rooms anyone can suggest
+	private Card card;
+
 	public Room(String name) {
 		super();
 		this.name = name;
@@ -53,6 +56,14 @@ public class Room {
 		return name;
 	}
 
+	public Card getCard() {
+		return card;
+	}
+
+	public void setCard(Card card) {
+		this.card = card;
+	}
+
 	public BoardCell getCenterCell() {
 		return centerCell;
 	}
@@ -7,7 +7,7 @@
  *
  * Authors: Aragorn Wang, Anya Streit
  * 
- * Date Last Edited: April 14, 2025
+ * Date Last Edited: October 18, 2026
  * 
  * Collaborators: None
  * 
@@ -17,6 +17,7 @@
 package clueGame;
 
 import java.util.HashSet;
+import java.util.Objects;
 import java.util.Set;
 
 public class Solution {
@@ -52,9 +53,15 @@ public class Solution {
 			return true;
 		}
 		Solution other = (Solution) obj;
-		return roomCard.equals(other.roomCard)
-			&& personCard.equals(other.personCard)
-			&& weaponCard.equals(other.weaponCard);
+		return Objects.equals(roomCard, other.roomCard)
+			&& Objects.equals(personCard, other.personCard)
+			&& Objects.equals(weaponCard, other.weaponCard);
+	}
+
+	// Solutions can be changed, so one should not be changed while it is a key in a map; use a PackedSolution for that
+	@Override
+	public int hashCode() {
+		return (Objects.hashCode(roomCard) * 31 + Objects.hashCode(personCard)) * 31 + Objects.hashCode(weaponCard);
 	}
 
 	@Override
@@ -86,6 +93,16 @@ public class Solution {
 		this.weaponCard = weaponCard;
 	}
 
+	// Index 0 is the room, 1 the person, and 2 the weapon, for going through the cards without making a set
+	public Card getCard(int index) {
+		return switch (index) {
+			case 0 -> roomCard;
+			case 1 -> personCard;
+			case 2 -> weaponCard;
+			default -> throw new IndexOutOfBoundsException("A solution has no card " + index + ".");
+		};
+	}
+
 	public Set<Card> getCardSet() {
 		Set<Card> cardList = new HashSet<>();
 		cardList.add(roomCard);
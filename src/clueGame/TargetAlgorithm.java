@@ -0,0 +1,21 @@
+/*
+ * Enum: TargetAlgorithm
+ *
+ * Purpose: The TargetAlgorithm enum is used to choose how the Board calculates the targets of a roll.
+ *
+ * Responsibilities: The TargetAlgorithm enum is responsible for naming each of the ways the Board can find targets. RECURSIVE is the original depth-first search over paths, which the others are checked against and which TargetSearch now runs from its own stack rather than the call stack, and BITBOARD is the BitboardTargets search, which finds the same targets much faster on large rolls and boards. CORRIDOR is the CorridorGraph search, which crosses a whole corridor of the board in one step and suits large layouts made mostly of long narrow walkways. PATCHED is the default, which patches the targets a roll has on an empty board, found once by PatchedTargets, for the cells players stand on, and leaves rolls longer than two dice to BITBOARD.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ * 
+ * Date Last Edited: October 18, 2026
+ * 
+ * Collaborators: None
+ * 
+ * Sources: None
+ */
+
+package clueGame;
+
+public enum TargetAlgorithm {
+	RECURSIVE, BITBOARD, CORRIDOR, PATCHED;
+}
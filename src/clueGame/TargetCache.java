@@ -0,0 +1,208 @@
+/*
+ * Class: TargetCache
+ *
+ * Purpose: The TargetCache class remembers the targets the Board has already calculated, so that asking for the targets of the same roll from the same cell again does not search the board again.
+ *
+ * Responsibilities: The TargetCache class is responsible for storing target sets by start cell, roll, dragged flag, and the occupied walkways a path of that roll could run into, for evicting the least recently used target set once it is full, and for counting its hits, misses, and evictions. Players in rooms never block a path, and a walkway more moves away than the roll can never be stepped on, so a Player.move only keeps the cache from using the target sets whose paths could reach the walkways it left or entered. Every other target set stays usable.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package clueGame;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+public class TargetCache {
+	public static final int DEFAULT_CAPACITY = 16384;
+
+	private final BoardGrid grid;
+	private final int numCols;
+	private final int capacity;
+
+	// In access order, so the eldest entry is always the least recently used one
+	private final LinkedHashMap<Key, Entry> entries;
+
+	// Bit row * numCols + col is set when that cell is an occupied walkway
+	private final long[] occupiedWalkways;
+
+	// The occupied walkways that matter to the lookup being made, in index order
+	private final int[] blockers;
+	private int numBlockers;
+
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	public TargetCache(BoardGrid grid, int capacity) {
+		super();
+		if (capacity < 1) {
+			throw new IllegalArgumentException("A target cache must be able to hold at least one target set.");
+		}
+		this.grid = grid;
+		this.numCols = grid.getNumColumns();
+		this.capacity = capacity;
+		this.occupiedWalkways = Bitboards.create(grid.getNumCells());
+		this.blockers = new int[grid.getNumCells()];
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+				if (size() > TargetCache.this.capacity) {
+					evictions++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	// Returns the cached targets, or null if they have to be calculated
+	public Set<BoardCell> get(BoardCell startCell, int pathLength, boolean isDragged) {
+		Entry entry = entries.get(findKey(startCell, pathLength, isDragged));
+		// Two sets of blockers hashing to the same fingerprint is unlikely, but would give the wrong targets
+		if (entry == null || !Arrays.equals(entry.blockers, 0, entry.blockers.length, blockers, 0, numBlockers)) {
+			misses++;
+			return null;
+		}
+		hits++;
+		return entry.targets;
+	}
+
+	// Caches targets and returns the read-only view of them that later hits will return
+	public Set<BoardCell> put(BoardCell startCell, int pathLength, boolean isDragged, Set<BoardCell> targets) {
+		Key key = findKey(startCell, pathLength, isDragged);
+		Set<BoardCell> cachedTargets = Collections.unmodifiableSet(targets);
+		entries.put(key, new Entry(Arrays.copyOf(blockers, numBlockers), cachedTargets));
+		return cachedTargets;
+	}
+
+	// Called whenever the walkway at cellIdx becomes occupied or unoccupied
+	void walkwayOccupancyChanged(int cellIdx, boolean isOccupied) {
+		Bitboards.set(occupiedWalkways, cellIdx, isOccupied);
+	}
+
+	// Fills in blockers for a search from startCell and returns the key its targets are stored under
+	private Key findKey(BoardCell startCell, int pathLength, boolean isDragged) {
+		numBlockers = 0;
+		long blockerFingerprint = 0;
+		for (int index = Bitboards.nextSetBit(occupiedWalkways, 0); index >= 0; index = Bitboards.nextSetBit(occupiedWalkways, index + 1)) {
+			if (canBlock(index, startCell, pathLength)) {
+				blockers[numBlockers++] = index;
+				// XOR makes the fingerprint depend only on which walkways are blockers
+				blockerFingerprint ^= mix(index);
+			}
+		}
+		return new Key(startCell.getId(), pathLength, isDragged, blockerFingerprint);
+	}
+
+	// After the first move every move is a single step along walkways, until a path ends or enters a room
+	private boolean canBlock(int cellIdx, BoardCell startCell, int pathLength) {
+		int row = cellIdx / numCols;
+		int col = cellIdx % numCols;
+		int[] adjOffsets = grid.getAdjOffsets();
+		int[] adjNeighbors = grid.getAdjNeighbors();
+		for (int adjPos = adjOffsets[startCell.getId()]; adjPos < adjOffsets[startCell.getId() + 1]; adjPos++) {
+			int adjId = adjNeighbors[adjPos];
+			if (grid.hasFlag(adjId, BoardGrid.WALKWAY)
+				&& Math.abs(adjId / numCols - row) + Math.abs(adjId % numCols - col) < pathLength) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// The SplitMix64 finalizer, which spreads each cell index over all 64 bits
+	private static long mix(long value) {
+		long mixed = value + 0x9E3779B97F4A7C15L;
+		mixed = (mixed ^ (mixed >>> 30)) * 0xBF58476D1CE4E5B9L;
+		mixed = (mixed ^ (mixed >>> 27)) * 0x94D049BB133111EBL;
+		return mixed ^ (mixed >>> 31);
+	}
+
+	public void clear() {
+		entries.clear();
+	}
+
+	public void resetStatistics() {
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public long getHits() {
+		return hits;
+	}
+
+	public long getMisses() {
+		return misses;
+	}
+
+	public long getEvictions() {
+		return evictions;
+	}
+
+	public double getHitRate() {
+		long lookups = hits + misses;
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+
+	private static final class Key {
+		private final int startIdx;
+		private final int pathLength;
+		private final boolean isDragged;
+		private final long blockerFingerprint;
+
+		private Key(int startIdx, int pathLength, boolean isDragged, long blockerFingerprint) {
+			this.startIdx = startIdx;
+			this.pathLength = pathLength;
+			this.isDragged = isDragged;
+			this.blockerFingerprint = blockerFingerprint;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key otherKey)) {
+				return false;
+			}
+			return startIdx == otherKey.startIdx && pathLength == otherKey.pathLength
+				&& isDragged == otherKey.isDragged && blockerFingerprint == otherKey.blockerFingerprint;
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(blockerFingerprint ^ mix(((long) startIdx << 33) | ((long) pathLength << 1) | (isDragged ? 1 : 0)));
+		}
+	}
+
+	private static final class Entry {
+		private final int[] blockers;
+		private final Set<BoardCell> targets;
+
+		private Entry(int[] blockers, Set<BoardCell> targets) {
+			this.blockers = blockers;
+			this.targets = targets;
+		}
+	}
+}
@@ -0,0 +1,277 @@
+/*
+ * Class: TargetPaths
+ *
+ * Purpose: The TargetPaths class finds the targets of a roll along with the way there, so that a token can be shown walking to its target, a turn can be replayed, and a computer player can weigh the route it takes and not only where it ends up.
+ *
+ * Responsibilities: The TargetPaths class is responsible for finding the targets of a roll by the same rules as Board.calcTargets, and for keeping, for each target, one shortest path that reaches it, or up to a given number of them. A walkway is only ever a target at exactly the roll, so every path to it is as short as any other, while a room center keeps only the paths of its distance along free walkways, which a breadth-first search works out before the paths are searched. Paths are kept as a tree of the prefixes they share, each node holding its cell and the node before it, so a path is read back by following those predecessors to the start. How many paths are kept per target is capped, and since no path is longer than the roll, or than the distance to a room center for rolls of 0 or less, neither is the tree. Paths are only found when asked for, so Board.calcTargets costs what it always has.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package clueGame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class TargetPaths {
+	// The node of a path that is only the start cell
+	private static final int START_NODE = -1;
+
+	private final BoardGrid grid;
+	private final BoardCell startCell;
+	private final int pathLength;
+	private final int maxPathsPerTarget;
+
+	private final int[] adjOffsets;
+	private final int[] adjNeighbors;
+	private final long[] occupied;
+	private final long[] visited;
+	// Moves from the start along free walkways, -1 for cells that cannot be reached
+	private final int[] distances;
+
+	// The path so far, laid out like TargetSearch's, with stackNodes[i] the node of its i-th cell once it is in the
+	// tree and -1 before
+	private int[] stackCells;
+	private int[] stackPositions;
+	private int[] stackNodes;
+	private int depth;
+
+	// The tree of kept paths: the cell of each node and the node before it
+	private int[] nodeCells;
+	private int[] nodeParents;
+	private int numNodes;
+
+	// The last node of each kept path, linked into a list per target starting at firstPaths[target]
+	private final int[] firstPaths;
+	private final int[] numPaths;
+	private int[] pathNodes;
+	private int[] nextPaths;
+	private int numKeptPaths;
+	private final long[] targets;
+	private boolean isTruncated;
+
+	public TargetPaths(Board board, BoardCell startCell, int pathLength, boolean isDragged, int maxPathsPerTarget) {
+		super();
+		if (maxPathsPerTarget < 1) {
+			throw new IllegalArgumentException("At least one path has to be kept per target, not " + maxPathsPerTarget + ".");
+		}
+		grid = board.getGrid();
+		this.startCell = startCell;
+		this.pathLength = pathLength;
+		this.maxPathsPerTarget = maxPathsPerTarget;
+		adjOffsets = grid.getAdjOffsets();
+		adjNeighbors = grid.getAdjNeighbors();
+		occupied = board.getOccupiedCells().clone();
+		visited = Bitboards.create(grid.getNumCells());
+		distances = new int[grid.getNumCells()];
+
+		stackCells = new int[Math.max(16, pathLength + 1)];
+		stackPositions = new int[stackCells.length];
+		stackNodes = new int[stackCells.length];
+		nodeCells = new int[64];
+		nodeParents = new int[64];
+		firstPaths = new int[grid.getNumCells()];
+		numPaths = new int[grid.getNumCells()];
+		pathNodes = new int[64];
+		nextPaths = new int[64];
+		targets = Bitboards.create(grid.getNumCells());
+
+		int startId = startCell.getId();
+		Arrays.fill(firstPaths, -1);
+		calcDistances(startId);
+		search(startId);
+		// The same rules as TargetSearch.addStartCellRules, where staying put is a path of only the start cell
+		if ((isDragged && startCell.isRoomCenter()) || Bitboards.cardinality(targets) == 0) {
+			keepPath(startId, false);
+		}
+
+		// Only needed while searching
+		stackCells = null;
+		stackPositions = null;
+		stackNodes = null;
+	}
+
+	// Breadth-first search over free walkways, which ends at room centers, occupied or not, since paths do
+	private void calcDistances(int startId) {
+		Arrays.fill(distances, -1);
+		int[] queue = new int[grid.getNumCells()];
+		int queueStart = 0;
+		int queueEnd = 0;
+		distances[startId] = 0;
+		queue[queueEnd++] = startId;
+		while (queueStart < queueEnd) {
+			int cellId = queue[queueStart++];
+			if (cellId != startId && (grid.hasFlag(cellId, BoardGrid.ROOM_CENTER) || Bitboards.get(occupied, cellId))) {
+				continue;
+			}
+			for (int adjPos = adjOffsets[cellId]; adjPos < adjOffsets[cellId + 1]; adjPos++) {
+				int adjId = adjNeighbors[adjPos];
+				if (distances[adjId] < 0) {
+					distances[adjId] = distances[cellId] + 1;
+					queue[queueEnd++] = adjId;
+				}
+			}
+		}
+	}
+
+	// Tries every path TargetSearch would, keeping those that end on a target the way the rules allow
+	private void search(int startId) {
+		// Rolls of 0 or less only ever end in a room, and only a path shortest all the way can be a shortest path to one
+		boolean isWalkwayTargets = pathLength > 0;
+		depth = 0;
+		stackCells[0] = startId;
+		stackPositions[0] = adjOffsets[startId];
+		stackNodes[0] = START_NODE;
+		Bitboards.set(visited, startId);
+		while (depth >= 0) {
+			int cellId = stackCells[depth];
+			int adjPos = stackPositions[depth];
+			if (adjPos == adjOffsets[cellId + 1]) {
+				// Every neighbor has been tried, so the path backs up a cell
+				Bitboards.clear(visited, cellId);
+				depth--;
+				continue;
+			}
+			stackPositions[depth] = adjPos + 1;
+
+			int adjId = adjNeighbors[adjPos];
+			if (Bitboards.get(visited, adjId)) {
+				continue;
+			}
+			int adjDepth = depth + 1;
+			if (grid.hasFlag(adjId, BoardGrid.ROOM_CENTER)) {
+				if (adjDepth == distances[adjId]) {
+					keepPath(adjId, true);
+				}
+			} else if (Bitboards.get(occupied, adjId)) {
+				continue;
+			} else if (isWalkwayTargets && pathLength - depth == 1) {
+				keepPath(adjId, true);
+			} else if (isWalkwayTargets || adjDepth == distances[adjId]) {
+				push(adjId);
+			}
+		}
+	}
+
+	private void push(int cellId) {
+		depth++;
+		if (depth == stackCells.length) {
+			stackCells = Arrays.copyOf(stackCells, depth * 2);
+			stackPositions = Arrays.copyOf(stackPositions, depth * 2);
+			stackNodes = Arrays.copyOf(stackNodes, depth * 2);
+		}
+		stackCells[depth] = cellId;
+		stackPositions[depth] = adjOffsets[cellId];
+		stackNodes[depth] = -1;
+		Bitboards.set(visited, cellId);
+	}
+
+	// Adds the path so far to the tree, sharing whatever part of it is already there, and returns the node of its
+	// last cell
+	private int keepStack() {
+		for (int pathPos = 1; pathPos <= depth; pathPos++) {
+			if (stackNodes[pathPos] < 0) {
+				stackNodes[pathPos] = addNode(stackCells[pathPos], stackNodes[pathPos - 1]);
+			}
+		}
+		return stackNodes[depth];
+	}
+
+	private int addNode(int cellId, int parentNode) {
+		if (numNodes == nodeCells.length) {
+			nodeCells = Arrays.copyOf(nodeCells, numNodes * 2);
+			nodeParents = Arrays.copyOf(nodeParents, numNodes * 2);
+		}
+		nodeCells[numNodes] = cellId;
+		nodeParents[numNodes] = parentNode;
+		return numNodes++;
+	}
+
+	// Keeps the path so far followed by a move to targetId, or for a player staying put the path of only the start
+	// cell, unless targetId already has as many paths as allowed
+	private void keepPath(int targetId, boolean isMoving) {
+		Bitboards.set(targets, targetId);
+		if (numPaths[targetId] == maxPathsPerTarget) {
+			isTruncated = true;
+			return;
+		}
+		int lastNode = isMoving ? addNode(targetId, keepStack()) : START_NODE;
+		if (numKeptPaths == pathNodes.length) {
+			pathNodes = Arrays.copyOf(pathNodes, numKeptPaths * 2);
+			nextPaths = Arrays.copyOf(nextPaths, numKeptPaths * 2);
+		}
+		pathNodes[numKeptPaths] = lastNode;
+		nextPaths[numKeptPaths] = firstPaths[targetId];
+		firstPaths[targetId] = numKeptPaths++;
+		numPaths[targetId]++;
+	}
+
+	public BoardCell getStartCell() {
+		return startCell;
+	}
+
+	public int getPathLength() {
+		return pathLength;
+	}
+
+	public Set<BoardCell> getTargets() {
+		Set<BoardCell> targetCells = new HashSet<>();
+		for (int id = Bitboards.nextSetBit(targets, 0); id >= 0; id = Bitboards.nextSetBit(targets, id + 1)) {
+			targetCells.add(grid.getCell(id));
+		}
+		return targetCells;
+	}
+
+	// A shortest path from the start cell to target, both included, or null if target is not a target
+	public List<BoardCell> getPath(BoardCell target) {
+		int keptPath = firstPaths[target.getId()];
+		return keptPath < 0 ? null : readPath(pathNodes[keptPath]);
+	}
+
+	// Every kept path to target, getPath's first, which is every shortest path to it unless it had more than the cap allows
+	public List<List<BoardCell>> getPaths(BoardCell target) {
+		List<List<BoardCell>> paths = new ArrayList<>();
+		for (int keptPath = firstPaths[target.getId()]; keptPath >= 0; keptPath = nextPaths[keptPath]) {
+			paths.add(readPath(pathNodes[keptPath]));
+		}
+		return paths;
+	}
+
+	// Follows the predecessors of lastNode back to the start
+	private List<BoardCell> readPath(int lastNode) {
+		List<BoardCell> path = new ArrayList<>();
+		for (int node = lastNode; node != START_NODE; node = nodeParents[node]) {
+			path.add(grid.getCell(nodeCells[node]));
+		}
+		path.add(startCell);
+		Collections.reverse(path);
+		return path;
+	}
+
+	public int getNumPaths(BoardCell target) {
+		return numPaths[target.getId()];
+	}
+
+	public int getMaxPathsPerTarget() {
+		return maxPathsPerTarget;
+	}
+
+	// Whether some target had more shortest paths than were kept
+	public boolean isTruncated() {
+		return isTruncated;
+	}
+
+	public int getNumNodes() {
+		return numNodes;
+	}
+}
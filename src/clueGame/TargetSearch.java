@@ -0,0 +1,307 @@
+/*
+ * Class: TargetSearch
+ *
+ * Purpose: The TargetSearch class finds the targets of a roll with the same depth-first search over paths that Board.calcTargets has always used, but keeps the path in its own arrays instead of on the call stack, so that it can be paused, given a deadline, or cancelled part way through.
+ *
+ * Responsibilities: The TargetSearch class is responsible for walking every path of the roll that never crosses itself, one step at a time from an explicit stack, and for recording the cells it finds as targets. A search runs for as long as it is given and then stops where it is, so interactive code can run a long search in slices or on another thread without ever blocking, and can cancel it from any thread. While it is stopped, the targets found so far and an estimate of how much of the search is done can be read. Occupancy is copied when the search is made, so players that move while it is paused do not change its result.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package clueGame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class TargetSearch {
+	// How many neighbors are tried between looks at the clock
+	private static final int STEPS_PER_CHECK = 1024;
+
+	// Searches expected to have fewer paths than this are over before tasks would pay for themselves
+	private static final double MIN_PARALLEL_PATHS = 1 << 16;
+	public static final int DEFAULT_MIN_PATHS_PER_TASK = 1 << 12;
+
+	private final BoardGrid grid;
+	private final BoardCell startCell;
+	private final int pathLength;
+	private final boolean isDragged;
+
+	private final int[] adjOffsets;
+	private final int[] adjNeighbors;
+	private final long[] occupied;
+	private final long[] visited;
+	private final long[] targets;
+
+	// The path so far: stackCells[i] is its i-th cell, with stackPositions[i] the next adjacency position to try from it
+	private int[] stackCells;
+	private int[] stackPositions;
+	// Index of the last cell of the path, -1 once every path has been searched
+	private int depth;
+
+	private long numSteps;
+	private volatile boolean isCancelled;
+
+	public TargetSearch(Board board, BoardCell startCell, int pathLength, boolean isDragged) {
+		this(board.getGrid(), board.getOccupiedCells().clone(), new int[] {startCell.getId()}, pathLength, isDragged);
+	}
+
+	// A search of only the paths that start with the cells of path, which has to be a path the search itself would take
+	private TargetSearch(BoardGrid grid, long[] occupied, int[] path, int pathLength, boolean isDragged) {
+		super();
+		this.grid = grid;
+		this.startCell = grid.getCell(path[0]);
+		this.pathLength = pathLength;
+		this.isDragged = isDragged;
+
+		adjOffsets = grid.getAdjOffsets();
+		adjNeighbors = grid.getAdjNeighbors();
+		this.occupied = occupied;
+		visited = Bitboards.create(grid.getNumCells());
+		targets = Bitboards.create(grid.getNumCells());
+
+		// Grown as the path gets longer, which it never does past the number of cells since it never crosses itself
+		stackCells = new int[Math.max(16, path.length)];
+		stackPositions = new int[stackCells.length];
+		depth = -1;
+		for (int cellId : path) {
+			if (depth >= 0) {
+				// Cells before the last have no other branches left to try
+				stackPositions[depth] = adjOffsets[stackCells[depth] + 1];
+			}
+			push(cellId);
+		}
+	}
+
+	// Searches until every path has been tried, the search is cancelled, or timeBudgetNanos have passed, and returns
+	// whether it is complete. Calling it again carries on from where the last call stopped.
+	public boolean search(long timeBudgetNanos) {
+		// Halved so that a budget of Long.MAX_VALUE does not wrap around, and compared by subtraction as nanoTime may be negative
+		long deadline = System.nanoTime() + Math.min(timeBudgetNanos, Long.MAX_VALUE / 2);
+		int stepsUntilCheck = STEPS_PER_CHECK;
+		while (depth >= 0) {
+			if (isCancelled) {
+				return false;
+			}
+			// Every call gets some steps done, however small its budget, so a search run in slices always finishes
+			if (--stepsUntilCheck == 0) {
+				if (System.nanoTime() - deadline > 0) {
+					return false;
+				}
+				stepsUntilCheck = STEPS_PER_CHECK;
+			}
+			numSteps++;
+
+			int cellId = stackCells[depth];
+			int adjPos = stackPositions[depth];
+			if (adjPos == adjOffsets[cellId + 1]) {
+				// Every neighbor has been tried, so the path backs up a cell
+				Bitboards.clear(visited, cellId);
+				depth--;
+				continue;
+			}
+			stackPositions[depth] = adjPos + 1;
+
+			int adjId = adjNeighbors[adjPos];
+			if (Bitboards.get(visited, adjId)) {
+				continue;
+			}
+
+			if (step(adjId, pathLength - depth)) {
+				push(adjId);
+			}
+		}
+		return true;
+	}
+
+	// Records adjId as a target if moving there with remaining moves left makes it one, and returns whether the path
+	// goes on through it
+	private boolean step(int adjId, int remaining) {
+		boolean isRoomCenter = grid.hasFlag(adjId, BoardGrid.ROOM_CENTER);
+		if (Bitboards.get(occupied, adjId)) {
+			if (isRoomCenter) {
+				Bitboards.set(targets, adjId);
+			}
+			return false;
+		}
+		if (remaining == 1 || isRoomCenter) {
+			Bitboards.set(targets, adjId);
+			return false;
+		}
+		if (grid.hasFlag(adjId, BoardGrid.ROOM)) {
+			Bitboards.set(targets, adjId);
+		}
+		return true;
+	}
+
+	private void push(int cellId) {
+		depth++;
+		if (depth == stackCells.length) {
+			stackCells = Arrays.copyOf(stackCells, depth * 2);
+			stackPositions = Arrays.copyOf(stackPositions, depth * 2);
+		}
+		stackCells[depth] = cellId;
+		stackPositions[depth] = adjOffsets[cellId];
+		Bitboards.set(visited, cellId);
+	}
+
+	// Stops the search at its next step. Safe to call from any thread.
+	public void cancel() {
+		isCancelled = true;
+	}
+
+	public boolean isCancelled() {
+		return isCancelled;
+	}
+
+	public boolean isComplete() {
+		return depth < 0;
+	}
+
+	// How many neighbors have been tried so far
+	public long getNumSteps() {
+		return numSteps;
+	}
+
+	// Estimated share of the search that is done, from 0 to 1, counting each branch of a cell as an equal share of it
+	public double getProgress() {
+		if (isComplete()) {
+			return 1;
+		}
+		double progress = 0;
+		double share = 1;
+		for (int pathPos = 0; pathPos <= depth; pathPos++) {
+			int cellId = stackCells[pathPos];
+			int numAdj = adjOffsets[cellId + 1] - adjOffsets[cellId];
+			if (numAdj == 0) {
+				break;
+			}
+			// The neighbor the path went on through is not done yet
+			int numTried = stackPositions[pathPos] - adjOffsets[cellId] - (pathPos < depth ? 1 : 0);
+			progress += share * numTried / numAdj;
+			share /= numAdj;
+		}
+		return progress;
+	}
+
+	// The targets found so far, and once the search is complete, the targets of the roll with the rules for dragged
+	// players and players with no move applied. Read it from the thread running the search, or while it is stopped.
+	public Set<BoardCell> getTargets() {
+		Set<BoardCell> targetCells = toCells(grid, targets);
+		if (isComplete()) {
+			addStartCellRules(targetCells, startCell, isDragged);
+		}
+		return targetCells;
+	}
+
+	private static Set<BoardCell> toCells(BoardGrid grid, long[] cellIds) {
+		Set<BoardCell> cells = new HashSet<>();
+		for (int id = Bitboards.nextSetBit(cellIds, 0); id >= 0; id = Bitboards.nextSetBit(cellIds, id + 1)) {
+			cells.add(grid.getCell(id));
+		}
+		return cells;
+	}
+
+	// The start cell is a target for a player dragged into a room by a suggestion, or for one with nowhere to go
+	static void addStartCellRules(Set<BoardCell> targets, BoardCell startCell, boolean isDragged) {
+		if (isDragged && startCell.isRoomCenter()) {
+			targets.add(startCell);
+		}
+		if (targets.isEmpty()) {
+			targets.add(startCell);
+		}
+	}
+
+	// Whether a search from startCell is expected to have enough paths to be worth splitting over a pool
+	public static boolean isWorthSplitting(BoardGrid grid, BoardCell startCell, int pathLength, ForkJoinPool pool) {
+		return pool.getParallelism() > 1 && estimatePaths(grid, startCell.getId(), pathLength) >= MIN_PARALLEL_PATHS;
+	}
+
+	// About how many paths of remaining moves start at cellId, taking every cell after it to have as many ways on as
+	// the average cell less the way back. Rolls of 0 or less are only stopped by the path crossing itself.
+	private static double estimatePaths(BoardGrid grid, int cellId, int remaining) {
+		if (remaining <= 0) {
+			return Double.POSITIVE_INFINITY;
+		}
+		double waysOn = Math.max(1, grid.getMeanNumAdj() - 1);
+		return grid.getNumAdj(cellId) * Math.pow(waysOn, remaining - 1);
+	}
+
+	public static Set<BoardCell> searchInParallel(Board board, BoardCell startCell, int pathLength, boolean isDragged, ForkJoinPool pool) {
+		return searchInParallel(board, startCell, pathLength, isDragged, pool, DEFAULT_MIN_PATHS_PER_TASK);
+	}
+
+	// The same targets as a search run to the end, with every branch estimated to hold at least minPathsPerTask paths
+	// split into a task for each of its next moves. Each task searches its own branches with its own visited cells,
+	// and the targets of every task are merged once they are all done.
+	public static Set<BoardCell> searchInParallel(Board board, BoardCell startCell, int pathLength, boolean isDragged, ForkJoinPool pool, int minPathsPerTask) {
+		BoardGrid grid = board.getGrid();
+		long[] occupied = board.getOccupiedCells().clone();
+		long[] targets = pool.invoke(new BranchTask(grid, occupied, new int[] {startCell.getId()}, pathLength, minPathsPerTask));
+		Set<BoardCell> targetCells = toCells(grid, targets);
+		addStartCellRules(targetCells, startCell, isDragged);
+		return targetCells;
+	}
+
+	private static final class BranchTask extends RecursiveTask<long[]> {
+		private static final long serialVersionUID = 1L;
+
+		private final transient BoardGrid grid;
+		private final long[] occupied;
+		private final int[] path;
+		private final int pathLength;
+		private final int minPathsPerTask;
+
+		private BranchTask(BoardGrid grid, long[] occupied, int[] path, int pathLength, int minPathsPerTask) {
+			super();
+			this.grid = grid;
+			this.occupied = occupied;
+			this.path = path;
+			this.pathLength = pathLength;
+			this.minPathsPerTask = minPathsPerTask;
+		}
+
+		@Override
+		protected long[] compute() {
+			TargetSearch search = new TargetSearch(grid, occupied, path, pathLength, false);
+			int lastCellId = path[path.length - 1];
+			int remaining = pathLength - (path.length - 1);
+			if (remaining == 1 || estimatePaths(grid, lastCellId, remaining) < minPathsPerTask) {
+				search.search(Long.MAX_VALUE);
+				return search.targets;
+			}
+
+			List<BranchTask> branches = new ArrayList<>();
+			int[] adjOffsets = grid.getAdjOffsets();
+			int[] adjNeighbors = grid.getAdjNeighbors();
+			for (int adjPos = adjOffsets[lastCellId]; adjPos < adjOffsets[lastCellId + 1]; adjPos++) {
+				int adjId = adjNeighbors[adjPos];
+				if (!Bitboards.get(search.visited, adjId) && search.step(adjId, remaining)) {
+					int[] branchPath = Arrays.copyOf(path, path.length + 1);
+					branchPath[path.length] = adjId;
+					branches.add(new BranchTask(grid, occupied, branchPath, pathLength, minPathsPerTask));
+				}
+			}
+			invokeAll(branches);
+
+			long[] targets = search.targets;
+			for (BranchTask branch : branches) {
+				long[] branchTargets = branch.join();
+				for (int wordIdx = 0; wordIdx < targets.length; wordIdx++) {
+					targets[wordIdx] |= branchTargets[wordIdx];
+				}
+			}
+			return targets;
+		}
+	}
+}
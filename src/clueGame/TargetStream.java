@@ -0,0 +1,270 @@
+/*
+ * Class: TargetStream
+ *
+ * Purpose: The TargetStream class hands out the targets of a roll one at a time, as they are found, so that code choosing where to move can stop as soon as it has seen enough instead of waiting for the whole set.
+ *
+ * Responsibilities: The TargetStream class is responsible for finding the targets of a roll lazily and in order of how useful they usually are, room centers first. A room center is a target whenever it is no more moves away than the roll along free walkways, since the shortest way there never crosses itself, so room centers come from a breadth-first search, nearest first, that stops at each one found. Walkway targets need a path of exactly the roll, so they come next from a depth-first search over paths kept on its own stack, like TargetSearch's, that pauses at each new target. The walkways breadth-first search finds are a bound on the walkway targets, and the search is over as soon as it has found every one in it. The dragged and no-move rules give the start cell first or last. The TargetStream class is also responsible for ranking targets by a score without keeping every target, and for stopping a ranking early once enough targets score well enough. Occupancy is copied when the stream is made, so players that move while it is being read do not change it.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package clueGame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.function.ToDoubleFunction;
+
+public class TargetStream implements Iterator<BoardCell> {
+	private final BoardGrid grid;
+	private final BoardCell startCell;
+	private final int pathLength;
+	private final boolean isDragged;
+
+	private final int[] adjOffsets;
+	private final int[] adjNeighbors;
+	private final long[] occupied;
+	// Cells already handed out
+	private final long[] targets;
+	private int numTargets;
+
+	// The breadth-first search for room centers: every cell it has reached, and the queue of the ones it has yet to
+	// move on from, with how many moves each is from the start
+	private final long[] reached;
+	private int[] queueCells;
+	private int[] queueSteps;
+	private int queueStart;
+	private int queueEnd;
+	private int queueAdjPos;
+	// Walkways the breadth-first search reached that a path of the roll could end on, which bounds the walkway targets
+	private int numBoundWalkways;
+	private int numWalkwayTargets;
+
+	// The depth-first search for walkways, laid out like TargetSearch's
+	private final long[] visited;
+	private int[] stackCells;
+	private int[] stackPositions;
+	private int depth;
+
+	private boolean isStarted;
+	private boolean isRoomsDone;
+	private boolean isDone;
+	// The next target to hand out, -1 if it has not been found yet
+	private int nextId = -1;
+
+	public TargetStream(Board board, BoardCell startCell, int pathLength, boolean isDragged) {
+		super();
+		grid = board.getGrid();
+		this.startCell = startCell;
+		this.pathLength = pathLength;
+		this.isDragged = isDragged;
+		adjOffsets = grid.getAdjOffsets();
+		adjNeighbors = grid.getAdjNeighbors();
+		occupied = board.getOccupiedCells().clone();
+		targets = Bitboards.create(grid.getNumCells());
+		reached = Bitboards.create(grid.getNumCells());
+		visited = Bitboards.create(grid.getNumCells());
+
+		int startId = startCell.getId();
+		queueCells = new int[16];
+		queueSteps = new int[16];
+		queueCells[queueEnd++] = startId;
+		queueAdjPos = adjOffsets[startId];
+		Bitboards.set(reached, startId);
+		stackCells = new int[Math.max(16, pathLength + 1)];
+		stackPositions = new int[stackCells.length];
+		depth = -1;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (nextId < 0 && !isDone) {
+			nextId = findNext();
+			isDone = nextId < 0;
+		}
+		return nextId >= 0;
+	}
+
+	@Override
+	public BoardCell next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		int targetId = nextId;
+		nextId = -1;
+		Bitboards.set(targets, targetId);
+		numTargets++;
+		return grid.getCell(targetId);
+	}
+
+	// Whether every room center target has been handed out, so that the rest are walkways and maybe the start cell
+	public boolean isRoomsDone() {
+		return isRoomsDone && nextId < 0;
+	}
+
+	private int findNext() {
+		int startId = startCell.getId();
+		if (!isStarted) {
+			isStarted = true;
+			// A player dragged into a room may stay there, which makes it the nearest room center of all
+			if (isDragged && startCell.isRoomCenter()) {
+				return startId;
+			}
+		}
+		if (!isRoomsDone) {
+			int centerId = findNextRoomCenter();
+			if (centerId >= 0) {
+				return centerId;
+			}
+			isRoomsDone = true;
+			queueCells = null;
+			queueSteps = null;
+			// Rolls of 0 or less only ever end in a room
+			if (pathLength > 0 && numBoundWalkways > 0) {
+				stackCells[++depth] = startId;
+				stackPositions[depth] = adjOffsets[startId];
+				Bitboards.set(visited, startId);
+			}
+		}
+		int walkwayId = findNextWalkway();
+		if (walkwayId >= 0) {
+			return walkwayId;
+		}
+		// A player with nowhere to go stays where they are
+		if (numTargets == 0 && !Bitboards.get(targets, startId)) {
+			return startId;
+		}
+		return -1;
+	}
+
+	// Carries on the breadth-first search until it reaches a room center it has not reached before
+	private int findNextRoomCenter() {
+		int maxSteps = pathLength > 0 ? pathLength : Integer.MAX_VALUE;
+		boolean isParityKept = !startCell.isRoomCenter();
+		while (queueStart < queueEnd) {
+			int cellId = queueCells[queueStart];
+			int steps = queueSteps[queueStart];
+			if (queueAdjPos == adjOffsets[cellId + 1] || steps == maxSteps) {
+				queueStart++;
+				if (queueStart < queueEnd) {
+					queueAdjPos = adjOffsets[queueCells[queueStart]];
+				}
+				continue;
+			}
+			int adjId = adjNeighbors[queueAdjPos++];
+			if (Bitboards.get(reached, adjId)) {
+				continue;
+			}
+			Bitboards.set(reached, adjId);
+			if (grid.hasFlag(adjId, BoardGrid.ROOM_CENTER)) {
+				// Paths stop in rooms, even ones with players in them, so the search goes no further
+				return adjId;
+			}
+			if (Bitboards.get(occupied, adjId)) {
+				continue;
+			}
+			// Past the first move a path only crosses walkways, which alternate parity of row + col with every move
+			if ((!isParityKept || (pathLength - steps - 1) % 2 == 0) && steps < pathLength) {
+				numBoundWalkways++;
+			}
+			if (queueEnd == queueCells.length) {
+				queueCells = Arrays.copyOf(queueCells, queueEnd * 2);
+				queueSteps = Arrays.copyOf(queueSteps, queueEnd * 2);
+			}
+			queueCells[queueEnd] = adjId;
+			queueSteps[queueEnd++] = steps + 1;
+		}
+		return -1;
+	}
+
+	// Carries on the depth-first search until it finds a walkway target it has not found before
+	private int findNextWalkway() {
+		while (depth >= 0 && numWalkwayTargets < numBoundWalkways) {
+			int cellId = stackCells[depth];
+			int adjPos = stackPositions[depth];
+			if (adjPos == adjOffsets[cellId + 1]) {
+				// Every neighbor has been tried, so the path backs up a cell
+				Bitboards.clear(visited, cellId);
+				depth--;
+				continue;
+			}
+			stackPositions[depth] = adjPos + 1;
+
+			int adjId = adjNeighbors[adjPos];
+			// Room centers were all handed out by the breadth-first search
+			if (Bitboards.get(visited, adjId) || Bitboards.get(occupied, adjId) || grid.hasFlag(adjId, BoardGrid.ROOM_CENTER)) {
+				continue;
+			}
+			if (pathLength - depth == 1) {
+				if (!Bitboards.get(targets, adjId)) {
+					numWalkwayTargets++;
+					return adjId;
+				}
+				continue;
+			}
+			depth++;
+			if (depth == stackCells.length) {
+				stackCells = Arrays.copyOf(stackCells, depth * 2);
+				stackPositions = Arrays.copyOf(stackPositions, depth * 2);
+			}
+			stackCells[depth] = adjId;
+			stackPositions[depth] = adjOffsets[adjId];
+			Bitboards.set(visited, adjId);
+		}
+		return -1;
+	}
+
+	public List<BoardCell> top(int count, ToDoubleFunction<BoardCell> score) {
+		return top(count, score, Double.POSITIVE_INFINITY);
+	}
+
+	// The count targets left in the stream with the highest scores, highest first, keeping no more than count of them
+	// at a time. Reading stops early once count targets score at least goodEnoughScore, since none could do better
+	// by enough to matter.
+	public List<BoardCell> top(int count, ToDoubleFunction<BoardCell> score, double goodEnoughScore) {
+		if (count < 1) {
+			return new ArrayList<>();
+		}
+		Comparator<ScoredCell> byScore = Comparator.comparingDouble(scoredCell -> scoredCell.score);
+		PriorityQueue<ScoredCell> best = new PriorityQueue<>(count + 1, byScore);
+		while (hasNext()) {
+			BoardCell target = next();
+			best.add(new ScoredCell(target, score.applyAsDouble(target)));
+			if (best.size() > count) {
+				best.poll();
+			}
+			if (best.size() == count && best.peek().score >= goodEnoughScore) {
+				break;
+			}
+		}
+
+		List<ScoredCell> ranked = new ArrayList<>(best);
+		ranked.sort(Collections.reverseOrder(byScore));
+		List<BoardCell> topCells = new ArrayList<>(ranked.size());
+		for (ScoredCell scoredCell : ranked) {
+			topCells.add(scoredCell.cell);
+		}
+		return topCells;
+	}
+
+	private static final class ScoredCell {
+		private final BoardCell cell;
+		private final double score;
+
+		private ScoredCell(BoardCell cell, double score) {
+			this.cell = cell;
+			this.score = score;
+		}
+	}
+}
@@ -0,0 +1,444 @@
+/*
+ * Class: TargetTable
+ *
+ * Purpose: The TargetTable class holds the targets of every roll from every cell a turn can start on, worked out all at once, for code such as analytics and computer player lookahead that would otherwise call Board.calcTargets thousands of times.
+ *
+ * Responsibilities: The TargetTable class is responsible for finding the targets of every start cell and roll and for storing them as a matrix of bitsets that answers whether a cell is a target in constant time. Each start cell is searched once for all of its rolls, since a path that ends on a walkway after some number of moves is a path of that roll, and a path that reaches a room center reaches it for that roll and every longer one. The search is bounded the way BitboardTargets bounds its own: a breadth-first pass over the free walkways gives every cell and roll a path could possibly end on, and the search stops once it has found them all and skips any branch too far from the ones still missing. Start cells are split into bands searched at the same time, each with its own scratch arrays. Every start cell keeps one row per roll, and its rows only cover the box of cells its targets fall in, which keeps the table small on large boards. The table is worked out with the occupancy of the board when it is made and does not change when players move.
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package clueGame;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+public class TargetTable {
+	// The rolls a search is still missing a cell for are kept as one bit per roll in a long
+	public static final int MAX_ROLL = 63;
+
+	// Rolls with an even or odd number of moves
+	private static final long
+		EVEN_ROLLS = 0x5555555555555555L,
+		ODD_ROLLS = 0xAAAAAAAAAAAAAAAAL;
+
+	private final BoardGrid grid;
+	private final int numCols;
+	private final int maxRoll;
+
+	// Index of each start cell in the arrays below, -1 for cells no turn starts on
+	private final int[] sourceIndexes;
+
+	// The box of cells every target of a start cell falls in, for any roll
+	private final int[] boxFirstRows;
+	private final int[] boxFirstCols;
+	private final int[] boxNumCols;
+	// Each start cell has maxRoll rows of rowNumWords words, starting at rowOffsets in bits
+	private final int[] rowNumWords;
+	private final int[] rowOffsets;
+	private final long[] bits;
+	// Bit roll is set for every roll a start cell has no targets for
+	private final long[] emptyRolls;
+
+	public TargetTable(Board board, int maxRoll, ForkJoinPool pool) {
+		super();
+		if (maxRoll < 1 || maxRoll > MAX_ROLL) {
+			throw new IllegalArgumentException("A target table can hold rolls from 1 to " + MAX_ROLL + ", not " + maxRoll + ".");
+		}
+		grid = board.getGrid();
+		numCols = grid.getNumColumns();
+		this.maxRoll = maxRoll;
+
+		int numCells = grid.getNumCells();
+		sourceIndexes = new int[numCells];
+		int numSources = 0;
+		for (int id = 0; id < numCells; id++) {
+			boolean isSource = grid.hasFlag(id, BoardGrid.WALKWAY) || grid.hasFlag(id, BoardGrid.ROOM_CENTER);
+			sourceIndexes[id] = isSource ? numSources++ : -1;
+		}
+		int[] sourceIds = new int[numSources];
+		for (int id = 0; id < numCells; id++) {
+			if (sourceIndexes[id] >= 0) {
+				sourceIds[sourceIndexes[id]] = id;
+			}
+		}
+
+		boxFirstRows = new int[numSources];
+		boxFirstCols = new int[numSources];
+		boxNumCols = new int[numSources];
+		rowNumWords = new int[numSources];
+		rowOffsets = new int[numSources];
+		emptyRolls = new long[numSources];
+
+		// Players that move while the table is being made do not change it
+		long[] occupied = board.getOccupiedCells().clone();
+		long[][] sourceRows = new long[numSources][];
+		int numBands = ParallelBands.getNumBands(pool, numSources);
+		int[] bandStarts = ParallelBands.split(numSources, numBands);
+		ParallelBands.forEach(pool, numBands, band -> {
+			SourceSearch search = new SourceSearch(grid, occupied, maxRoll);
+			for (int source = bandStarts[band]; source < bandStarts[band + 1]; source++) {
+				search.search(sourceIds[source]);
+				sourceRows[source] = search.toRows(this, source);
+				search.clear();
+			}
+		});
+
+		long numWords = 0;
+		for (int source = 0; source < numSources; source++) {
+			numWords += sourceRows[source].length;
+		}
+		if (numWords > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("A target table for rolls up to " + maxRoll + " is too large for this board.");
+		}
+		bits = new long[(int) numWords];
+		int offset = 0;
+		for (int source = 0; source < numSources; source++) {
+			rowOffsets[source] = offset;
+			System.arraycopy(sourceRows[source], 0, bits, offset, sourceRows[source].length);
+			offset += sourceRows[source].length;
+		}
+	}
+
+	public int getMaxRoll() {
+		return maxRoll;
+	}
+
+	// Words of bits the table holds, which is most of its memory
+	public int getNumWords() {
+		return bits.length;
+	}
+
+	// The same targets Board.calcTargets gives, from the occupancy the table was made with
+	public Set<BoardCell> getTargets(BoardCell startCell, int roll, boolean isDragged) {
+		int source = getSource(startCell, roll);
+		Set<BoardCell> targets = new HashSet<>();
+		int rowStart = rowOffsets[source] + (roll - 1) * rowNumWords[source];
+		for (int wordIdx = 0; wordIdx < rowNumWords[source]; wordIdx++) {
+			for (long word = bits[rowStart + wordIdx]; word != 0; word &= word - 1) {
+				int boxIdx = (wordIdx << 6) + Long.numberOfTrailingZeros(word);
+				int row = boxFirstRows[source] + boxIdx / boxNumCols[source];
+				int col = boxFirstCols[source] + boxIdx % boxNumCols[source];
+				targets.add(grid.getCell(row, col));
+			}
+		}
+		TargetSearch.addStartCellRules(targets, startCell, isDragged);
+		return targets;
+	}
+
+	public boolean isTarget(BoardCell startCell, int roll, BoardCell target) {
+		return isTarget(startCell, roll, target, false);
+	}
+
+	public boolean isTarget(BoardCell startCell, int roll, BoardCell target, boolean isDragged) {
+		int source = getSource(startCell, roll);
+		if (target == startCell) {
+			// A path never ends where it started, so the start cell is only ever a target by the start cell rules
+			return (isDragged && startCell.isRoomCenter()) || (emptyRolls[source] & 1L << roll) != 0;
+		}
+		int boxRow = target.getRow() - boxFirstRows[source];
+		int boxCol = target.getCol() - boxFirstCols[source];
+		if (boxRow < 0 || boxCol < 0 || boxCol >= boxNumCols[source]) {
+			return false;
+		}
+		int boxIdx = boxRow * boxNumCols[source] + boxCol;
+		if (boxIdx >= rowNumWords[source] * Bitboards.WORD_BITS) {
+			return false;
+		}
+		int rowStart = rowOffsets[source] + (roll - 1) * rowNumWords[source];
+		return (bits[rowStart + Bitboards.wordIndex(boxIdx)] & 1L << boxIdx) != 0;
+	}
+
+	private int getSource(BoardCell startCell, int roll) {
+		if (roll < 1 || roll > maxRoll) {
+			throw new IllegalArgumentException("This target table only holds rolls from 1 to " + maxRoll + ", not " + roll + ".");
+		}
+		int source = sourceIndexes[startCell.getId()];
+		if (source < 0) {
+			throw new IllegalArgumentException("No turn starts on cell (" + startCell.getRow() + ", " + startCell.getCol() + ").");
+		}
+		return source;
+	}
+
+	// Searches one start cell after another for the targets of every roll, reusing its arrays for each of them
+	private static final class SourceSearch {
+		private final BoardGrid grid;
+		private final int numCols;
+		private final int maxRoll;
+		private final long[] occupied;
+		private final int[] adjOffsets;
+		private final int[] adjNeighbors;
+
+		private final long[] visited;
+		// Walkways a path ends on after each number of moves
+		private final long[][] stepTargets;
+		// Fewest moves a path has taken to each room center, Integer.MAX_VALUE if none has reached it yet
+		private final int[] centerSteps;
+		// Every cell found as a target of some roll, so that the arrays above can be cleared cell by cell
+		private final long[] found;
+		private final int[] foundCells;
+		private int numFound;
+
+		// Fewest moves to each cell over the free walkways, which is the bound on where and when a path can end,
+		// and the cells the bound reached in the order it reached them
+		private final int[] boundSteps;
+		private final int[] boundCells;
+		private int numBoundCells;
+
+		// Cells in the bound not yet found for every roll they could be a target of, with the rolls still missing
+		// for each walkway, and each one's position in the list
+		private final int[] missingCells;
+		private final int[] missingPositions;
+		private final long[] missingRolls;
+		private int numMissing;
+
+		private SourceSearch(BoardGrid grid, long[] occupied, int maxRoll) {
+			super();
+			this.grid = grid;
+			numCols = grid.getNumColumns();
+			this.maxRoll = maxRoll;
+			this.occupied = occupied;
+			adjOffsets = grid.getAdjOffsets();
+			adjNeighbors = grid.getAdjNeighbors();
+
+			int numCells = grid.getNumCells();
+			visited = Bitboards.create(numCells);
+			stepTargets = new long[maxRoll + 1][Bitboards.numWords(numCells)];
+			centerSteps = new int[numCells];
+			Arrays.fill(centerSteps, Integer.MAX_VALUE);
+			found = Bitboards.create(numCells);
+			foundCells = new int[numCells];
+			boundSteps = new int[numCells];
+			Arrays.fill(boundSteps, -1);
+			boundCells = new int[numCells];
+			missingCells = new int[numCells];
+			missingPositions = new int[numCells];
+			Arrays.fill(missingPositions, -1);
+			missingRolls = new long[numCells];
+		}
+
+		private void search(int startId) {
+			computeBound(startId);
+			if (numMissing > 0) {
+				Bitboards.set(visited, startId);
+				findAllTargets(startId, 0);
+				Bitboards.clear(visited, startId);
+			}
+		}
+
+		// A walkway first reached after some number of moves can be reached after any larger number of the same
+		// parity, by stepping back and forth, but never after fewer, and a room center can be reached from then on.
+		// The doorways of a room can be on either parity, so from a room center a walkway can be reached either way.
+		private void computeBound(int startId) {
+			long allRolls = (-1L >>> (Bitboards.WORD_BITS - 1 - maxRoll)) & ~1L;
+			boolean isParityKept = !grid.hasFlag(startId, BoardGrid.ROOM_CENTER);
+			boundSteps[startId] = 0;
+			boundCells[numBoundCells++] = startId;
+			for (int boundPos = 0; boundPos < numBoundCells; boundPos++) {
+				int cellId = boundCells[boundPos];
+				int steps = boundSteps[cellId];
+				// Paths stop at room centers, except the one they start in
+				if (steps == maxRoll || (boundPos > 0 && grid.hasFlag(cellId, BoardGrid.ROOM_CENTER))) {
+					continue;
+				}
+				for (int adjPos = adjOffsets[cellId]; adjPos < adjOffsets[cellId + 1]; adjPos++) {
+					int adjId = adjNeighbors[adjPos];
+					boolean isRoomCenter = grid.hasFlag(adjId, BoardGrid.ROOM_CENTER);
+					if (boundSteps[adjId] >= 0 || (!isRoomCenter && Bitboards.get(occupied, adjId))) {
+						continue;
+					}
+					boundSteps[adjId] = steps + 1;
+					boundCells[numBoundCells++] = adjId;
+					missingRolls[adjId] = isRoomCenter ? 0 : allRolls & -1L << (steps + 1) & (isParityKept ? parityRolls(steps + 1) : -1L);
+					missingPositions[adjId] = numMissing;
+					missingCells[numMissing++] = adjId;
+				}
+			}
+		}
+
+		// Mirrors BitboardTargets.findAllTargets, with cellId already marked visited after steps moves
+		private void findAllTargets(int cellId, int steps) {
+			int nextSteps = steps + 1;
+			for (int adjPos = adjOffsets[cellId]; adjPos < adjOffsets[cellId + 1] && numMissing > 0; adjPos++) {
+				int adjId = adjNeighbors[adjPos];
+				if (Bitboards.get(visited, adjId)) {
+					continue;
+				}
+				if (grid.hasFlag(adjId, BoardGrid.ROOM_CENTER)) {
+					addCenterTarget(adjId, nextSteps);
+				} else if (!Bitboards.get(occupied, adjId)) {
+					// Adjacency lists only hold walkways and room centers, so this is always a walkway
+					addWalkwayTarget(adjId, nextSteps);
+					if (nextSteps < maxRoll && isAnyMissingInRange(adjId, nextSteps)) {
+						Bitboards.set(visited, adjId);
+						findAllTargets(adjId, nextSteps);
+						Bitboards.clear(visited, adjId);
+					}
+				}
+			}
+		}
+
+		private void addWalkwayTarget(int cellId, int steps) {
+			if (Bitboards.get(stepTargets[steps], cellId)) {
+				return;
+			}
+			Bitboards.set(stepTargets[steps], cellId);
+			addFound(cellId);
+			missingRolls[cellId] &= ~(1L << steps);
+			if (missingRolls[cellId] == 0) {
+				removeMissing(cellId);
+			}
+		}
+
+		private void addCenterTarget(int cellId, int steps) {
+			if (steps >= centerSteps[cellId]) {
+				return;
+			}
+			centerSteps[cellId] = steps;
+			addFound(cellId);
+			// No path can get there in fewer moves than the bound
+			if (steps == boundSteps[cellId]) {
+				removeMissing(cellId);
+			}
+		}
+
+		private void addFound(int cellId) {
+			if (!Bitboards.get(found, cellId)) {
+				Bitboards.set(found, cellId);
+				foundCells[numFound++] = cellId;
+			}
+		}
+
+		private void removeMissing(int cellId) {
+			int missingPos = missingPositions[cellId];
+			if (missingPos < 0) {
+				return;
+			}
+			int lastCell = missingCells[--numMissing];
+			missingCells[missingPos] = lastCell;
+			missingPositions[lastCell] = missingPos;
+			missingPositions[cellId] = -1;
+		}
+
+		// Whether a path on cellId after steps moves could still end on some missing cell at a roll it is missing,
+		// going by how many moves it is away
+		private boolean isAnyMissingInRange(int cellId, int steps) {
+			int row = cellId / numCols;
+			int col = cellId % numCols;
+			for (int missingPos = 0; missingPos < numMissing; missingPos++) {
+				int missingId = missingCells[missingPos];
+				boolean isInRange = false;
+				if (grid.hasFlag(missingId, BoardGrid.ROOM_CENTER)) {
+					int latestSteps = Math.min(maxRoll, centerSteps[missingId] - 1);
+					for (int adjPos = adjOffsets[missingId]; adjPos < adjOffsets[missingId + 1] && !isInRange; adjPos++) {
+						int doorwayId = adjNeighbors[adjPos];
+						isInRange = grid.hasFlag(doorwayId, BoardGrid.WALKWAY) && steps + distance(row, col, doorwayId) + 1 <= latestSteps;
+					}
+				} else {
+					int fewestSteps = steps + distance(row, col, missingId);
+					isInRange = fewestSteps <= maxRoll && (missingRolls[missingId] & -1L << fewestSteps & parityRolls(fewestSteps)) != 0;
+				}
+				if (isInRange) {
+					// Nearby branches tend to be in range of the same cell, so check it first from now on
+					int firstId = missingCells[0];
+					missingCells[0] = missingId;
+					missingCells[missingPos] = firstId;
+					missingPositions[missingId] = 0;
+					missingPositions[firstId] = missingPos;
+					return true;
+				}
+			}
+			return false;
+		}
+
+		// Past the first move a path only crosses walkways, which alternate parity of row + col with every move
+		private static long parityRolls(int steps) {
+			return steps % 2 == 0 ? EVEN_ROLLS : ODD_ROLLS;
+		}
+
+		private int distance(int row, int col, int cellId) {
+			return Math.abs(cellId / numCols - row) + Math.abs(cellId % numCols - col);
+		}
+
+		// Fills in the box of the source's targets in table and returns its rows, one for each roll
+		private long[] toRows(TargetTable table, int source) {
+			int firstRow = Integer.MAX_VALUE;
+			int lastRow = -1;
+			int firstCol = Integer.MAX_VALUE;
+			int lastCol = -1;
+			for (int foundPos = 0; foundPos < numFound; foundPos++) {
+				int row = foundCells[foundPos] / numCols;
+				int col = foundCells[foundPos] % numCols;
+				firstRow = Math.min(firstRow, row);
+				lastRow = Math.max(lastRow, row);
+				firstCol = Math.min(firstCol, col);
+				lastCol = Math.max(lastCol, col);
+			}
+			if (numFound == 0) {
+				firstRow = 0;
+				firstCol = 0;
+				lastCol = -1;
+			}
+			int boxCols = lastCol - firstCol + 1;
+			int numWords = Bitboards.numWords((lastRow - firstRow + 1) * boxCols);
+			table.boxFirstRows[source] = firstRow;
+			table.boxFirstCols[source] = firstCol;
+			table.boxNumCols[source] = boxCols;
+			table.rowNumWords[source] = numWords;
+
+			long[] rows = new long[maxRoll * numWords];
+			for (int foundPos = 0; foundPos < numFound; foundPos++) {
+				int cellId = foundCells[foundPos];
+				int boxIdx = (cellId / numCols - firstRow) * boxCols + cellId % numCols - firstCol;
+				for (int roll = 1; roll <= maxRoll; roll++) {
+					boolean isTarget = grid.hasFlag(cellId, BoardGrid.ROOM_CENTER) ? centerSteps[cellId] <= roll : Bitboards.get(stepTargets[roll], cellId);
+					if (isTarget) {
+						Bitboards.set(rows, (roll - 1) * numWords * Bitboards.WORD_BITS + boxIdx);
+					}
+				}
+			}
+
+			long emptyRolls = 0;
+			for (int roll = 1; roll <= maxRoll; roll++) {
+				boolean isEmpty = true;
+				for (int wordIdx = (roll - 1) * numWords; wordIdx < roll * numWords && isEmpty; wordIdx++) {
+					isEmpty = rows[wordIdx] == 0;
+				}
+				if (isEmpty) {
+					emptyRolls |= 1L << roll;
+				}
+			}
+			table.emptyRolls[source] = emptyRolls;
+			return rows;
+		}
+
+		// Readies the arrays for the next start cell, touching only the cells the last one used
+		private void clear() {
+			for (int foundPos = 0; foundPos < numFound; foundPos++) {
+				int cellId = foundCells[foundPos];
+				for (long[] targets : stepTargets) {
+					Bitboards.clear(targets, cellId);
+				}
+				centerSteps[cellId] = Integer.MAX_VALUE;
+				Bitboards.clear(found, cellId);
+			}
+			numFound = 0;
+			for (int boundPos = 0; boundPos < numBoundCells; boundPos++) {
+				int cellId = boundCells[boundPos];
+				boundSteps[cellId] = -1;
+				missingPositions[cellId] = -1;
+				missingRolls[cellId] = 0;
+			}
+			numBoundCells = 0;
+			numMissing = 0;
+		}
+	}
+}
@@ -0,0 +1,53 @@
+/*
+ * Class: BitboardTargetsTest
+ *
+ * Purpose: Tests that the bitboard target search finds exactly the same targets as the recursive one
+ *
+ * Responsibilities: Inits both game boards, calculates the targets of every start cell with both target algorithms, with and without occupied cells and dragged players, and checks that the two agree
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package tests;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.TargetAlgorithm;
+
+public class BitboardTargetsTest {
+	private static final int NUM_OCCUPIED = 6;
+
+	@Test
+	public void testClueLayout() {
+		checkAllStartCells("data/ClueLayout.csv", "data/ClueSetup.txt");
+	}
+
+	@Test
+	public void testClueLayout306() {
+		checkAllStartCells("data/ClueLayout306.csv", "data/ClueSetup306.txt");
+	}
+
+	private void checkAllStartCells(String layoutConfigFile, String setupConfigFile) {
+		Board board = TargetChecks.loadBoard(layoutConfigFile, setupConfigFile);
+
+		// First with an empty board, then with players blocking some walkways and sitting in some rooms
+		TargetChecks.checkAllStartCells(board, TargetAlgorithm.BITBOARD);
+		List<BoardCell> startCells = TargetChecks.getStartCells(board);
+		Random random = new Random(306);
+		for (int i = 0; i < NUM_OCCUPIED; i++) {
+			startCells.get(random.nextInt(startCells.size())).setOccupied(true);
+		}
+		TargetChecks.checkAllStartCells(board, TargetAlgorithm.BITBOARD);
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * Class: BoardSnapshotTest
+ *
+ * Purpose: Tests saving a loaded board to a snapshot file and loading boards from it instead of the config files
+ *
+ * Responsibilities: Copies the data files to a temporary folder, inits one board that writes the snapshot and another that reads it, checks that both boards have the same cells, rooms, adjacency, and targets, and checks that a changed config file or a damaged snapshot makes the board parse the config files again
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.BoardGrid;
+
+public class BoardSnapshotTest {
+	private Path folder;
+	private Path layoutFile;
+	private Path setupFile;
+	private Path snapshotFile;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		folder = Files.createTempDirectory("snapshot");
+		layoutFile = Files.copy(Path.of("data/ClueLayout.csv"), folder.resolve("ClueLayout.csv"));
+		setupFile = Files.copy(Path.of("data/ClueSetup.txt"), folder.resolve("ClueSetup.txt"));
+		snapshotFile = folder.resolve("ClueLayout.board");
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		for (File file : folder.toFile().listFiles()) {
+			Files.delete(file.toPath());
+		}
+		Files.delete(folder);
+	}
+
+	private Board loadBoard() {
+		Board board = new Board();
+		board.setConfigFiles(layoutFile.toString(), setupFile.toString());
+		board.setSnapshotFile(snapshotFile.toString());
+		board.initialize();
+		return board;
+	}
+
+	// The first board parses the config files and saves them, and the next one loads what was saved
+	@Test
+	public void testSnapshotSavedAndLoaded() {
+		Board parsedBoard = loadBoard();
+		assertFalse(parsedBoard.isLoadedFromSnapshot());
+		assertTrue(Files.isRegularFile(snapshotFile));
+
+		Board loadedBoard = loadBoard();
+		assertTrue(loadedBoard.isLoadedFromSnapshot());
+		assertSameBoard(parsedBoard, loadedBoard);
+
+		// Rooms from the setup file find their cells again
+		assertEquals(loadedBoard.getCell(1, 2), loadedBoard.getRoom('C').getCenterCell());
+		assertEquals(loadedBoard.getCell(0, 0), loadedBoard.getRoom('C').getLabelCell());
+
+		// Players and cards are still made fresh for every board
+		assertEquals(parsedBoard.getPlayers().size(), loadedBoard.getPlayers().size());
+		assertFalse(parsedBoard.getPlayers().get(0) == loadedBoard.getPlayers().get(0));
+	}
+
+	// A config file that was only touched keeps the snapshot, one that was changed does not
+	@Test
+	public void testChangedConfigFile() throws IOException {
+		loadBoard();
+
+		assertTrue(layoutFile.toFile().setLastModified(layoutFile.toFile().lastModified() - 60_000));
+		assertTrue(loadBoard().isLoadedFromSnapshot());
+
+		// Turn a walkway cell into an unused one
+		List<String> lines = new ArrayList<>(Files.readAllLines(layoutFile));
+		lines.set(0, lines.get(0).replaceFirst("W", "X"));
+		Files.write(layoutFile, lines);
+		assertTrue(layoutFile.toFile().setLastModified(layoutFile.toFile().lastModified() + 60_000));
+
+		Board changedBoard = loadBoard();
+		assertFalse(changedBoard.isLoadedFromSnapshot());
+		Board loadedBoard = loadBoard();
+		assertTrue(loadedBoard.isLoadedFromSnapshot());
+		assertSameBoard(changedBoard, loadedBoard);
+	}
+
+	// A snapshot cut short is parsed around and then saved again
+	@Test
+	public void testDamagedSnapshot() throws IOException {
+		Board parsedBoard = loadBoard();
+		byte[] snapshot = Files.readAllBytes(snapshotFile);
+		Files.write(snapshotFile, Arrays.copyOf(snapshot, snapshot.length / 2));
+
+		Board reparsedBoard = loadBoard();
+		assertFalse(reparsedBoard.isLoadedFromSnapshot());
+		assertSameBoard(parsedBoard, reparsedBoard);
+		assertTrue(loadBoard().isLoadedFromSnapshot());
+	}
+
+	private static void assertSameBoard(Board expectedBoard, Board actualBoard) {
+		BoardGrid expected = expectedBoard.getGrid();
+		BoardGrid actual = actualBoard.getGrid();
+		assertEquals(expected.getNumRows(), actual.getNumRows());
+		assertEquals(expected.getNumColumns(), actual.getNumColumns());
+		for (int id = 0; id < expected.getNumCells(); id++) {
+			BoardCell expectedCell = expected.getCell(id);
+			BoardCell actualCell = actual.getCell(id);
+			assertEquals(expected.getInitial(id), actual.getInitial(id));
+			assertEquals(expected.getDoorDirection(id), actual.getDoorDirection(id));
+			assertEquals(expected.getSecretPassage(id), actual.getSecretPassage(id));
+			assertEquals(expectedCell.isWalkway(), actualCell.isWalkway());
+			assertEquals(expectedCell.isRoom(), actualCell.isRoom());
+			assertEquals(expectedCell.isRoomCenter(), actualCell.isRoomCenter());
+			assertEquals(expectedCell.isRoomLabel(), actualCell.isRoomLabel());
+			assertEquals(cellIds(expected.getAdjList(id)), cellIds(actual.getAdjList(id)));
+		}
+
+		BoardCell expectedStart = expectedBoard.getCell(14, 5);
+		expectedBoard.calcTargets(expectedStart, 4);
+		actualBoard.calcTargets(actualBoard.getCell(14, 5), 4);
+		assertEquals(cellIds(expectedBoard.getTargets()), cellIds(actualBoard.getTargets()));
+	}
+
+	private static List<Integer> cellIds(Iterable<BoardCell> cells) {
+		List<Integer> ids = new ArrayList<>();
+		for (BoardCell cell : cells) {
+			ids.add(cell.getId());
+		}
+		ids.sort(null);
+		return ids;
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Class: CardRegistryTest
+ *
+ * Purpose: Tests the numbering of cards and the bitmask hands built on it
+ *
+ * Responsibilities: Inits board from data files, checks that every card has its own id and type bit, and that hands, seen cards, and disproval agree with the masks they are kept in
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.Card;
+import clueGame.CardRegistry;
+import clueGame.CardType;
+import clueGame.Player;
+import clueGame.Solution;
+
+public class CardRegistryTest {
+	private static Board board;
+
+	private CardRegistry cardRegistry;
+
+	@BeforeEach
+	public void setUp() {
+		board = Board.getInstance();
+		board.setConfigFiles("data/ClueLayout.csv", "data/ClueSetup.txt");
+		board.initialize();
+		board.dealCards();
+		cardRegistry = board.getCardRegistry();
+	}
+
+	// Every card of the deck has its own id, and a card built by name finds the same id
+	@Test
+	public void testIds() {
+		assertEquals(board.getTotalDeck().size(), cardRegistry.size());
+		long seenIds = 0;
+		for (Card card : board.getTotalDeck()) {
+			int id = cardRegistry.getId(card);
+			assertEquals(card, cardRegistry.getCard(id));
+			assertEquals(id, cardRegistry.getId(new Card(card.getName(), card.getType())));
+			assertTrue((cardRegistry.getTypeMask(card.getType()) & cardRegistry.getMask(card)) != 0);
+			seenIds |= cardRegistry.getMask(card);
+		}
+		assertEquals(cardRegistry.getAllCardsMask(), seenIds);
+		assertEquals(-1, cardRegistry.getId(new Card("Wrong Weapon", CardType.WEAPON)));
+	}
+
+	// The hand and seen sets are views of the masks
+	@Test
+	public void testHandMasks() {
+		Player player = board.getPlayers().get(0);
+		Card answerWeaponCard = board.getTheAnswer().getWeaponCard();
+		int handSize = player.getHand().size();
+		assertEquals(Long.bitCount(player.getHandMask()), handSize);
+
+		assertTrue(player.updateHand(answerWeaponCard));
+		assertFalse(player.updateHand(answerWeaponCard));
+		assertTrue(player.getHand().contains(answerWeaponCard));
+		assertEquals(handSize + 1, player.getHand().size());
+		assertTrue(player.removeFromHand(answerWeaponCard));
+		assertFalse(player.getHand().contains(answerWeaponCard));
+
+		assertTrue(player.updateSeen(answerWeaponCard));
+		assertEquals(answerWeaponCard, player.getAnySeenCard());
+		assertThrows(IllegalArgumentException.class, () -> {
+			player.updateSeen(new Card("Wrong Weapon", CardType.WEAPON));
+		});
+	}
+
+	// Only cards of the hand that were suggested can be shown
+	@Test
+	public void testDisprovalFromHand() {
+		Solution answer = board.getTheAnswer();
+		for (Player player : board.getPlayers()) {
+			Card handCard = player.getAnyHandCard();
+			Solution suggestion = new Solution(answer);
+			suggestion.setAnyCard(handCard);
+			for (int i = 0; i < 100; i++) {
+				assertEquals(handCard, player.disproveSuggestion(suggestion));
+			}
+			assertNull(player.disproveSuggestion(answer));
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Class: CorridorGraphTest
+ *
+ * Purpose: Tests the graph of the board with its corridors contracted into single steps, and the target search over it
+ *
+ * Responsibilities: Inits both game boards, checks that searching the corridor graph finds exactly the targets the recursive search does from every start cell, with and without players in the corridors, and checks that players moving into and out of a corridor leave the graph just as it would be if it were built again from scratch
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.CorridorGraph;
+import clueGame.TargetAlgorithm;
+
+public class CorridorGraphTest {
+	@Test
+	public void testClueLayout() {
+		Board board = TargetChecks.loadBoard("data/ClueLayout.csv", "data/ClueSetup.txt");
+		TargetChecks.checkAllStartCells(board, TargetAlgorithm.CORRIDOR);
+		board.getCell(8, 29).setOccupied(true);
+		board.getCell(14, 5).setOccupied(true);
+		TargetChecks.checkAllStartCells(board, TargetAlgorithm.CORRIDOR);
+	}
+
+	// The 306 layout has corridors in the middle of the board, which players block and then leave again
+	@Test
+	public void testClueLayout306() {
+		Board board = TargetChecks.loadBoard("data/ClueLayout306.csv", "data/ClueSetup306.txt");
+		TargetChecks.checkAllStartCells(board, TargetAlgorithm.CORRIDOR);
+		board.getCell(7, 10).setOccupied(true);
+		board.getCell(23, 8).setOccupied(true);
+		board.getCell(5, 3).setOccupied(true);
+		TargetChecks.checkAllStartCells(board, TargetAlgorithm.CORRIDOR);
+		board.getCell(7, 10).setOccupied(false);
+		board.getCell(7, 9).setOccupied(true);
+		TargetChecks.checkAllStartCells(board, TargetAlgorithm.CORRIDOR);
+	}
+
+	// A player in a corridor splits it at their cell, and the corridor is whole again once they leave
+	@Test
+	public void testOccupancySplitsCorridor() {
+		Board board = TargetChecks.loadBoard("data/ClueLayout306.csv", "data/ClueSetup306.txt");
+		CorridorGraph graph = board.getCorridorGraph();
+		int numNodes = graph.getNumNodes();
+		int numCorridors = graph.getNumCorridors();
+		BoardCell corridorCell = board.getCell(23, 8);
+		assertFalse(graph.isNode(corridorCell));
+
+		corridorCell.setOccupied(true);
+		assertTrue(graph.isNode(corridorCell));
+		assertSameGraph(new CorridorGraph(board), graph, board);
+
+		corridorCell.setOccupied(false);
+		assertFalse(graph.isNode(corridorCell));
+		assertEquals(numNodes, graph.getNumNodes());
+		assertEquals(numCorridors, graph.getNumCorridors());
+		assertSameGraph(new CorridorGraph(board), graph, board);
+	}
+
+	// Starting inside a corridor splits it only for as long as the search takes
+	@Test
+	public void testStartInsideCorridor() {
+		Board board = TargetChecks.loadBoard("data/ClueLayout306.csv", "data/ClueSetup306.txt");
+		CorridorGraph graph = board.getCorridorGraph();
+		int numCorridors = graph.getNumCorridors();
+		BoardCell startCell = board.getCell(23, 8);
+
+		board.setTargetAlgorithm(TargetAlgorithm.RECURSIVE);
+		board.calcTargets(startCell, 3);
+		Set<BoardCell> expected = new HashSet<>(board.getTargets());
+		board.setTargetAlgorithm(TargetAlgorithm.CORRIDOR);
+		board.calcTargets(startCell, 3);
+		assertEquals(expected, board.getTargets());
+
+		assertFalse(graph.isNode(startCell));
+		assertEquals(numCorridors, graph.getNumCorridors());
+	}
+
+	private static void assertSameGraph(CorridorGraph expected, CorridorGraph actual, Board board) {
+		assertEquals(expected.getNumNodes(), actual.getNumNodes());
+		assertEquals(expected.getNumCorridors(), actual.getNumCorridors());
+		for (int id = 0; id < board.getGrid().getNumCells(); id++) {
+			BoardCell cell = board.getGrid().getCell(id);
+			assertEquals(expected.isNode(cell), actual.isNode(cell));
+		}
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * Class: GameEngineTest
+ *
+ * Purpose: Tests the headless GameEngine turn loop
+ *
+ * Responsibilities: Inits a board with only computer players, plays many complete games without any GUI, and checks that each game ends through an accusation, the turn cap, or stall detection, including when many games on boards of their own are played at once on different threads
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.ComputerPlayer;
+import clueGame.GameEngine;
+import clueGame.GameStatus;
+import clueGame.Player;
+
+public class GameEngineTest {
+	private static final int NUM_GAMES = 200;
+	private static final int NUM_CONCURRENT_GAMES = 64;
+
+	private static Board board;
+
+	@BeforeAll
+	public static void setUp() {
+		board = Board.getInstance();
+		board.setConfigFiles("data/ClueLayout.csv", "data/ClueSetup.txt");
+		board.setHasHumanPlayer(false);
+		board.initialize();
+		board.dealCards();
+	}
+
+	@AfterAll
+	public static void tearDown() {
+		// Other tests expect the first person in the setup file to be the human player
+		board.setHasHumanPlayer(true);
+		board.initialize();
+	}
+
+	@Test
+	public void testAllComputerPlayers() {
+		assertEquals(null, board.getHumanPlayer());
+		for (Player player : board.getPlayers()) {
+			assertTrue(player instanceof ComputerPlayer);
+		}
+	}
+
+	// Every game has to end, and a computer player only accuses once it knows the answer
+	@Test
+	public void testGamesFinish() {
+		int solvedGames = 0;
+		for (int game = 0; game < NUM_GAMES; game++) {
+			board.resetGame();
+			GameEngine engine = new GameEngine(board, game);
+			GameStatus status = engine.playGame();
+
+			assertTrue(status.isOver());
+			assertNotEquals(GameStatus.FAILED_ACCUSATION, status);
+			assertTrue(engine.getTurnCount() <= engine.getTurnCap());
+			if (status == GameStatus.SOLVED) {
+				assertNotEquals(null, engine.getWinner());
+				solvedGames++;
+			}
+		}
+		assertTrue(solvedGames > NUM_GAMES / 2);
+	}
+
+	// A game that runs past its turn cap is ended by the engine
+	@Test
+	public void testTurnCap() {
+		board.resetGame();
+		GameEngine engine = new GameEngine(board, 0);
+		engine.setTurnCap(3);
+		assertEquals(GameStatus.TURN_CAP_REACHED, engine.playGame());
+		assertEquals(3, engine.getTurnCount());
+		assertEquals(null, engine.getWinner());
+	}
+
+	// A game where nobody learns anything new is ended by the engine
+	@Test
+	public void testStallDetection() {
+		board.resetGame();
+		GameEngine engine = new GameEngine(board, 0);
+		engine.setStallLimit(1);
+		assertEquals(GameStatus.STALLED, engine.playGame());
+		assertFalse(engine.getStatus() == GameStatus.IN_PROGRESS);
+	}
+
+	// Resetting a game deals a fresh answer and puts everyone back at their start
+	@Test
+	public void testResetGame() {
+		board.resetGame();
+		int numCardsDealt = 0;
+		for (Player player : board.getPlayers()) {
+			assertTrue(player.getSeenCards().isEmpty());
+			assertFalse(player.isDragged());
+			numCardsDealt += player.getHand().size();
+		}
+		assertEquals(board.getNonAnswerCards().size(), numCardsDealt);
+		assertEquals(board.getTotalDeck().size(), numCardsDealt + 3);
+	}
+
+	// Every game keeps all of its state in its own board, so games on different threads never see each other
+	@Test
+	public void testConcurrentGames() throws InterruptedException, ExecutionException {
+		ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		List<Future<GameStatus>> results = new ArrayList<>();
+		for (int game = 0; game < NUM_CONCURRENT_GAMES; game++) {
+			long seed = game;
+			results.add(executor.submit(() -> {
+				Board gameBoard = new Board();
+				gameBoard.setConfigFiles("data/ClueLayout.csv", "data/ClueSetup.txt");
+				gameBoard.setHasHumanPlayer(false);
+				gameBoard.initialize();
+				gameBoard.dealCards();
+				GameStatus status = new GameEngine(gameBoard, seed).playGame();
+
+				// Players only ever move on their own board
+				for (Player player : gameBoard.getPlayers()) {
+					assertTrue(player.getBoard() == gameBoard);
+				}
+				return status;
+			}));
+		}
+		executor.shutdown();
+
+		for (Future<GameStatus> result : results) {
+			GameStatus status = result.get();
+			assertTrue(status.isOver());
+			assertNotEquals(GameStatus.FAILED_ACCUSATION, status);
+		}
+	}
+}
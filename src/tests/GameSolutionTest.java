@@ -7,7 +7,7 @@
  *
  * Authors: Aragorn Wang, Anya Streit
  * 
- * Date Last Edited: April 5, 2025
+ * Date Last Edited: October 18, 2026
  * 
  * Collaborators: None
  * 
@@ -21,7 +21,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.jupiter.api.BeforeAll;
@@ -29,7 +31,9 @@ import org.junit.jupiter.api.Test;
 
 import clueGame.Board;
 import clueGame.Card;
+import clueGame.CardRegistry;
 import clueGame.CardType;
+import clueGame.PackedSolution;
 import clueGame.Player;
 import clueGame.Solution;
 
@@ -64,6 +68,36 @@ public class GameSolutionTest {
 		assertFalse(board.checkAccusation(testSolution));
 	}
 
+	// Packed solution tests
+	@Test
+	public void testPackedSolution() {
+		CardRegistry cardRegistry = board.getCardRegistry();
+		Solution answer = board.getTheAnswer();
+		PackedSolution packedAnswer = PackedSolution.of(cardRegistry, answer);
+		assertEquals(board.getPackedAnswer(), packedAnswer);
+		assertEquals(answer, packedAnswer.toSolution(cardRegistry));
+		assertEquals(cardRegistry.getId(answer.getWeaponCard()), packedAnswer.getCardId(CardType.WEAPON));
+		assertEquals(3, Long.bitCount(packedAnswer.getCardMask()));
+		for (int index = 0; index < PackedSolution.NUM_CARDS; index++) {
+			assertEquals(answer.getCard(index), cardRegistry.getCard(packedAnswer.getCardId(index)));
+		}
+
+		// Equal solutions hash the same, so either form can be a map key
+		Solution copy = new Solution(answer);
+		assertEquals(answer.hashCode(), copy.hashCode());
+		Map<PackedSolution, Integer> counts = new HashMap<>();
+		counts.merge(packedAnswer, 1, Integer::sum);
+		counts.merge(PackedSolution.of(cardRegistry, copy), 1, Integer::sum);
+		assertEquals(2, (int) counts.get(packedAnswer));
+
+		// Cards that are not part of the game never match
+		copy.setPersonCard(new Card("Wrong Person", CardType.PERSON));
+		PackedSolution packedWrong = PackedSolution.of(cardRegistry, copy);
+		assertFalse(packedWrong.isComplete());
+		assertNotEquals(packedAnswer, packedWrong);
+		assertEquals(-1, packedWrong.getPersonId());
+	}
+
 	// Player suggestion disproval tests
 	@Test
 	public void testDisproval() {
@@ -0,0 +1,277 @@
+/*
+ * Class: KnowledgeBaseTest
+ *
+ * Purpose: Tests the deductions, envelope estimates, and deal counts computer players make about who holds each card
+ *
+ * Responsibilities: Inits board from data files, feeds suggestions and disprovals to a knowledge base, and checks what it deduces and how likely it thinks each card is to be in the envelope, then plays whole games and checks that nothing any computer player deduced was wrong
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import clueGame.BadConfigFormatException;
+import clueGame.Board;
+import clueGame.Card;
+import clueGame.CardRegistry;
+import clueGame.CardType;
+import clueGame.ComputerPlayer;
+import clueGame.DealCounter;
+import clueGame.EnvelopeBelief;
+import clueGame.GameEngine;
+import clueGame.GameStatus;
+import clueGame.KnowledgeBase;
+import clueGame.PackedSolution;
+import clueGame.Player;
+
+public class KnowledgeBaseTest {
+	private static final int NUM_GAMES = 50;
+
+	private static Board board;
+
+	@BeforeAll
+	public static void setUp() {
+		board = Board.getInstance();
+		board.setConfigFiles("data/ClueLayout.csv", "data/ClueSetup.txt");
+		board.setHasHumanPlayer(false);
+		board.initialize();
+		board.dealCards();
+	}
+
+	@AfterAll
+	public static void tearDown() {
+		// Other tests expect the first person in the setup file to be the human player
+		board.setHasHumanPlayer(true);
+		board.initialize();
+	}
+
+	private KnowledgeBase createKnowledgeBase() {
+		List<Player> players = board.getPlayers();
+		int[] handSizes = new int[players.size()];
+		for (int playerIdx = 0; playerIdx < players.size(); playerIdx++) {
+			handSizes[playerIdx] = players.get(playerIdx).getHand().size();
+		}
+		return new KnowledgeBase(board.getCardRegistry(), handSizes);
+	}
+
+	// If nobody can disprove a suggestion of cards the suggester does not hold, they are the answer
+	@Test
+	public void testNobodyDisproves() {
+		board.resetGame();
+		KnowledgeBase knowledge = createKnowledgeBase();
+		long answerMask = board.getPackedAnswer().getCardMask();
+		knowledge.addHas(0, board.getPlayers().get(0).getHandMask());
+		assertFalse(knowledge.isSolved());
+
+		knowledge.observeSuggestion(0, answerMask, -1);
+		assertTrue(knowledge.isSolved());
+		assertEquals(board.getTheAnswer(), knowledge.getSolution());
+	}
+
+	// Once all but one card of a disproved suggestion are ruled out, the disprover holds the last one
+	@Test
+	public void testDisprovalClause() {
+		board.resetGame();
+		CardRegistry cardRegistry = board.getCardRegistry();
+		KnowledgeBase knowledge = createKnowledgeBase();
+		long handMask = board.getPlayers().get(1).getHandMask();
+		long shownMask = Long.lowestOneBit(handMask);
+		long otherMask = PackedSolution.of(cardRegistry, board.getTheAnswer()).getCardMask();
+
+		knowledge.observeSuggestion(0, shownMask | otherMask, 1);
+		assertEquals(1, knowledge.getNumClauses());
+		assertEquals(-1, knowledge.getOwner(Long.numberOfTrailingZeros(shownMask)));
+
+		knowledge.addLacks(1, otherMask);
+		assertEquals(0, knowledge.getNumClauses());
+		assertEquals(1, knowledge.getOwner(Long.numberOfTrailingZeros(shownMask)));
+		assertTrue((knowledge.getLacksMask(knowledge.getEnvelopeIndex()) & shownMask) != 0);
+	}
+
+	// Sampled deals only ever put possible cards in the envelope, and a forced card is always there
+	@Test
+	public void testEnvelopeBelief() {
+		board.resetGame();
+		KnowledgeBase knowledge = createKnowledgeBase();
+		Player player = board.getPlayers().get(0);
+		knowledge.addHas(0, player.getHandMask());
+		EnvelopeBelief belief = EnvelopeBelief.estimate(knowledge, 4096, Long.MAX_VALUE, ForkJoinPool.commonPool());
+		assertTrue(belief.getNumSamples() > 0);
+		for (Card card : player.getHand()) {
+			assertEquals(0.0, belief.getProbability(card));
+		}
+
+		knowledge.observeSuggestion(0, board.getPackedAnswer().getCardMask(), -1);
+		belief = EnvelopeBelief.estimate(knowledge);
+		for (int index = 0; index < PackedSolution.NUM_CARDS; index++) {
+			Card answerCard = board.getTheAnswer().getCard(index);
+			assertEquals(1.0, belief.getProbability(answerCard));
+			assertEquals(answerCard, belief.getMostLikely(answerCard.getType()));
+		}
+	}
+
+	// On a deck small enough to count, sampled estimates agree with the exact ones even once the other players' hands
+	// are constrained, which a sampler that favored some deals over others would not
+	@Test
+	public void testEnvelopeBeliefMatchesCount() throws BadConfigFormatException {
+		CardRegistry cardRegistry = new CardRegistry();
+		for (int index = 0; index < 4; index++) {
+			cardRegistry.register("Room " + index, CardType.ROOM);
+		}
+		for (int index = 0; index < 3; index++) {
+			cardRegistry.register("Person " + index, CardType.PERSON);
+			cardRegistry.register("Weapon " + index, CardType.WEAPON);
+		}
+		KnowledgeBase knowledge = new KnowledgeBase(cardRegistry, new int[] {3, 2, 2});
+		long roomMask = cardRegistry.getTypeMask(CardType.ROOM);
+		long personMask = cardRegistry.getTypeMask(CardType.PERSON);
+		long weaponMask = cardRegistry.getTypeMask(CardType.WEAPON);
+		knowledge.addHas(0, Long.lowestOneBit(roomMask) | Long.lowestOneBit(personMask) | Long.lowestOneBit(weaponMask));
+		// Player 1 suggests, player 2 cannot disprove, and player 0 shows a card
+		knowledge.observeSuggestion(1, Long.highestOneBit(roomMask) | Long.lowestOneBit(personMask) | Long.highestOneBit(weaponMask), 0);
+
+		EnvelopeBelief exact = new DealCounter(knowledge).getBelief();
+		EnvelopeBelief estimate = EnvelopeBelief.estimate(knowledge, 40000, Long.MAX_VALUE, ForkJoinPool.commonPool());
+		for (int id = 0; id < cardRegistry.size(); id++) {
+			assertEquals(exact.getProbability(id), estimate.getProbability(id), 0.04);
+		}
+	}
+
+	// With no time to sample, every card that could be in the envelope is as likely as the others of its type
+	@Test
+	public void testEnvelopeBeliefBudget() {
+		board.resetGame();
+		KnowledgeBase knowledge = createKnowledgeBase();
+		EnvelopeBelief belief = EnvelopeBelief.estimate(knowledge, 4096, 0, ForkJoinPool.commonPool());
+		assertEquals(0, belief.getNumSamples());
+		CardRegistry cardRegistry = board.getCardRegistry();
+		long weaponMask = cardRegistry.getTypeMask(CardType.WEAPON);
+		assertEquals(1.0 / Long.bitCount(weaponMask), belief.getProbability(Long.numberOfTrailingZeros(weaponMask)));
+	}
+
+	// Knowing only our own hand, every other deal is possible and every unknown card of a type is as likely as the others
+	@Test
+	public void testDealCounter() {
+		board.resetGame();
+		KnowledgeBase knowledge = createKnowledgeBase();
+		Player player = board.getPlayers().get(0);
+		knowledge.addHas(0, player.getHandMask());
+		DealCounter dealCounter = new DealCounter(knowledge);
+		EnvelopeBelief belief = dealCounter.getBelief();
+		assertTrue(belief.isExact());
+
+		// One room, person, and weapon out of those not in our hand, then 3 of the other 15 cards to each of the other 5 players
+		CardRegistry cardRegistry = board.getCardRegistry();
+		long numEnvelopes = 1;
+		for (CardType type : CardType.values()) {
+			long unknownOfType = cardRegistry.getTypeMask(type) & ~player.getHandMask();
+			numEnvelopes *= Long.bitCount(unknownOfType);
+			for (long mask = unknownOfType; mask != 0; mask &= mask - 1) {
+				assertEquals(1.0 / Long.bitCount(unknownOfType), belief.getProbability(Long.numberOfTrailingZeros(mask)), 1e-12);
+			}
+		}
+		assertEquals(numEnvelopes * 168168000L, dealCounter.getNumDeals());
+		for (Card card : player.getHand()) {
+			assertEquals(0.0, belief.getProbability(card));
+		}
+	}
+
+	// Counting is only done again once something new is learned
+	@Test
+	public void testDealCounterCache() {
+		board.resetGame();
+		KnowledgeBase knowledge = createKnowledgeBase();
+		knowledge.addHas(0, board.getPlayers().get(0).getHandMask());
+		DealCounter dealCounter = new DealCounter(knowledge);
+		dealCounter.getBelief();
+		dealCounter.getBelief();
+		assertEquals(1, dealCounter.getNumCounts());
+
+		// Something already known teaches nothing
+		knowledge.addHas(0, board.getPlayers().get(0).getHandMask());
+		dealCounter.getBelief();
+		assertEquals(1, dealCounter.getNumCounts());
+
+		// Nobody disproving the answer forces it, and the count agrees
+		knowledge.observeSuggestion(0, board.getPackedAnswer().getCardMask(), -1);
+		EnvelopeBelief belief = dealCounter.getBelief();
+		assertEquals(2, dealCounter.getNumCounts());
+		for (int index = 0; index < PackedSolution.NUM_CARDS; index++) {
+			assertEquals(1.0, belief.getProbability(board.getTheAnswer().getCard(index)), 1e-12);
+		}
+	}
+
+	// A fact that every counted deal already agrees with keeps the count
+	@Test
+	public void testDealCounterKeepsCount() throws BadConfigFormatException {
+		CardRegistry cardRegistry = new CardRegistry();
+		for (CardType type : CardType.values()) {
+			cardRegistry.register(type + " 0", type);
+			cardRegistry.register(type + " 1", type);
+		}
+		KnowledgeBase knowledge = new KnowledgeBase(cardRegistry, new int[] {1, 2});
+		long room = Long.lowestOneBit(cardRegistry.getTypeMask(CardType.ROOM));
+		long person = Long.lowestOneBit(cardRegistry.getTypeMask(CardType.PERSON));
+		long weapon = Long.lowestOneBit(cardRegistry.getTypeMask(CardType.WEAPON));
+		// With room for only one card, player 0 can only satisfy both clauses by holding the room
+		knowledge.addHasOneOf(0, room | person);
+		knowledge.addHasOneOf(0, room | weapon);
+		DealCounter dealCounter = new DealCounter(knowledge);
+		EnvelopeBelief belief = dealCounter.getBelief();
+		assertEquals(0.0, belief.getProbability(Long.numberOfTrailingZeros(room)));
+		long numDeals = dealCounter.getNumDeals();
+
+		long version = knowledge.getVersion();
+		knowledge.addHas(0, room);
+		assertNotEquals(version, knowledge.getVersion());
+		assertEquals(belief, dealCounter.getBelief());
+		assertEquals(numDeals, dealCounter.getNumDeals());
+		assertEquals(1, dealCounter.getNumCounts());
+
+		// Player 1 lacking a card some counted deal gave them does not
+		knowledge.addLacks(1, person);
+		dealCounter.getBelief();
+		assertEquals(2, dealCounter.getNumCounts());
+	}
+
+	// Everything a computer player deduces during a game has to be true
+	@Test
+	public void testDeductionsAreSound() {
+		for (int game = 0; game < NUM_GAMES; game++) {
+			board.resetGame();
+			GameStatus status = new GameEngine(board, game).playGame();
+			assertEquals(GameStatus.SOLVED, status);
+
+			List<Player> players = board.getPlayers();
+			for (Player player : players) {
+				KnowledgeBase knowledge = ((ComputerPlayer) player).getKnowledge();
+				assertTrue(knowledge.isConsistent());
+				for (int owner = 0; owner < players.size(); owner++) {
+					long handMask = players.get(owner).getHandMask();
+					assertEquals(knowledge.getHasMask(owner), knowledge.getHasMask(owner) & handMask);
+					assertEquals(0, knowledge.getLacksMask(owner) & handMask);
+				}
+				long answerMask = board.getPackedAnswer().getCardMask();
+				assertEquals(0, knowledge.getLacksMask(knowledge.getEnvelopeIndex()) & answerMask);
+			}
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Class: ParallelLoadTest
+ *
+ * Purpose: Tests loading the layout and building the adjacency lists in row bands on a fork-join pool
+ *
+ * Responsibilities: Inits boards from the data files both on one thread and split into as many bands as possible, checks that their cells, rooms, and adjacency lists match, and checks that a bad layout gives the same error either way
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import clueGame.BadConfigFormatException;
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.BoardGrid;
+import clueGame.Room;
+
+public class ParallelLoadTest {
+	private static Board loadBoard(String layoutFile, String setupFile, int parallelLoadCells) {
+		Board board = new Board();
+		board.setParallelLoadCells(parallelLoadCells);
+		board.setConfigFiles(layoutFile, setupFile);
+		board.initialize();
+		return board;
+	}
+
+	// Every band of rows, even on the small boards, gives exactly what one thread does
+	@Test
+	public void testSameAsSequential() {
+		assertSameBoard(
+			loadBoard("data/ClueLayout.csv", "data/ClueSetup.txt", Integer.MAX_VALUE),
+			loadBoard("data/ClueLayout.csv", "data/ClueSetup.txt", 0)
+		);
+		assertSameBoard(
+			loadBoard("data/ClueLayout306.csv", "data/ClueSetup306.txt", Integer.MAX_VALUE),
+			loadBoard("data/ClueLayout306.csv", "data/ClueSetup306.txt", 0)
+		);
+	}
+
+	// The first bad row is reported, however the rows were split up
+	@Test
+	public void testSameErrors() {
+		assertEquals(layoutError("data/ClueLayoutBadColumns.csv", Integer.MAX_VALUE), layoutError("data/ClueLayoutBadColumns.csv", 0));
+		assertEquals(layoutError("data/ClueLayoutBadRoom.csv", Integer.MAX_VALUE), layoutError("data/ClueLayoutBadRoom.csv", 0));
+	}
+
+	private static String layoutError(String layoutFile, int parallelLoadCells) {
+		Board board = new Board();
+		board.setParallelLoadCells(parallelLoadCells);
+		board.setConfigFiles(layoutFile, "data/ClueSetup.txt");
+		return assertThrows(BadConfigFormatException.class, () -> {
+			board.loadSetupConfig();
+			board.loadLayoutConfig();
+		}).getMessage();
+	}
+
+	private static void assertSameBoard(Board expectedBoard, Board actualBoard) {
+		BoardGrid expected = expectedBoard.getGrid();
+		BoardGrid actual = actualBoard.getGrid();
+		assertEquals(expected.getNumRows(), actual.getNumRows());
+		assertEquals(expected.getNumColumns(), actual.getNumColumns());
+		for (int id = 0; id < expected.getNumCells(); id++) {
+			BoardCell expectedCell = expected.getCell(id);
+			BoardCell actualCell = actual.getCell(id);
+			assertEquals(expected.getInitial(id), actual.getInitial(id));
+			assertEquals(expected.getDoorDirection(id), actual.getDoorDirection(id));
+			assertEquals(expected.getSecretPassage(id), actual.getSecretPassage(id));
+			assertEquals(expectedCell.isWalkway(), actualCell.isWalkway());
+			assertEquals(expectedCell.isRoomCenter(), actualCell.isRoomCenter());
+			assertEquals(expectedCell.isRoomLabel(), actualCell.isRoomLabel());
+			assertEquals(cellIds(expected.getAdjList(id)), cellIds(actual.getAdjList(id)));
+
+			// Rooms are shared by every band, so they have to end up pointing at the same cells
+			if (expectedCell.isRoom()) {
+				Room expectedRoom = expectedBoard.getRoom(expectedCell);
+				Room actualRoom = actualBoard.getRoom(actualCell);
+				assertEquals(expectedRoom.getCenterCell().getId(), actualRoom.getCenterCell().getId());
+				assertEquals(expectedRoom.getLabelCell().getId(), actualRoom.getLabelCell().getId());
+			}
+		}
+	}
+
+	private static List<Integer> cellIds(Iterable<BoardCell> cells) {
+		List<Integer> ids = new ArrayList<>();
+		for (BoardCell cell : cells) {
+			ids.add(cell.getId());
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Class: PatchedTargetsTest
+ *
+ * Purpose: Tests finding targets by patching the targets of an empty board for the cells players stand on
+ *
+ * Responsibilities: Inits both game boards, calculates the targets of every start cell with the recursive search and by patching, as players move onto walkways, doorways, and rooms, and checks that the two agree, at every roll two dice can make for the start cells right by the players, that the empty board targets are searched once and kept however players move, and that turning patching off still gives the same targets
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.PatchedTargets;
+import clueGame.TargetAlgorithm;
+
+public class PatchedTargetsTest {
+	// Players block the walkways right by the start cells the tests in BoardAdjTargetTest use, and sit in a room
+	@Test
+	public void testClueLayout() {
+		Board board = TargetChecks.loadBoard("data/ClueLayout.csv", "data/ClueSetup.txt");
+		TargetChecks.checkAllStartCells(board, TargetAlgorithm.PATCHED);
+		int numEntries = board.getPatchedTargets().size();
+
+		int[][] occupiedCells = {{14, 6}, {13, 5}, {6, 0}, {18, 2}, {2, 7}, {16, 27}};
+		for (int[] occupiedCell : occupiedCells) {
+			board.getCell(occupiedCell[0], occupiedCell[1]).setOccupied(true);
+			TargetChecks.checkAllStartCells(board, TargetAlgorithm.PATCHED);
+		}
+		// Every turn after the first only patches what the first one found
+		assertEquals(numEntries, board.getPatchedTargets().size());
+	}
+
+	@Test
+	public void testClueLayout306() {
+		Board board = TargetChecks.loadBoard("data/ClueLayout306.csv", "data/ClueSetup306.txt");
+		int[][] occupiedCells = {{7, 10}, {5, 3}, {17, 17}, {23, 8}};
+		for (int[] occupiedCell : occupiedCells) {
+			board.getCell(occupiedCell[0], occupiedCell[1]).setOccupied(true);
+		}
+		TargetChecks.checkAllStartCells(board, TargetAlgorithm.PATCHED);
+		board.getCell(7, 10).setOccupied(false);
+		board.getCell(7, 9).setOccupied(true);
+		TargetChecks.checkAllStartCells(board, TargetAlgorithm.PATCHED);
+	}
+
+	// TargetChecks only samples the rolls above MAX_FULL_ROLL, so every start cell right by a player is checked at them
+	// here, first with the empty board's entries and then as the players move on
+	@Test
+	public void testHighRollsByOccupiedCells() {
+		Board board = TargetChecks.loadBoard("data/ClueLayout.csv", "data/ClueSetup.txt");
+		board.setTargetAlgorithm(TargetAlgorithm.PATCHED);
+		int[][] occupiedCells = {{14, 6}, {13, 5}, {6, 0}, {18, 2}, {2, 7}, {16, 27}};
+		for (int[] occupiedCell : occupiedCells) {
+			board.getCell(occupiedCell[0], occupiedCell[1]).setOccupied(true);
+			checkHighRollsByOccupiedCells(board, occupiedCells);
+		}
+		for (int[] occupiedCell : occupiedCells) {
+			board.getCell(occupiedCell[0], occupiedCell[1]).setOccupied(false);
+			checkHighRollsByOccupiedCells(board, occupiedCells);
+		}
+	}
+
+	// With patching turned off the default algorithm searches every roll with BitboardTargets
+	@Test
+	public void testPatchingOff() {
+		Board board = TargetChecks.loadBoard("data/ClueLayout.csv", "data/ClueSetup.txt");
+		board.setPatchedTargetsCapacity(0);
+		assertNull(board.getPatchedTargets());
+		board.getCell(14, 6).setOccupied(true);
+		TargetChecks.checkAllStartCells(board, TargetAlgorithm.PATCHED);
+		assertEquals(PatchedTargets.DEFAULT_CAPACITY, new Board().getPatchedTargetsCapacity());
+	}
+
+	private static void checkHighRollsByOccupiedCells(Board board, int[][] occupiedCells) {
+		for (int roll = TargetChecks.MAX_FULL_ROLL + 1; roll <= TargetChecks.MAX_ROLL; roll++) {
+			for (int[] occupiedCell : occupiedCells) {
+				for (BoardCell startCell : board.getAdjList(occupiedCell[0], occupiedCell[1])) {
+					if (!startCell.isWalkway() && !startCell.isRoomCenter()) {
+						continue;
+					}
+					Set<BoardCell> expected = TargetChecks.calcExpectedTargets(board, startCell, roll, false);
+					board.calcTargets(startCell, roll, false);
+					assertEquals(expected, board.getTargets(),
+						"Targets of (" + startCell.getRow() + ", " + startCell.getCol() + ") with a roll of " + roll);
+				}
+			}
+		}
+	}
+}
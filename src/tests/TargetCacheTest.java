@@ -0,0 +1,158 @@
+/*
+ * Class: TargetCacheTest
+ *
+ * Purpose: Tests the cache of target sets in front of Board.calcTargets
+ *
+ * Responsibilities: Inits board from data files, repeats target calculations to check hits and misses, moves players and blocks walkways near and far from the start cell, and checks eviction once the cache is full, then resets board to inital state
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.Player;
+import clueGame.TargetCache;
+
+public class TargetCacheTest {
+	private static Board board;
+
+	private TargetCache cache;
+
+	@BeforeEach
+	public void setUp() {
+		board = Board.getInstance();
+		board.setConfigFiles("data/ClueLayout.csv", "data/ClueSetup.txt");
+		board.initialize();
+		cache = board.getTargetCache();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		board.setTargetCacheCapacity(TargetCache.DEFAULT_CAPACITY);
+	}
+
+	// The same roll from the same cell is only searched for once
+	@Test
+	public void testRepeatedRollHits() {
+		BoardCell startCell = board.getCell(14, 5);
+		board.calcTargets(startCell, 3);
+		Set<BoardCell> targets = board.getTargets();
+		assertEquals(0, cache.getHits());
+		assertEquals(1, cache.getMisses());
+
+		board.calcTargets(startCell, 3);
+		assertEquals(1, cache.getHits());
+		assertEquals(targets, board.getTargets());
+
+		// A different roll or a dragged player is a different search
+		board.calcTargets(startCell, 4);
+		board.calcTargets(startCell, 3, true);
+		assertEquals(1, cache.getHits());
+		assertEquals(3, cache.getMisses());
+		assertEquals(3, cache.size());
+	}
+
+	// Only walkways a path of the roll could step on change the targets
+	@Test
+	public void testNearbyWalkwayMisses() {
+		BoardCell startCell = board.getCell(14, 5);
+		board.calcTargets(startCell, 3);
+		assertTrue(board.getTargets().contains(board.getCell(14, 8)));
+
+		board.getCell(14, 25).setOccupied(true);
+		board.calcTargets(startCell, 3);
+		assertEquals(1, cache.getHits());
+
+		board.getCell(14, 7).setOccupied(true);
+		board.calcTargets(startCell, 3);
+		assertEquals(1, cache.getHits());
+		assertEquals(2, cache.getMisses());
+		assertFalse(board.getTargets().contains(board.getCell(14, 8)));
+
+		// Once the walkway is free again the first target set is good again
+		board.getCell(14, 7).setOccupied(false);
+		board.calcTargets(startCell, 3);
+		assertEquals(2, cache.getHits());
+		assertTrue(board.getTargets().contains(board.getCell(14, 8)));
+
+		board.getCell(14, 25).setOccupied(false);
+	}
+
+	// Moving a player is what changes which walkways are occupied during a game
+	@Test
+	public void testPlayerMoveMisses() {
+		Player player = board.getPlayers().get(0);
+		BoardCell startCell = board.getCell(14, 5);
+		board.calcTargets(startCell, 3);
+		Set<BoardCell> targets = new HashSet<>(board.getTargets());
+
+		player.move(board.getCell(13, 5));
+		board.calcTargets(startCell, 3);
+		assertEquals(0, cache.getHits());
+		assertFalse(board.getTargets().contains(board.getCell(12, 5)));
+
+		// Leaving for a room frees the walkway, and players in rooms never block a path
+		player.move(board.getCell(18, 2));
+		board.calcTargets(startCell, 3);
+		assertEquals(1, cache.getHits());
+		assertEquals(targets, board.getTargets());
+
+		board.getCell(18, 2).setOccupied(false);
+	}
+
+	// The least recently used target set is the one dropped when the cache is full
+	@Test
+	public void testEviction() {
+		board.setTargetCacheCapacity(2);
+		cache = board.getTargetCache();
+		BoardCell startCell = board.getCell(14, 5);
+
+		board.calcTargets(startCell, 1);
+		board.calcTargets(startCell, 2);
+		board.calcTargets(startCell, 1);
+		board.calcTargets(startCell, 3);
+		assertEquals(1, cache.getEvictions());
+		assertEquals(2, cache.size());
+
+		board.calcTargets(startCell, 1);
+		assertEquals(2, cache.getHits());
+		board.calcTargets(startCell, 2);
+		assertEquals(2, cache.getHits());
+		assertEquals(2, cache.getEvictions());
+	}
+
+	// Cached target sets belong to the cache, so nobody may change them, and uncached ones are read only just the same
+	@Test
+	public void testTargetsReadOnly() {
+		board.calcTargets(board.getCell(14, 5), 2);
+		assertThrows(UnsupportedOperationException.class, () -> {
+			board.getTargets().clear();
+		});
+
+		board.setTargetCacheCapacity(0);
+		board.calcTargets(board.getCell(14, 5), 2);
+		assertThrows(UnsupportedOperationException.class, () -> {
+			board.getTargets().clear();
+		});
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Class: TargetChecks
+ *
+ * Purpose: Shared checks for the tests of the target algorithms that are meant to find exactly what the recursive search finds
+ *
+ * Responsibilities: Loads a board with the target cache off, so that every query runs the algorithm under test, and calculates the targets of every start cell for every roll up to MAX_FULL_ROLL, and of a sample of them for the higher rolls up to MAX_ROLL, with the recursive search and with the given algorithm, with dragged players in rooms on even rolls, and checks that the two agree. Tests of other ways of getting targets use the same start cells and recursive targets to check against
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.TargetAlgorithm;
+
+final class TargetChecks {
+	static final int MAX_ROLL = 12;
+	// Rolls above this are only checked from every SAMPLE_STRIDE-th start cell, since the recursive search is what
+	// makes them slow
+	static final int MAX_FULL_ROLL = 8;
+	static final int SAMPLE_STRIDE = 5;
+
+	private TargetChecks() {
+	}
+
+	static Board loadBoard(String layoutConfigFile, String setupConfigFile) {
+		Board board = new Board();
+		board.setConfigFiles(layoutConfigFile, setupConfigFile);
+		board.initialize();
+		board.setTargetCacheCapacity(0);
+		return board;
+	}
+
+	// Every walkway and room center, the cells a turn can start on
+	static List<BoardCell> getStartCells(Board board) {
+		List<BoardCell> startCells = new ArrayList<>();
+		for (int row = 0; row < board.getNumRows(); row++) {
+			for (int col = 0; col < board.getNumColumns(); col++) {
+				BoardCell cell = board.getCell(row, col);
+				if (cell.isWalkway() || cell.isRoomCenter()) {
+					startCells.add(cell);
+				}
+			}
+		}
+		return startCells;
+	}
+
+	// Every start cell up to MAX_FULL_ROLL, and every SAMPLE_STRIDE-th one, offset by the roll so that each roll covers
+	// different cells, above it
+	static List<BoardCell> getCheckedStartCells(List<BoardCell> startCells, int roll) {
+		if (roll <= MAX_FULL_ROLL) {
+			return startCells;
+		}
+		List<BoardCell> checkedStartCells = new ArrayList<>();
+		for (int startIdx = roll % SAMPLE_STRIDE; startIdx < startCells.size(); startIdx += SAMPLE_STRIDE) {
+			checkedStartCells.add(startCells.get(startIdx));
+		}
+		return checkedStartCells;
+	}
+
+	// The targets the recursive search finds, leaving the board's algorithm as it was
+	static Set<BoardCell> calcExpectedTargets(Board board, BoardCell startCell, int roll, boolean isDragged) {
+		TargetAlgorithm algorithm = board.getTargetAlgorithm();
+		board.setTargetAlgorithm(TargetAlgorithm.RECURSIVE);
+		board.calcTargets(startCell, roll, isDragged);
+		Set<BoardCell> expected = new HashSet<>(board.getTargets());
+		board.setTargetAlgorithm(algorithm);
+		return expected;
+	}
+
+	static void checkAllStartCells(Board board, TargetAlgorithm algorithm) {
+		List<BoardCell> startCells = getStartCells(board);
+		board.setTargetAlgorithm(algorithm);
+		for (int roll = 1; roll <= MAX_ROLL; roll++) {
+			for (BoardCell startCell : getCheckedStartCells(startCells, roll)) {
+				boolean isDragged = startCell.isRoomCenter() && roll % 2 == 0;
+				Set<BoardCell> expected = calcExpectedTargets(board, startCell, roll, isDragged);
+				board.calcTargets(startCell, roll, isDragged);
+				assertEquals(expected, board.getTargets(),
+					"Targets of (" + startCell.getRow() + ", " + startCell.getCol() + ") with a roll of " + roll);
+			}
+		}
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * Class: TargetPathsTest
+ *
+ * Purpose: Tests finding the targets of a roll along with the paths that reach them
+ *
+ * Responsibilities: Inits both game boards, with and without occupied cells, and checks that the targets found with paths are exactly the ones the recursive search gives, that every kept path is a legal move of the roll from the start cell to its target, that room centers keep only their shortest paths, that every path is kept when the cap allows it and only the cap's worth otherwise, and that the dragged and no-move rules give a path of only the start cell
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.TargetPaths;
+
+public class TargetPathsTest {
+	// Lower than TargetChecks.MAX_ROLL, since the paths are counted one by one and their number grows exponentially
+	// with the roll
+	private static final int MAX_ROLL = 5;
+	// More than any target of these rolls has, so every path is kept
+	private static final int ALL_PATHS = 1 << 20;
+
+	@Test
+	public void testClueLayout() {
+		Board board = TargetChecks.loadBoard("data/ClueLayout.csv", "data/ClueSetup.txt");
+		checkAllStartCells(board);
+		board.getCell(14, 6).setOccupied(true);
+		board.getCell(13, 5).setOccupied(true);
+		board.getCell(16, 27).setOccupied(true);
+		checkAllStartCells(board);
+	}
+
+	@Test
+	public void testClueLayout306() {
+		Board board = TargetChecks.loadBoard("data/ClueLayout306.csv", "data/ClueSetup306.txt");
+		board.getCell(7, 10).setOccupied(true);
+		board.getCell(5, 3).setOccupied(true);
+		checkAllStartCells(board);
+	}
+
+	// Keeping one path per target drops the rest, and a path that stays put is only the start cell
+	@Test
+	public void testCapAndStartCell() {
+		Board board = TargetChecks.loadBoard("data/ClueLayout.csv", "data/ClueSetup.txt");
+		BoardCell walkway = board.getCell(14, 5);
+		TargetPaths paths = board.calcTargetPaths(walkway, 4, false);
+		assertTrue(paths.isTruncated());
+		for (BoardCell target : paths.getTargets()) {
+			assertEquals(1, paths.getPaths(target).size());
+		}
+		assertNull(paths.getPath(board.getCell(0, 0)));
+		assertThrows(IllegalArgumentException.class, () -> board.calcTargetPaths(walkway, 4, false, 0));
+
+		BoardCell roomCenter = board.getCell(1, 2);
+		paths = board.calcTargetPaths(roomCenter, 2, true);
+		assertEquals(List.of(roomCenter), paths.getPath(roomCenter));
+
+		for (BoardCell adjCell : board.getAdjList(14, 5)) {
+			adjCell.setOccupied(true);
+		}
+		paths = board.calcTargetPaths(walkway, 3, false);
+		assertEquals(Set.of(walkway), paths.getTargets());
+		assertEquals(List.of(walkway), paths.getPath(walkway));
+	}
+
+	private static void checkAllStartCells(Board board) {
+		for (BoardCell startCell : TargetChecks.getStartCells(board)) {
+			// The shortest distance to a room center is the smallest roll it is a target of
+			int[] roomDistances = new int[board.getGrid().getNumCells()];
+			for (int roll = MAX_ROLL; roll >= 1; roll--) {
+				for (BoardCell target : TargetChecks.calcExpectedTargets(board, startCell, roll, false)) {
+					if (target.isRoomCenter() && target != startCell) {
+						roomDistances[target.getId()] = roll;
+					}
+				}
+			}
+
+			for (int roll = 1; roll <= MAX_ROLL; roll++) {
+				Set<BoardCell> expected = TargetChecks.calcExpectedTargets(board, startCell, roll, false);
+				String message = "Paths from (" + startCell.getRow() + ", " + startCell.getCol() + ") with a roll of " + roll;
+				TargetPaths paths = board.calcTargetPaths(startCell, roll, false, ALL_PATHS);
+				assertEquals(expected, paths.getTargets(), message);
+				assertFalse(paths.isTruncated(), message);
+
+				for (BoardCell target : expected) {
+					List<List<BoardCell>> targetPaths = paths.getPaths(target);
+					assertEquals(targetPaths.size(), paths.getNumPaths(target), message);
+					assertEquals(targetPaths.get(0), paths.getPath(target), message);
+					if (target == startCell) {
+						assertEquals(List.of(List.of(startCell)), targetPaths, message);
+						continue;
+					}
+					int numMoves = target.isRoomCenter() ? roomDistances[target.getId()] : roll;
+					assertEquals(countPaths(board, startCell, target, numMoves, new HashSet<>()), targetPaths.size(), message);
+					assertEquals(targetPaths.size(), new HashSet<>(targetPaths).size(), message);
+					for (List<BoardCell> path : targetPaths) {
+						checkPath(board, path, startCell, target, numMoves, message);
+					}
+				}
+			}
+		}
+	}
+
+	// A path of numMoves moves from startCell to target that never crosses itself, a room center, or another player
+	private static void checkPath(Board board, List<BoardCell> path, BoardCell startCell, BoardCell target, int numMoves, String message) {
+		assertEquals(numMoves + 1, path.size(), message);
+		assertEquals(startCell, path.get(0), message);
+		assertEquals(target, path.get(numMoves), message);
+		assertEquals(path.size(), new HashSet<>(path).size(), message);
+		for (int pathPos = 1; pathPos <= numMoves; pathPos++) {
+			BoardCell previous = path.get(pathPos - 1);
+			BoardCell cell = path.get(pathPos);
+			assertTrue(board.getAdjList(previous.getRow(), previous.getCol()).contains(cell), message);
+			if (pathPos < numMoves) {
+				assertTrue(cell.isWalkway() && !cell.isOccupied(), message);
+			}
+		}
+	}
+
+	// How many ways there are to reach target in exactly numMoves moves by those rules
+	private static int countPaths(Board board, BoardCell cell, BoardCell target, int numMoves, Set<BoardCell> visited) {
+		if (numMoves == 0) {
+			return cell == target ? 1 : 0;
+		}
+		if (visited.size() > 0 && (cell.isRoomCenter() || cell.isOccupied())) {
+			return 0;
+		}
+		visited.add(cell);
+		int numPaths = 0;
+		for (BoardCell adjCell : board.getAdjList(cell.getRow(), cell.getCol())) {
+			if (!visited.contains(adjCell)) {
+				numPaths += countPaths(board, adjCell, target, numMoves - 1, visited);
+			}
+		}
+		visited.remove(cell);
+		return numPaths;
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Class: TargetSearchTest
+ *
+ * Purpose: Tests the target search that can be run a little at a time, given a deadline, or cancelled
+ *
+ * Responsibilities: Inits board from data files, runs searches in the smallest slices possible and checks they end with the same targets as Board.calcTargets, checks that progress only goes up, checks that splitting a search into a task for every branch finds the same targets, and checks that a cancelled search or one out of time stops with the targets it found so far
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.TargetSearch;
+
+public class TargetSearchTest {
+	private static Board board;
+
+	@BeforeEach
+	public void setUp() {
+		board = Board.getInstance();
+		board.setConfigFiles("data/ClueLayout.csv", "data/ClueSetup.txt");
+		board.initialize();
+	}
+
+	// A search with no time at all still gets a little done on every call, and ends where calcTargets does
+	@Test
+	public void testSlicedSearch() {
+		BoardCell startCell = board.getCell(14, 5);
+		for (int roll = 1; roll <= 12; roll++) {
+			TargetSearch search = board.newTargetSearch(startCell, roll, false);
+			double lastProgress = 0;
+			while (!search.search(0)) {
+				assertTrue(search.getProgress() >= lastProgress);
+				assertTrue(search.getProgress() < 1);
+				lastProgress = search.getProgress();
+			}
+			assertTrue(search.isComplete());
+			assertEquals(1.0, search.getProgress());
+
+			board.calcTargets(startCell, roll);
+			assertEquals(board.getTargets(), search.getTargets());
+		}
+	}
+
+	// The rules for a dragged player and a player with nowhere to go apply once the search is done
+	@Test
+	public void testStartCellRules() {
+		BoardCell roomCenter = board.getCell(1, 2);
+		TargetSearch search = board.newTargetSearch(roomCenter, 2, true);
+		assertTrue(search.search(Long.MAX_VALUE));
+		assertTrue(search.getTargets().contains(roomCenter));
+
+		board.calcTargets(roomCenter, 2, true);
+		assertEquals(board.getTargets(), search.getTargets());
+	}
+
+	// Splitting every branch into its own task, with some cells occupied, finds exactly what one search does
+	@Test
+	public void testParallelSearch() {
+		board.getCell(14, 7).setOccupied(true);
+		board.getCell(18, 5).setOccupied(true);
+		int[][] startCells = {{14, 5}, {1, 2}, {6, 0}, {18, 17}};
+		for (int[] startCell : startCells) {
+			BoardCell cell = board.getCell(startCell[0], startCell[1]);
+			for (int roll = 1; roll <= 9; roll++) {
+				TargetSearch search = board.newTargetSearch(cell, roll, false);
+				search.search(Long.MAX_VALUE);
+				assertEquals(search.getTargets(), TargetSearch.searchInParallel(board, cell, roll, false, ForkJoinPool.commonPool(), 1));
+			}
+		}
+		board.getCell(14, 7).setOccupied(false);
+		board.getCell(18, 5).setOccupied(false);
+	}
+
+	// Small rolls are never worth the tasks
+	@Test
+	public void testWorthSplitting() {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		BoardCell startCell = board.getCell(14, 5);
+		assertFalse(TargetSearch.isWorthSplitting(board.getGrid(), startCell, 6, pool));
+		assertTrue(TargetSearch.isWorthSplitting(board.getGrid(), startCell, 60, pool));
+		pool.shutdown();
+
+		ForkJoinPool singleThreadPool = new ForkJoinPool(1);
+		assertFalse(TargetSearch.isWorthSplitting(board.getGrid(), startCell, 60, singleThreadPool));
+		singleThreadPool.shutdown();
+	}
+
+	// A cancelled search stops where it is and can be asked what it found
+	@Test
+	public void testCancel() {
+		TargetSearch search = board.newTargetSearch(board.getCell(14, 5), 20, false);
+		search.cancel();
+		assertFalse(search.search(Long.MAX_VALUE));
+		assertTrue(search.isCancelled());
+		assertFalse(search.isComplete());
+		assertEquals(0, search.getNumSteps());
+		assertTrue(search.getTargets().isEmpty());
+	}
+
+	// Far too long a roll to finish is given up on once its time runs out, with what it found kept
+	@Test
+	public void testDeadline() {
+		TargetSearch search = board.newTargetSearch(board.getCell(14, 5), 200, false);
+		long startTime = System.nanoTime();
+		assertFalse(search.search(20_000_000));
+		assertTrue(System.nanoTime() - startTime < 2_000_000_000L);
+		assertFalse(search.isComplete());
+		assertTrue(search.getNumSteps() > 0);
+		assertTrue(search.getProgress() >= 0 && search.getProgress() < 1);
+		assertFalse(search.getTargets().isEmpty());
+	}
+}
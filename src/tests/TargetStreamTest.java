@@ -0,0 +1,122 @@
+/*
+ * Class: TargetStreamTest
+ *
+ * Purpose: Tests handing out the targets of a roll one at a time, room centers first, and ranking them by a score
+ *
+ * Responsibilities: Inits both game boards, streams the targets of the start cells and rolls TargetChecks covers, with and without occupied cells, and checks that the stream gives exactly the targets the recursive search does, each once and every room center before any walkway, that the dragged and no-move rules still hold, and that ranking the stream keeps the best targets in order and stops once they are good enough
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.TargetStream;
+
+public class TargetStreamTest {
+	@Test
+	public void testClueLayout() {
+		Board board = TargetChecks.loadBoard("data/ClueLayout.csv", "data/ClueSetup.txt");
+		checkAllStartCells(board);
+		board.getCell(14, 6).setOccupied(true);
+		board.getCell(13, 5).setOccupied(true);
+		board.getCell(16, 27).setOccupied(true);
+		checkAllStartCells(board);
+	}
+
+	@Test
+	public void testClueLayout306() {
+		Board board = TargetChecks.loadBoard("data/ClueLayout306.csv", "data/ClueSetup306.txt");
+		board.getCell(7, 10).setOccupied(true);
+		board.getCell(5, 3).setOccupied(true);
+		checkAllStartCells(board);
+	}
+
+	// A player dragged into a room may stay there, and one boxed in by other players stays where they are
+	@Test
+	public void testStartCellRules() {
+		Board board = TargetChecks.loadBoard("data/ClueLayout.csv", "data/ClueSetup.txt");
+		BoardCell roomCenter = board.getCell(1, 2);
+		TargetStream stream = board.streamTargets(roomCenter, 3, true);
+		assertEquals(roomCenter, stream.next());
+
+		BoardCell walkway = board.getCell(14, 5);
+		for (BoardCell adjCell : board.getAdjList(14, 5)) {
+			adjCell.setOccupied(true);
+		}
+		stream = board.streamTargets(walkway, 3, false);
+		assertEquals(walkway, stream.next());
+		assertFalse(stream.hasNext());
+		assertThrows(NoSuchElementException.class, stream::next);
+	}
+
+	// Ranking keeps the same targets a full sort would, and stops reading once enough of them score well enough
+	@Test
+	public void testTop() {
+		Board board = TargetChecks.loadBoard("data/ClueLayout.csv", "data/ClueSetup.txt");
+		BoardCell startCell = board.getCell(14, 5);
+		ToDoubleFunction<BoardCell> score = cell -> cell.getRow() * board.getNumColumns() + cell.getCol();
+		List<BoardCell> sorted = new ArrayList<>(TargetChecks.calcExpectedTargets(board, startCell, 6, false));
+		sorted.sort(Comparator.comparingDouble(score).reversed());
+
+		assertEquals(sorted.subList(0, 3), board.streamTargets(startCell, 6, false).top(3, score));
+		assertEquals(sorted, board.streamTargets(startCell, 6, false).top(sorted.size() + 1, score));
+		assertTrue(board.streamTargets(startCell, 6, false).top(0, score).isEmpty());
+
+		// Every target is good enough, so only the first two are read and the rest are left in the stream
+		TargetStream stream = board.streamTargets(startCell, 6, false);
+		assertEquals(2, stream.top(2, score, Double.NEGATIVE_INFINITY).size());
+		int numLeft = 0;
+		while (stream.hasNext()) {
+			stream.next();
+			numLeft++;
+		}
+		assertEquals(sorted.size() - 2, numLeft);
+	}
+
+	private static void checkAllStartCells(Board board) {
+		List<BoardCell> startCells = TargetChecks.getStartCells(board);
+		for (int roll = 1; roll <= TargetChecks.MAX_ROLL; roll++) {
+			for (BoardCell startCell : TargetChecks.getCheckedStartCells(startCells, roll)) {
+				boolean isDragged = startCell.isRoomCenter() && roll % 2 == 0;
+				String message = "Targets of (" + startCell.getRow() + ", " + startCell.getCol() + ") with a roll of " + roll;
+
+				Set<BoardCell> streamed = new HashSet<>();
+				boolean isWalkwaySeen = false;
+				TargetStream stream = board.streamTargets(startCell, roll, isDragged);
+				while (stream.hasNext()) {
+					BoardCell target = stream.next();
+					assertTrue(streamed.add(target), message);
+					if (target.isRoomCenter()) {
+						assertFalse(isWalkwaySeen, message);
+					} else {
+						isWalkwaySeen = true;
+					}
+				}
+				assertEquals(TargetChecks.calcExpectedTargets(board, startCell, roll, isDragged), streamed, message);
+			}
+		}
+	}
+}
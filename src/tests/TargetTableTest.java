@@ -0,0 +1,80 @@
+/*
+ * Class: TargetTableTest
+ *
+ * Purpose: Tests the table of targets for every start cell and roll worked out in one call
+ *
+ * Responsibilities: Inits both game boards, with and without occupied cells, and checks that the start cells and rolls TargetChecks covers have exactly the targets the recursive search gives in the table, that asking the table about a single cell agrees with that set, and that rolls and cells the table does not hold are refused
+ *
+ * Authors: Aragorn Wang, Anya Streit
+ *
+ * Date Last Edited: October 18, 2026
+ *
+ * Collaborators: None
+ *
+ * Sources: None
+ */
+
+package tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import clueGame.Board;
+import clueGame.BoardCell;
+import clueGame.TargetTable;
+
+public class TargetTableTest {
+	@Test
+	public void testClueLayout() {
+		Board board = TargetChecks.loadBoard("data/ClueLayout.csv", "data/ClueSetup.txt");
+		checkTable(board);
+		board.getCell(14, 7).setOccupied(true);
+		board.getCell(18, 2).setOccupied(true);
+		checkTable(board);
+	}
+
+	@Test
+	public void testClueLayout306() {
+		Board board = TargetChecks.loadBoard("data/ClueLayout306.csv", "data/ClueSetup306.txt");
+		checkTable(board);
+		board.getCell(7, 10).setOccupied(true);
+		board.getCell(5, 3).setOccupied(true);
+		checkTable(board);
+	}
+
+	// Only rolls up to the one the table was made for, from cells a turn can start on, are in it
+	@Test
+	public void testOutsideTable() {
+		Board board = TargetChecks.loadBoard("data/ClueLayout.csv", "data/ClueSetup.txt");
+		TargetTable table = board.calcTargetTable(TargetChecks.MAX_ROLL);
+		BoardCell walkway = board.getCell(14, 5);
+		assertThrows(IllegalArgumentException.class, () -> table.getTargets(walkway, 0, false));
+		assertThrows(IllegalArgumentException.class, () -> table.getTargets(walkway, TargetChecks.MAX_ROLL + 1, false));
+		assertThrows(IllegalArgumentException.class, () -> table.isTarget(board.getCell(0, 0), 2, walkway));
+		assertThrows(IllegalArgumentException.class, () -> board.calcTargetTable(TargetTable.MAX_ROLL + 1));
+	}
+
+	private static void checkTable(Board board) {
+		TargetTable table = board.calcTargetTable(TargetChecks.MAX_ROLL);
+		assertEquals(TargetChecks.MAX_ROLL, table.getMaxRoll());
+		List<BoardCell> startCells = TargetChecks.getStartCells(board);
+		for (int roll = 1; roll <= TargetChecks.MAX_ROLL; roll++) {
+			for (BoardCell startCell : TargetChecks.getCheckedStartCells(startCells, roll)) {
+				boolean isDragged = startCell.isRoomCenter() && roll % 2 == 0;
+				Set<BoardCell> expected = TargetChecks.calcExpectedTargets(board, startCell, roll, isDragged);
+				String message = "Targets of (" + startCell.getRow() + ", " + startCell.getCol() + ") with a roll of " + roll;
+				assertEquals(expected, table.getTargets(startCell, roll, isDragged), message);
+
+				for (int id = 0; id < board.getGrid().getNumCells(); id++) {
+					BoardCell cell = board.getGrid().getCell(id);
+					assertEquals(expected.contains(cell), table.isTarget(startCell, roll, cell, isDragged), message);
+				}
+			}
+		}
+	}
+}